@@ -0,0 +1,156 @@
+package com.forms.carga;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga da jornada do aluno contra uma aplicação já no ar
+ *
+ * Cada usuário virtual repete login → dashboard → abrir avaliação → submeter com alunos
+ * sorteados entre os gerados pelo GeradorSemestre. Depois do aquecimento, mede a latência
+ * de cada endpoint e no fim imprime p50/p99/máximo e vazão por endpoint, gravando o mesmo
+ * relatório em CSV.
+ *
+ * Uso: mvn -P carga test-compile exec:exec -Dcarga.classe=com.forms.carga.DriverCarga
+ *          -Dcarga.args="--url=http://localhost:8081 --usuarios=100 --duracao=300"
+ *
+ * Parâmetros (todos opcionais): url, usuarios, duracao e aquecimento (segundos),
+ * alunos e senha (os mesmos do gerador), pausa (ms entre jornadas), semente e saida.
+ */
+public class DriverCarga {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> parametros = lerParametros(args);
+        String url = parametros.getOrDefault("url", "http://localhost:8081");
+        int usuarios = Integer.parseInt(parametros.getOrDefault("usuarios", "50"));
+        int duracao = Integer.parseInt(parametros.getOrDefault("duracao", "300"));
+        int aquecimento = Integer.parseInt(parametros.getOrDefault("aquecimento", "30"));
+        int alunos = Integer.parseInt(parametros.getOrDefault("alunos", "50000"));
+        String senha = parametros.getOrDefault("senha", "carga123");
+        long pausa = Long.parseLong(parametros.getOrDefault("pausa", "0"));
+        long semente = Long.parseLong(parametros.getOrDefault("semente", "20251"));
+        Path saida = Path.of(parametros.getOrDefault("saida", "target/carga-resultado.csv"));
+
+        System.out.printf("%d usuários virtuais contra %s: %d s de aquecimento e %d s de medição%n",
+            usuarios, url, aquecimento, duracao);
+
+        Medicao medicao = new Medicao();
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(aquecimento + duracao);
+        ExecutorService executor = Executors.newFixedThreadPool(usuarios);
+        List<Future<JornadaAluno>> jornadas = new ArrayList<>();
+
+        for (int i = 0; i < usuarios; i++) {
+            JornadaAluno jornada = new JornadaAluno(url, senha, semente + i, medicao::isAtiva);
+            long sementeAlunos = semente * 31 + i;
+            jornadas.add(executor.submit(() -> {
+                Random sorteio = new Random(sementeAlunos);
+                while (System.nanoTime() < fim) {
+                    jornada.executar("aluno" + (1 + sorteio.nextInt(alunos)) + GeradorSemestre.DOMINIO_EMAIL);
+                    if (pausa > 0) {
+                        Thread.sleep(pausa);
+                    }
+                }
+                return jornada;
+            }));
+        }
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(aquecimento));
+        medicao.iniciar();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(duracao));
+        medicao.encerrar();
+
+        Map<String, Latencias> total = new LinkedHashMap<>();
+        long jornadasCompletas = 0;
+        for (Future<JornadaAluno> futuro : jornadas) {
+            JornadaAluno jornada = futuro.get();
+            jornadasCompletas += jornada.getJornadasCompletas();
+            for (Map.Entry<String, Latencias> endpoint : jornada.getLatencias().entrySet()) {
+                total.computeIfAbsent(endpoint.getKey(), k -> new Latencias()).juntar(endpoint.getValue());
+            }
+        }
+        executor.shutdown();
+
+        relatar(total, jornadasCompletas, medicao.getSegundos(), saida);
+    }
+
+    private static void relatar(Map<String, Latencias> total, long jornadasCompletas, double segundos, Path saida)
+            throws IOException {
+        String formato = "%-40s %10s %8s %10s %10s %10s %10s%n";
+        System.out.printf(formato, "endpoint", "requisições", "erros", "req/s", "p50 (ms)", "p99 (ms)", "máx (ms)");
+
+        Files.createDirectories(saida.toAbsolutePath().getParent());
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(saida, StandardCharsets.UTF_8))) {
+            csv.println("endpoint,requisicoes,erros,req_s,p50_ms,p99_ms,max_ms");
+            for (Map.Entry<String, Latencias> endpoint : total.entrySet()) {
+                Latencias latencias = endpoint.getValue();
+                double vazao = latencias.getTotal() / segundos;
+                System.out.printf(Locale.ROOT, formato, endpoint.getKey(), latencias.getTotal(), latencias.getErros(),
+                    String.format(Locale.ROOT, "%.1f", vazao),
+                    String.format(Locale.ROOT, "%.2f", latencias.percentil(50)),
+                    String.format(Locale.ROOT, "%.2f", latencias.percentil(99)),
+                    String.format(Locale.ROOT, "%.2f", latencias.percentil(100)));
+                csv.printf(Locale.ROOT, "%s,%d,%d,%.2f,%.3f,%.3f,%.3f%n", endpoint.getKey(), latencias.getTotal(),
+                    latencias.getErros(), vazao, latencias.percentil(50), latencias.percentil(99),
+                    latencias.percentil(100));
+            }
+        }
+        System.out.printf(Locale.ROOT, "Jornadas completas: %d (%.1f/s). Relatório em %s%n",
+            jornadasCompletas, jornadasCompletas / segundos, saida);
+    }
+
+    /**
+     * Argumentos no formato --nome=valor
+     */
+    private static Map<String, String> lerParametros(String[] args) {
+        Map<String, String> parametros = new HashMap<>();
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (!arg.startsWith("--") || igual < 0) {
+                throw new IllegalArgumentException("Parâmetro inválido: " + arg + " (use --nome=valor)");
+            }
+            parametros.put(arg.substring(2, igual), arg.substring(igual + 1));
+        }
+        return parametros;
+    }
+
+    /**
+     * Janela de medição, lida pelos usuários virtuais a cada requisição
+     */
+    private static class Medicao {
+        private volatile boolean ativa;
+        private long inicio;
+        private long fim;
+
+        void iniciar() {
+            inicio = System.nanoTime();
+            ativa = true;
+        }
+
+        void encerrar() {
+            ativa = false;
+            fim = System.nanoTime();
+        }
+
+        boolean isAtiva() {
+            return ativa;
+        }
+
+        double getSegundos() {
+            return (fim - inicio) / 1_000_000_000.0;
+        }
+    }
+}
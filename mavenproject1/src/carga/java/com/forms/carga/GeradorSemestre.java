@@ -0,0 +1,364 @@
+package com.forms.carga;
+
+import com.forms.FormsApplication;
+import com.forms.config.AlocadorIds;
+import com.forms.models.TipoQuestao;
+import com.forms.service.EstatisticaAvaliacaoService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Gera uma instituição sintética de um semestre para testes de carga
+ *
+ * Cursos, UCs, turmas com uma avaliação cada, alunos matriculados em várias turmas e as
+ * respostas de quem já respondeu. Tudo é gravado direto por JDBC em batches, com IDs
+ * atribuídos aqui; no fim as tabelas de sequência são avançadas e os contadores das
+ * estatísticas reconstruídos. Com a mesma semente o conjunto gerado é sempre o mesmo.
+ *
+ * Os alunos entram como aluno{n}@carga.local (n de 1 até forms.carga.alunos), todos com
+ * a senha forms.carga.senha, que é o que o DriverCarga usa para logar.
+ *
+ * Uso: mvn -P carga test-compile exec:exec -Dcarga.args="--forms.carga.alunos=50000"
+ */
+public class GeradorSemestre {
+
+    public static final String DOMINIO_EMAIL = "@carga.local";
+
+    private static final String[] ESCALA = {"Discordo totalmente", "Discordo", "Neutro", "Concordo",
+        "Concordo totalmente"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Environment ambiente;
+    private final Random aleatorio;
+
+    private final int cursos;
+    private final int ucsPorCurso;
+    private final int turmasPorUc;
+    private final int professores;
+    private final int alunos;
+    private final int turmasPorAluno;
+    private final int questoesPorAvaliacao;
+    private final int tamanhoLote;
+    private final double fracaoRespondida;
+    private final double fracaoIniciada;
+    private final double fracaoAtivas;
+
+    private int proximoCurso;
+    private int proximaUc;
+    private int proximaTurma;
+    private int proximoUsuario;
+    private int proximaAvaliacao;
+    private int proximaQuestao;
+    private int proximaOpcao;
+    private int proximaResposta;
+    private int proximoTracking;
+
+    public GeradorSemestre(ConfigurableApplicationContext contexto) {
+        this.jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        this.ambiente = contexto.getEnvironment();
+        this.aleatorio = new Random(propriedade("semente", Long.class, 20251L));
+
+        this.cursos = propriedade("cursos", Integer.class, 25);
+        this.ucsPorCurso = propriedade("ucs-por-curso", Integer.class, 40);
+        this.turmasPorUc = propriedade("turmas-por-uc", Integer.class, 5);
+        this.professores = propriedade("professores", Integer.class, 1500);
+        this.alunos = propriedade("alunos", Integer.class, 50000);
+        this.turmasPorAluno = propriedade("turmas-por-aluno", Integer.class, 5);
+        this.questoesPorAvaliacao = propriedade("questoes-por-avaliacao", Integer.class, 15);
+        this.tamanhoLote = propriedade("tamanho-lote", Integer.class, 1000);
+        this.fracaoRespondida = propriedade("fracao-respondida", Double.class, 0.7);
+        this.fracaoIniciada = propriedade("fracao-iniciada", Double.class, 0.05);
+        this.fracaoAtivas = propriedade("fracao-ativas", Double.class, 0.8);
+    }
+
+    public static void main(String[] args) {
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(FormsApplication.class)
+                .profiles("carga")
+                .run(args)) {
+            new GeradorSemestre(contexto).gerar(contexto);
+        }
+    }
+
+    public void gerar(ConfigurableApplicationContext contexto) {
+        long inicio = System.nanoTime();
+
+        Integer usuariosExistentes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM usuario", Integer.class);
+        if (usuariosExistentes != null && usuariosExistentes > 0
+                && !propriedade("permitir-banco-com-dados", Boolean.class, false)) {
+            throw new IllegalStateException("O banco já tem " + usuariosExistentes + " usuários; use um banco vazio "
+                + "ou --forms.carga.permitir-banco-com-dados=true");
+        }
+        iniciarIds();
+
+        // Um hash só: todos os alunos e professores logam com a mesma senha
+        String senhaHash = contexto.getBean(PasswordEncoder.class).encode(propriedade("senha", String.class, "carga123"));
+
+        int[] professorIds = gerarUsuarios("PROFESSOR", professores, "professor", "P", senhaHash);
+        int[] alunoIds = gerarUsuarios("ALUNO", alunos, "aluno", "A", senhaHash);
+        int[] turmaIds = gerarCursosUcsETurmas(professorIds);
+        List<List<Integer>> alunosPorTurma = matricular(alunoIds, turmaIds);
+
+        long respostas = 0;
+        LoteInsercao avaliacoes = lote("INSERT INTO avaliacao (id, titulo, descricao, data_inicio, data_fim, anonima, "
+            + "permite_edicao, turma_id, criador_id, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        LoteInsercao questoes = lote("INSERT INTO questao (id, texto, tipo, ordem, obrigatoria, avaliacao_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?)", avaliacoes);
+        LoteInsercao opcoes = lote("INSERT INTO opcao_resposta (id, texto, ordem, is_correta, questao_id) "
+            + "VALUES (?, ?, ?, ?, ?)", questoes);
+        LoteInsercao trackings = lote("INSERT INTO avaliacao_resposta_tracking (id, avaliacao_id, usuario_id, "
+            + "data_inicio, data_finalizacao, completa, ip_address, versao) VALUES (?, ?, ?, ?, ?, ?, ?, 0)", avaliacoes);
+        LoteInsercao linhasResposta = lote("INSERT INTO resposta (id, questao_id, usuario_id, data_resposta, "
+            + "ip_address, texto_resposta, versao) VALUES (?, ?, ?, ?, ?, ?, 0)", questoes);
+        LoteInsercao linhasRespostaOpcao = lote("INSERT INTO resposta_opcao (resposta_id, opcao_id) VALUES (?, ?)",
+            linhasResposta, opcoes);
+
+        LocalDateTime agora = LocalDateTime.now();
+        for (int t = 0; t < turmaIds.length; t++) {
+            int avaliacaoId = proximaAvaliacao++;
+            boolean ativa = aleatorio.nextDouble() < fracaoAtivas;
+            LocalDateTime dataInicio = ativa ? agora.minusDays(7) : agora.minusDays(60);
+            LocalDateTime dataFim = ativa ? agora.plusDays(30) : agora.minusDays(30);
+            avaliacoes.adicionar(avaliacaoId, "Avaliação da turma " + turmaIds[t], "Avaliação docente do semestre",
+                Timestamp.valueOf(dataInicio), Timestamp.valueOf(dataFim), aleatorio.nextInt(4) == 0, true,
+                turmaIds[t], professorIds[t % professorIds.length], Timestamp.valueOf(dataInicio));
+
+            List<QuestaoGerada> formulario = gerarQuestoes(avaliacaoId, questoes, opcoes);
+
+            for (Integer alunoId : alunosPorTurma.get(t)) {
+                double sorteio = aleatorio.nextDouble();
+                if (sorteio >= fracaoRespondida + fracaoIniciada) {
+                    continue;
+                }
+                boolean completa = sorteio < fracaoRespondida;
+                LocalDateTime respondidaEm = dataInicio.plusMinutes(aleatorio.nextInt(60 * 24 * 7));
+                String ip = "10." + aleatorio.nextInt(256) + "." + aleatorio.nextInt(256) + "." + (1 + aleatorio.nextInt(254));
+                trackings.adicionar(proximoTracking++, avaliacaoId, alunoId, Timestamp.valueOf(respondidaEm),
+                    completa ? Timestamp.valueOf(respondidaEm.plusMinutes(5)) : null, completa, ip);
+                if (completa) {
+                    respostas += responder(formulario, alunoId, Timestamp.valueOf(respondidaEm), ip,
+                        linhasResposta, linhasRespostaOpcao);
+                }
+            }
+        }
+        trackings.descarregar();
+        linhasRespostaOpcao.descarregar();
+
+        avancarSequencias();
+        int reconstruidas = contexto.getBean(EstatisticaAvaliacaoService.class).reconstruirTodas();
+
+        System.out.printf("Gerados %d cursos, %d UCs, %d turmas, %d professores, %d alunos, %d avaliações, "
+                + "%d respostas (%d avaliações com estatísticas) em %d s%n",
+            cursos, cursos * ucsPorCurso, turmaIds.length, professores, alunos, turmaIds.length, respostas,
+            reconstruidas, (System.nanoTime() - inicio) / 1_000_000_000L);
+    }
+
+    /**
+     * Mistura de tipos de uma avaliação docente: escala de concordância (escolha única),
+     * algumas de múltipla escolha e poucas abertas, quase sempre opcionais
+     */
+    private List<QuestaoGerada> gerarQuestoes(int avaliacaoId, LoteInsercao questoes, LoteInsercao opcoes) {
+        List<QuestaoGerada> formulario = new ArrayList<>();
+        for (int ordem = 1; ordem <= questoesPorAvaliacao; ordem++) {
+            double sorteio = aleatorio.nextDouble();
+            TipoQuestao tipo = sorteio < 0.6 ? TipoQuestao.MULTIPLA_ESCOLHA_UNICA
+                : sorteio < 0.85 ? TipoQuestao.MULTIPLA_ESCOLHA_MULTIPLA : TipoQuestao.ABERTA;
+            boolean obrigatoria = tipo != TipoQuestao.ABERTA;
+
+            QuestaoGerada questao = new QuestaoGerada(proximaQuestao++, tipo, obrigatoria);
+            questoes.adicionar(questao.id, "Questão " + ordem + " da avaliação " + avaliacaoId, tipo.name(), ordem,
+                obrigatoria, avaliacaoId);
+
+            if (tipo == TipoQuestao.MULTIPLA_ESCOLHA_UNICA) {
+                for (int j = 0; j < ESCALA.length; j++) {
+                    questao.opcaoIds.add(proximaOpcao);
+                    opcoes.adicionar(proximaOpcao++, ESCALA[j], j + 1, false, questao.id);
+                }
+            } else if (tipo == TipoQuestao.MULTIPLA_ESCOLHA_MULTIPLA) {
+                int quantidade = 3 + aleatorio.nextInt(4);
+                for (int j = 1; j <= quantidade; j++) {
+                    questao.opcaoIds.add(proximaOpcao);
+                    opcoes.adicionar(proximaOpcao++, "Opção " + j, j, j == 1, questao.id);
+                }
+            }
+            formulario.add(questao);
+        }
+        return formulario;
+    }
+
+    /**
+     * @return número de linhas de resposta gravadas para o aluno
+     */
+    private int responder(List<QuestaoGerada> formulario, int alunoId, Timestamp data, String ip,
+            LoteInsercao respostas, LoteInsercao respostaOpcoes) {
+        int gravadas = 0;
+        for (QuestaoGerada questao : formulario) {
+            // Opcionais ficam em branco em boa parte das vezes
+            if (!questao.obrigatoria && aleatorio.nextInt(3) != 0) {
+                continue;
+            }
+            int respostaId = proximaResposta++;
+            String texto = questao.tipo == TipoQuestao.ABERTA
+                ? "Comentário sintético " + aleatorio.nextInt(1000) + " sobre a disciplina"
+                : null;
+            // A resposta entra no lote antes das opções: se o lote das opções encher no meio,
+            // ele descarrega o das respostas, que já precisa ter a linha pai
+            respostas.adicionar(respostaId, questao.id, alunoId, data, ip, texto);
+
+            if (questao.tipo == TipoQuestao.MULTIPLA_ESCOLHA_UNICA) {
+                // Escala enviesada para as notas altas, como costuma acontecer
+                int indice = Math.min(questao.opcaoIds.size() - 1, 2 + aleatorio.nextInt(3) - aleatorio.nextInt(2));
+                respostaOpcoes.adicionar(respostaId, questao.opcaoIds.get(indice));
+            } else if (questao.tipo == TipoQuestao.MULTIPLA_ESCOLHA_MULTIPLA) {
+                int primeira = aleatorio.nextInt(questao.opcaoIds.size());
+                respostaOpcoes.adicionar(respostaId, questao.opcaoIds.get(primeira));
+                if (aleatorio.nextBoolean()) {
+                    int segunda = (primeira + 1 + aleatorio.nextInt(questao.opcaoIds.size() - 1)) % questao.opcaoIds.size();
+                    respostaOpcoes.adicionar(respostaId, questao.opcaoIds.get(segunda));
+                }
+            }
+            gravadas++;
+        }
+        return gravadas;
+    }
+
+    private int[] gerarUsuarios(String perfil, int quantidade, String prefixo, String prefixoMatricula, String senhaHash) {
+        Integer perfilId = jdbcTemplate.queryForObject("SELECT id FROM perfil WHERE nome = ?", Integer.class, perfil);
+        Timestamp criadoEm = Timestamp.valueOf(LocalDateTime.now());
+        LoteInsercao usuarios = lote("INSERT INTO usuario (id, nome, email, matricula_siape, senha_hash, id_perfil, "
+            + "created_at) VALUES (?, ?, ?, ?, ?, ?, ?)");
+
+        int[] ids = new int[quantidade];
+        for (int i = 1; i <= quantidade; i++) {
+            ids[i - 1] = proximoUsuario++;
+            usuarios.adicionar(ids[i - 1], Character.toUpperCase(prefixo.charAt(0)) + prefixo.substring(1) + " " + i,
+                prefixo + i + DOMINIO_EMAIL, String.format("%s%07d", prefixoMatricula, i), senhaHash, perfilId, criadoEm);
+        }
+        usuarios.descarregar();
+        return ids;
+    }
+
+    private int[] gerarCursosUcsETurmas(int[] professorIds) {
+        LoteInsercao linhasCurso = lote("INSERT INTO curso (id, nome) VALUES (?, ?)");
+        LoteInsercao linhasUc = lote("INSERT INTO unidade_curricular (id, nome, tipo, uc_id) VALUES (?, ?, ?, ?)",
+            linhasCurso);
+        LoteInsercao linhasTurma = lote("INSERT INTO turma (id, ano, semestre, professor, uc_id) VALUES (?, ?, ?, ?, ?)",
+            linhasUc);
+
+        int[] turmaIds = new int[cursos * ucsPorCurso * turmasPorUc];
+        int t = 0;
+        for (int c = 1; c <= cursos; c++) {
+            int cursoId = proximoCurso++;
+            linhasCurso.adicionar(cursoId, "Curso " + c);
+            for (int u = 1; u <= ucsPorCurso; u++) {
+                int ucId = proximaUc++;
+                linhasUc.adicionar(ucId, "UC " + c + "." + u, u % 5 == 0 ? "OPTATIVA" : "OBRIGATORIA", cursoId);
+                for (int k = 0; k < turmasPorUc; k++) {
+                    turmaIds[t] = proximaTurma++;
+                    linhasTurma.adicionar(turmaIds[t], LocalDateTime.now().getYear(), 1,
+                        professorIds[t % professorIds.length], ucId);
+                    t++;
+                }
+            }
+        }
+        linhasTurma.descarregar();
+        return turmaIds;
+    }
+
+    /**
+     * Cada aluno em turmasPorAluno turmas distintas sorteadas
+     *
+     * @return alunos de cada turma, na ordem de turmaIds
+     */
+    private List<List<Integer>> matricular(int[] alunoIds, int[] turmaIds) {
+        List<List<Integer>> alunosPorTurma = new ArrayList<>(turmaIds.length);
+        for (int i = 0; i < turmaIds.length; i++) {
+            alunosPorTurma.add(new ArrayList<>());
+        }
+
+        LoteInsercao matriculas = lote("INSERT INTO turma_alunos (alunos_id, turma_id) VALUES (?, ?)");
+        int porAluno = Math.min(turmasPorAluno, turmaIds.length);
+        for (int alunoId : alunoIds) {
+            // Turmas consecutivas a partir de um ponto sorteado: distintas sem precisar de conjunto
+            int inicio = aleatorio.nextInt(turmaIds.length);
+            int passo = 1 + aleatorio.nextInt(Math.max(1, turmaIds.length / porAluno));
+            for (int k = 0; k < porAluno; k++) {
+                int indice = (inicio + k * passo) % turmaIds.length;
+                alunosPorTurma.get(indice).add(alunoId);
+                matriculas.adicionar(alunoId, turmaIds[indice]);
+            }
+        }
+        matriculas.descarregar();
+        return alunosPorTurma;
+    }
+
+    /**
+     * IDs novos começam depois dos já existentes em cada tabela
+     */
+    private void iniciarIds() {
+        proximoCurso = proximoId("curso");
+        proximaUc = proximoId("unidade_curricular");
+        proximaTurma = proximoId("turma");
+        proximoUsuario = proximoId("usuario");
+        proximaAvaliacao = proximoId("avaliacao");
+        proximaQuestao = proximoId("questao");
+        proximaOpcao = proximoId("opcao_resposta");
+        proximaResposta = proximoId("resposta");
+        proximoTracking = proximoId("avaliacao_resposta_tracking");
+    }
+
+    private int proximoId(String tabela) {
+        Integer maximo = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + tabela, Integer.class);
+        return maximo + 1;
+    }
+
+    /**
+     * O AlocadorIds entrega IDs a partir de next_val - (TAMANHO_BLOCO - 1); com
+     * next_val = último ID + TAMANHO_BLOCO o primeiro ID novo é o seguinte ao gerado aqui
+     */
+    private void avancarSequencias() {
+        avancar("curso", proximoCurso);
+        avancar("unidade_curricular", proximaUc);
+        avancar("turma", proximaTurma);
+        avancar("usuario", proximoUsuario);
+        avancar("avaliacao", proximaAvaliacao);
+        avancar("questao", proximaQuestao);
+        avancar("opcao_resposta", proximaOpcao);
+        avancar("resposta", proximaResposta);
+        avancar("avaliacao_resposta_tracking", proximoTracking);
+    }
+
+    private void avancar(String tabela, int proximo) {
+        jdbcTemplate.update("UPDATE " + tabela + "_seq SET next_val = GREATEST(next_val, ?)",
+            (long) proximo - 1 + AlocadorIds.TAMANHO_BLOCO);
+    }
+
+    private <T> T propriedade(String nome, Class<T> tipo, T padrao) {
+        return ambiente.getProperty("forms.carga." + nome, tipo, padrao);
+    }
+
+    private LoteInsercao lote(String sql, LoteInsercao... anteriores) {
+        return new LoteInsercao(jdbcTemplate, sql, tamanhoLote, anteriores);
+    }
+
+    private static class QuestaoGerada {
+        private final int id;
+        private final TipoQuestao tipo;
+        private final boolean obrigatoria;
+        private final List<Integer> opcaoIds = new ArrayList<>();
+
+        private QuestaoGerada(int id, TipoQuestao tipo, boolean obrigatoria) {
+            this.id = id;
+            this.tipo = tipo;
+            this.obrigatoria = obrigatoria;
+        }
+    }
+}
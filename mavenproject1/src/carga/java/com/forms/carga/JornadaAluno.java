@@ -0,0 +1,245 @@
+package com.forms.carga;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Um usuário virtual: login → dashboard → abrir avaliação → submeter, como o navegador faz
+ *
+ * Cada jornada começa com os cookies limpos (sessão nova). Redirecionamentos não são
+ * seguidos, para que cada requisição seja medida no próprio endpoint.
+ */
+class JornadaAluno {
+
+    static final String LOGIN = "GET /login";
+    static final String LOGIN_PROCESS = "POST /login-process";
+    static final String DASHBOARD = "GET /aluno/dashboard";
+    static final String AVALIACAO = "GET /aluno/avaliacao/{id}";
+    static final String RESPONDER = "POST /aluno/avaliacao/{id}/responder";
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+    private static final Pattern CHAVE = Pattern.compile("name=\"chaveSubmissao\"\\s+value=\"([^\"]+)\"");
+    private static final Pattern LINK_AVALIACAO = Pattern.compile("href=\"[^\"]*/aluno/avaliacao/(\\d+)\"");
+    private static final Pattern OPCAO = Pattern.compile("type=\"(radio|checkbox)\"\\s+name=\"opcoes_(\\d+)\"\\s+value=\"(\\d+)\"");
+    private static final Pattern TEXTO = Pattern.compile("name=\"texto_(\\d+)\"");
+
+    private final String baseUrl;
+    private final String senha;
+    private final Random aleatorio;
+    private final BooleanSupplier medindo;
+    private final CookieManager cookies = new CookieManager();
+    private final HttpClient cliente;
+    private final Map<String, Latencias> latencias = new LinkedHashMap<>();
+    private long jornadasCompletas;
+
+    JornadaAluno(String baseUrl, String senha, long semente, BooleanSupplier medindo) {
+        this.baseUrl = baseUrl;
+        this.senha = senha;
+        this.aleatorio = new Random(semente);
+        this.medindo = medindo;
+        this.cliente = HttpClient.newBuilder()
+            .cookieHandler(cookies)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+        for (String endpoint : List.of(LOGIN, LOGIN_PROCESS, DASHBOARD, AVALIACAO, RESPONDER)) {
+            latencias.put(endpoint, new Latencias());
+        }
+    }
+
+    /**
+     * @return verdadeiro se a jornada chegou até a submissão aceita
+     */
+    boolean executar(String email) throws InterruptedException {
+        cookies.getCookieStore().removeAll();
+        try {
+            HttpResponse<String> login = enviar(LOGIN, get("/login"), 200);
+            if (login == null) {
+                return false;
+            }
+            HttpResponse<String> autenticado = enviar(LOGIN_PROCESS, post("/login-process", Map.of(
+                "username", email,
+                "password", senha,
+                "_csrf", extrair(CSRF, login.body()))), 302);
+            if (autenticado == null) {
+                return false;
+            }
+            if (!redirecionaPara(autenticado, "/home")) {
+                // Senha recusada: o Spring Security volta para /login?error=true
+                erro(LOGIN_PROCESS);
+                return false;
+            }
+
+            HttpResponse<String> dashboard = enviar(DASHBOARD, get("/aluno/dashboard"), 200);
+            if (dashboard == null) {
+                return false;
+            }
+            List<String> avaliacaoIds = todos(LINK_AVALIACAO, dashboard.body());
+            if (avaliacaoIds.isEmpty()) {
+                // Aluno sem avaliação disponível: a jornada termina no dashboard
+                return false;
+            }
+
+            String avaliacaoId = avaliacaoIds.get(aleatorio.nextInt(avaliacaoIds.size()));
+            HttpResponse<String> formulario = enviar(AVALIACAO, get("/aluno/avaliacao/" + avaliacaoId), 200);
+            if (formulario == null) {
+                return false;
+            }
+
+            HttpResponse<String> resposta = enviar(RESPONDER,
+                post("/aluno/avaliacao/" + avaliacaoId + "/responder", preencher(formulario.body())), 302);
+            if (resposta == null) {
+                return false;
+            }
+            if (!redirecionaPara(resposta, "/aluno/dashboard")) {
+                // Submissão recusada: o controller volta para o formulário com a mensagem de erro
+                erro(RESPONDER);
+                return false;
+            }
+            if (medindo.getAsBoolean()) {
+                jornadasCompletas++;
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    Map<String, Latencias> getLatencias() {
+        return latencias;
+    }
+
+    long getJornadasCompletas() {
+        return jornadasCompletas;
+    }
+
+    /**
+     * Uma opção por questão de escolha única, uma ou duas nas de múltipla escolha e
+     * texto em todas as abertas
+     */
+    private Map<String, Object> preencher(String html) {
+        Map<String, Object> campos = new LinkedHashMap<>();
+        campos.put("_csrf", extrair(CSRF, html));
+        campos.put("chaveSubmissao", extrair(CHAVE, html));
+
+        Map<String, List<String>> opcoesPorQuestao = new LinkedHashMap<>();
+        Map<String, Boolean> multipla = new LinkedHashMap<>();
+        Matcher opcao = OPCAO.matcher(html);
+        while (opcao.find()) {
+            String campo = "opcoes_" + opcao.group(2);
+            opcoesPorQuestao.computeIfAbsent(campo, k -> new ArrayList<>()).add(opcao.group(3));
+            multipla.put(campo, "checkbox".equals(opcao.group(1)));
+        }
+        for (Map.Entry<String, List<String>> questao : opcoesPorQuestao.entrySet()) {
+            List<String> opcoes = questao.getValue();
+            List<String> escolhidas = new ArrayList<>();
+            escolhidas.add(opcoes.get(aleatorio.nextInt(opcoes.size())));
+            if (multipla.get(questao.getKey()) && opcoes.size() > 1 && aleatorio.nextBoolean()) {
+                String outra = opcoes.get(aleatorio.nextInt(opcoes.size()));
+                if (!escolhidas.contains(outra)) {
+                    escolhidas.add(outra);
+                }
+            }
+            campos.put(questao.getKey(), escolhidas);
+        }
+
+        for (String questaoId : todos(TEXTO, html)) {
+            campos.put("texto_" + questaoId, "Resposta do teste de carga " + aleatorio.nextInt(1000));
+        }
+        return campos;
+    }
+
+    /**
+     * Envia e mede a requisição; status diferente do esperado conta como erro
+     *
+     * @return a resposta, ou null se falhou
+     */
+    private HttpResponse<String> enviar(String endpoint, HttpRequest requisicao, int statusEsperado)
+            throws IOException, InterruptedException {
+        long inicio = System.nanoTime();
+        HttpResponse<String> resposta;
+        try {
+            resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            erro(endpoint);
+            throw e;
+        }
+        if (medindo.getAsBoolean()) {
+            latencias.get(endpoint).registrar(System.nanoTime() - inicio);
+        }
+        if (resposta.statusCode() != statusEsperado) {
+            erro(endpoint);
+            return null;
+        }
+        return resposta;
+    }
+
+    private void erro(String endpoint) {
+        if (medindo.getAsBoolean()) {
+            latencias.get(endpoint).registrarErro();
+        }
+    }
+
+    private HttpRequest get(String caminho) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+            .timeout(Duration.ofSeconds(30))
+            .GET()
+            .build();
+    }
+
+    private HttpRequest post(String caminho, Map<String, ?> campos) {
+        StringBuilder corpo = new StringBuilder();
+        for (Map.Entry<String, ?> campo : campos.entrySet()) {
+            List<?> valores = campo.getValue() instanceof List<?> lista ? lista : List.of(campo.getValue());
+            for (Object valor : valores) {
+                if (corpo.length() > 0) {
+                    corpo.append('&');
+                }
+                corpo.append(URLEncoder.encode(campo.getKey(), StandardCharsets.UTF_8))
+                    .append('=')
+                    .append(URLEncoder.encode(String.valueOf(valor), StandardCharsets.UTF_8));
+            }
+        }
+        return HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .POST(HttpRequest.BodyPublishers.ofString(corpo.toString()))
+            .build();
+    }
+
+    private static boolean redirecionaPara(HttpResponse<String> resposta, String caminho) {
+        return resposta.headers().firstValue("Location")
+            .map(destino -> URI.create(destino).getPath().endsWith(caminho))
+            .orElse(false);
+    }
+
+    private static String extrair(Pattern padrao, String html) {
+        Matcher matcher = padrao.matcher(html);
+        return matcher.find() ? matcher.group(1) : "";
+    }
+
+    private static List<String> todos(Pattern padrao, String html) {
+        List<String> valores = new ArrayList<>();
+        Matcher matcher = padrao.matcher(html);
+        while (matcher.find()) {
+            valores.add(matcher.group(1));
+        }
+        return valores;
+    }
+}
@@ -0,0 +1,64 @@
+package com.forms.carga;
+
+import java.util.Arrays;
+
+/**
+ * Latências de um endpoint em nanossegundos, de uma única thread
+ *
+ * Cada usuário virtual tem as suas; no fim elas são juntadas para o relatório.
+ */
+class Latencias {
+
+    private long[] amostras = new long[1024];
+    private int tamanho;
+    private long erros;
+    private boolean ordenadas;
+
+    void registrar(long nanos) {
+        if (tamanho == amostras.length) {
+            amostras = Arrays.copyOf(amostras, tamanho * 2);
+        }
+        amostras[tamanho++] = nanos;
+        ordenadas = false;
+    }
+
+    void registrarErro() {
+        erros++;
+    }
+
+    void juntar(Latencias outras) {
+        if (tamanho + outras.tamanho > amostras.length) {
+            amostras = Arrays.copyOf(amostras, Math.max(amostras.length * 2, tamanho + outras.tamanho));
+        }
+        System.arraycopy(outras.amostras, 0, amostras, tamanho, outras.tamanho);
+        tamanho += outras.tamanho;
+        erros += outras.erros;
+        ordenadas = false;
+    }
+
+    int getTotal() {
+        return tamanho;
+    }
+
+    long getErros() {
+        return erros;
+    }
+
+    /**
+     * Percentil pelo método do posto mais próximo; as amostras são ordenadas uma vez
+     *
+     * @param percentil entre 0 e 100
+     * @return latência em milissegundos
+     */
+    double percentil(double percentil) {
+        if (tamanho == 0) {
+            return 0;
+        }
+        if (!ordenadas) {
+            Arrays.sort(amostras, 0, tamanho);
+            ordenadas = true;
+        }
+        int posto = (int) Math.ceil(percentil / 100.0 * tamanho);
+        return amostras[Math.max(0, Math.min(tamanho, posto) - 1)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,46 @@
+package com.forms.carga;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Acumula linhas de um INSERT e grava em batch JDBC a cada tamanhoLote linhas
+ *
+ * Antes de gravar, descarrega os lotes das tabelas referenciadas pelas chaves
+ * estrangeiras, para que as linhas pai sempre cheguem primeiro ao banco.
+ */
+class LoteInsercao {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String sql;
+    private final int tamanhoLote;
+    private final LoteInsercao[] anteriores;
+    private final List<Object[]> linhas;
+
+    LoteInsercao(JdbcTemplate jdbcTemplate, String sql, int tamanhoLote, LoteInsercao... anteriores) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sql = sql;
+        this.tamanhoLote = tamanhoLote;
+        this.anteriores = anteriores;
+        this.linhas = new ArrayList<>(tamanhoLote);
+    }
+
+    void adicionar(Object... valores) {
+        linhas.add(valores);
+        if (linhas.size() >= tamanhoLote) {
+            descarregar();
+        }
+    }
+
+    void descarregar() {
+        for (LoteInsercao anterior : anteriores) {
+            anterior.descarregar();
+        }
+        if (!linhas.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, linhas);
+            linhas.clear();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.forms.benchmark;
+
+import com.forms.FormsApplication;
+import com.forms.dto.RespostaSubmetida;
+import com.forms.models.Avaliacao;
+import com.forms.models.Curso;
+import com.forms.models.OpcaoResposta;
+import com.forms.models.Perfil;
+import com.forms.models.Questao;
+import com.forms.models.TipoQuestao;
+import com.forms.models.Turma;
+import com.forms.models.UnidadeCurricular;
+import com.forms.models.Usuario;
+import com.forms.repository.AvaliacaoRepository;
+import com.forms.repository.CursoRepository;
+import com.forms.repository.OpcaoRespostaRepository;
+import com.forms.repository.PerfilRepository;
+import com.forms.repository.QuestaoRepository;
+import com.forms.repository.TurmaRepository;
+import com.forms.repository.UnidadeCurricularRepository;
+import com.forms.repository.UsuarioRepository;
+import com.forms.service.AvaliacaoRespostaService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Aplicação completa (perfil jmh, H2 em modo MySQL) com uma avaliação ativa de 50 questões
+ * respondida por todos os alunos da turma
+ *
+ * Compartilhado pelos benchmarks de um mesmo trial; cada trial sobe a aplicação com um banco novo.
+ */
+@State(Scope.Benchmark)
+public class ContextoBenchmark {
+
+    public static final int QUESTOES = 50;
+    public static final int OPCOES_POR_QUESTAO = 4;
+    public static final int ALUNOS = 200;
+    public static final String IP = "127.0.0.1";
+
+    private ConfigurableApplicationContext contexto;
+
+    private Integer avaliacaoId;
+    private final List<Integer> alunoIds = new ArrayList<>();
+    private final List<String> emails = new ArrayList<>();
+    private Map<Integer, RespostaSubmetida> respostas;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(FormsApplication.class)
+            .profiles("jmh")
+            .run();
+        popular();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    public <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+
+    public ConfigurableApplicationContext getContexto() {
+        return contexto;
+    }
+
+    public Integer getAvaliacaoId() {
+        return avaliacaoId;
+    }
+
+    public List<Integer> getAlunoIds() {
+        return alunoIds;
+    }
+
+    public List<String> getEmails() {
+        return emails;
+    }
+
+    /**
+     * Respostas válidas para todas as questões, indexadas pelo ID da questão
+     */
+    public Map<Integer, RespostaSubmetida> getRespostas() {
+        return respostas;
+    }
+
+    private void popular() {
+        TransactionTemplate transacao = bean(TransactionTemplate.class);
+        PerfilRepository perfilRepository = bean(PerfilRepository.class);
+        UsuarioRepository usuarioRepository = bean(UsuarioRepository.class);
+
+        Perfil perfilAluno = perfilRepository.findByNome("ALUNO").orElseThrow();
+        Perfil perfilProfessor = perfilRepository.findByNome("PROFESSOR").orElseThrow();
+        // Um hash só: o custo do BCrypt tem benchmark próprio (SenhaBenchmark)
+        String senhaHash = new BCryptPasswordEncoder(4).encode("senha");
+
+        Usuario professor = usuarioRepository.save(usuario("Professor Benchmark", "professor@benchmark.local",
+            "P0001", senhaHash, perfilProfessor));
+
+        List<Usuario> alunos = new ArrayList<>();
+        for (int i = 1; i <= ALUNOS; i++) {
+            alunos.add(usuario("Aluno Benchmark " + i, "aluno" + i + "@benchmark.local",
+                String.format("A%04d", i), senhaHash, perfilAluno));
+        }
+        for (Usuario aluno : usuarioRepository.saveAll(alunos)) {
+            alunoIds.add(aluno.getId());
+            emails.add(aluno.getEmail());
+        }
+
+        transacao.executeWithoutResult(status -> {
+            Curso curso = new Curso();
+            curso.setNome("Curso Benchmark");
+            bean(CursoRepository.class).save(curso);
+
+            UnidadeCurricular uc = new UnidadeCurricular();
+            uc.setNome("UC Benchmark");
+            uc.setCurso(curso);
+            bean(UnidadeCurricularRepository.class).save(uc);
+
+            Turma turma = new Turma();
+            turma.setAno(2025);
+            turma.setSemestre(1);
+            turma.setProfessor(professor);
+            turma.setUc(uc);
+            turma.setAlunos(new HashSet<>(usuarioRepository.findAllById(alunoIds)));
+            bean(TurmaRepository.class).save(turma);
+
+            Avaliacao avaliacao = new Avaliacao();
+            avaliacao.setTitulo("Avaliação Benchmark");
+            avaliacao.setDescricao("Avaliação com " + QUESTOES + " questões");
+            avaliacao.setDataInicio(LocalDateTime.now().minusDays(1));
+            avaliacao.setDataFim(LocalDateTime.now().plusYears(1));
+            avaliacao.setPermiteEdicao(true);
+            avaliacao.setTurma(turma);
+            avaliacao.setCriador(professor);
+            bean(AvaliacaoRepository.class).save(avaliacao);
+            avaliacaoId = avaliacao.getId();
+
+            respostas = popularQuestoes(avaliacao);
+        });
+
+        // Todos respondem: estatísticas e trackings com volume de uma turma real
+        AvaliacaoRespostaService respostaService = bean(AvaliacaoRespostaService.class);
+        for (Integer alunoId : alunoIds) {
+            respostaService.submeterAvaliacao(avaliacaoId, alunoId, respostas, IP, null);
+        }
+    }
+
+    /**
+     * Questões alternando entre aberta, escolha única e múltipla escolha
+     *
+     * @return respostas válidas para cada questão
+     */
+    private Map<Integer, RespostaSubmetida> popularQuestoes(Avaliacao avaliacao) {
+        QuestaoRepository questaoRepository = bean(QuestaoRepository.class);
+        OpcaoRespostaRepository opcaoRepository = bean(OpcaoRespostaRepository.class);
+        TipoQuestao[] tipos = {TipoQuestao.ABERTA, TipoQuestao.MULTIPLA_ESCOLHA_UNICA,
+            TipoQuestao.MULTIPLA_ESCOLHA_MULTIPLA};
+
+        Map<Integer, RespostaSubmetida> respostasValidas = new HashMap<>();
+        for (int i = 1; i <= QUESTOES; i++) {
+            Questao questao = new Questao();
+            questao.setTexto("Questão " + i + " do benchmark");
+            questao.setTipo(tipos[i % tipos.length]);
+            questao.setOrdem(i);
+            questao.setAvaliacao(avaliacao);
+            questaoRepository.save(questao);
+
+            if (questao.getTipo() == TipoQuestao.ABERTA) {
+                respostasValidas.put(questao.getId(), new RespostaSubmetida(null, "Resposta aberta " + i));
+                continue;
+            }
+
+            Set<OpcaoResposta> opcoes = new HashSet<>();
+            List<Integer> selecionadas = new ArrayList<>();
+            for (int j = 1; j <= OPCOES_POR_QUESTAO; j++) {
+                OpcaoResposta opcao = new OpcaoResposta();
+                opcao.setTexto("Opção " + j);
+                opcao.setOrdem(j);
+                opcao.setIsCorreta(j == 1);
+                opcao.setQuestao(questao);
+                opcaoRepository.save(opcao);
+                opcoes.add(opcao);
+
+                if (j == 1 || (questao.getTipo() == TipoQuestao.MULTIPLA_ESCOLHA_MULTIPLA && j == 2)) {
+                    selecionadas.add(opcao.getId());
+                }
+            }
+            questao.setOpcoes(opcoes);
+            respostasValidas.put(questao.getId(), new RespostaSubmetida(selecionadas, null));
+        }
+        return respostasValidas;
+    }
+
+    private static Usuario usuario(String nome, String email, String matricula, String senhaHash, Perfil perfil) {
+        Usuario usuario = new Usuario();
+        usuario.setNome(nome);
+        usuario.setEmail(email);
+        usuario.setMatriculaSiape(matricula);
+        usuario.setSenhaHash(senhaHash);
+        usuario.setPerfil(perfil);
+        return usuario;
+    }
+}
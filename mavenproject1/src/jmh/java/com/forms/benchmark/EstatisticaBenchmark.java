@@ -0,0 +1,36 @@
+package com.forms.benchmark;
+
+import com.forms.dto.EstatisticaQuestaoDTO;
+import com.forms.service.EstatisticaAvaliacaoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relatório de uma avaliação (RF16): leitura dos contadores agregados e a
+ * reconstrução completa a partir das respostas gravadas
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EstatisticaBenchmark {
+
+    @Benchmark
+    public List<EstatisticaQuestaoDTO> buscarEstatisticas(ContextoBenchmark contexto) {
+        return contexto.bean(EstatisticaAvaliacaoService.class).buscarEstatisticas(contexto.getAvaliacaoId());
+    }
+
+    @Benchmark
+    public void reconstruir(ContextoBenchmark contexto) {
+        contexto.bean(EstatisticaAvaliacaoService.class).reconstruir(contexto.getAvaliacaoId());
+    }
+}
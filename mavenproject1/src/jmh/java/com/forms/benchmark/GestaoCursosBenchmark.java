@@ -0,0 +1,98 @@
+package com.forms.benchmark;
+
+import com.forms.dto.TurmaResumoDTO;
+import com.forms.models.Turma;
+import com.forms.models.UnidadeCurricular;
+import com.forms.models.Usuario;
+import com.forms.repository.TurmaRepository;
+import com.forms.repository.UnidadeCurricularRepository;
+import com.forms.repository.UsuarioRepository;
+import com.forms.service.TurmaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tabela de turmas da gestão de cursos: primeira e última página na ordem padrão
+ * (período decrescente), com o total de turmas crescendo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GestaoCursosBenchmark {
+
+    private static final int UCS = 20;
+    private static final int TAMANHO_PAGINA = 20;
+
+    @Param({"100", "1000", "10000"})
+    private int turmas;
+
+    private TurmaService turmaService;
+    private Pageable primeiraPagina;
+    private Pageable ultimaPagina;
+
+    @Setup(Level.Trial)
+    public void preparar(ContextoBenchmark contexto) {
+        turmaService = contexto.bean(TurmaService.class);
+        Usuario professor = contexto.bean(UsuarioRepository.class).findByEmail("professor@benchmark.local").orElseThrow();
+
+        contexto.bean(TransactionTemplate.class).executeWithoutResult(status -> {
+            List<UnidadeCurricular> ucs = new ArrayList<>();
+            for (int i = 1; i <= UCS; i++) {
+                UnidadeCurricular uc = new UnidadeCurricular();
+                uc.setNome("UC Gestão " + i);
+                ucs.add(uc);
+            }
+            contexto.bean(UnidadeCurricularRepository.class).saveAll(ucs);
+
+            List<Turma> novas = new ArrayList<>();
+            for (int i = 0; i < turmas; i++) {
+                Turma turma = new Turma();
+                turma.setAno(2000 + i % 25);
+                turma.setSemestre(1 + i % 2);
+                turma.setProfessor(professor);
+                turma.setUc(ucs.get(i % UCS));
+                novas.add(turma);
+            }
+            contexto.bean(TurmaRepository.class).saveAll(novas);
+        });
+
+        // Mesma ordem que CoordenadorController usa sem parâmetro de ordenação
+        Sort sort = Sort.by(Sort.Direction.DESC, "ano", "semestre").and(Sort.by("id"));
+        // Mais a turma da avaliação do ContextoBenchmark
+        int total = turmas + 1;
+        primeiraPagina = PageRequest.of(0, TAMANHO_PAGINA, sort);
+        ultimaPagina = PageRequest.of((total - 1) / TAMANHO_PAGINA, TAMANHO_PAGINA, sort);
+    }
+
+    @Benchmark
+    public Page<TurmaResumoDTO> primeiraPagina() {
+        return turmaService.listar(null, null, null, primeiraPagina);
+    }
+
+    @Benchmark
+    public Page<TurmaResumoDTO> ultimaPagina() {
+        return turmaService.listar(null, null, null, ultimaPagina);
+    }
+}
@@ -0,0 +1,46 @@
+package com.forms.benchmark;
+
+import com.forms.security.CustomUserDetailsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga do usuário no login, sem a verificação da senha (ver SenhaBenchmark)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginBenchmark {
+
+    private CustomUserDetailsService userDetailsService;
+    private List<String> emails;
+    private int proximo;
+
+    @Setup(Level.Trial)
+    public void preparar(ContextoBenchmark contexto) {
+        userDetailsService = contexto.bean(CustomUserDetailsService.class);
+        emails = contexto.getEmails();
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        proximo = (proximo + 1) % emails.size();
+        return userDetailsService.loadUserByUsername(emails.get(proximo));
+    }
+}
@@ -0,0 +1,131 @@
+package com.forms.benchmark;
+
+import com.forms.dto.RespostaSubmetida;
+import com.forms.service.AvaliacaoRespostaService;
+import com.forms.service.RascunhoRespostaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autosave de uma avaliação longa: salvar só a questão aberta que mudou (rascunho) contra
+ * salvar o formulário inteiro a cada vez
+ *
+ * salvarQuestao descarrega o rascunho a cada salvamentosPorDescarga salvamentos (1 = sem
+ * coalescência; 10 = um aluno editando a mesma questão entre duas descargas). No fim do
+ * trial imprime as linhas gravadas por salvamento em cada caso.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RascunhoBenchmark {
+
+    private static final int TAMANHO_TEXTO = 2000;
+
+    @Param({"1", "10"})
+    private int salvamentosPorDescarga;
+
+    private AvaliacaoRespostaService respostaService;
+    private RascunhoRespostaService rascunhoService;
+    private Integer avaliacaoId;
+    private List<Integer> alunoIds;
+    private List<Integer> questoesAbertas;
+    private Map<Integer, RespostaSubmetida> formularioCompleto;
+    private long linhasFormularioCompleto;
+    private String texto;
+
+    private int aluno;
+    private int salvamentos;
+    private long linhasRascunhoInicio;
+    private long salvamentosRascunho;
+    private long salvamentosCompletos;
+
+    @Setup(Level.Trial)
+    public void preparar(ContextoBenchmark contexto) {
+        respostaService = contexto.bean(AvaliacaoRespostaService.class);
+        rascunhoService = contexto.bean(RascunhoRespostaService.class);
+        avaliacaoId = contexto.getAvaliacaoId();
+        alunoIds = contexto.getAlunoIds();
+
+        StringBuilder textoLongo = new StringBuilder();
+        while (textoLongo.length() < TAMANHO_TEXTO) {
+            textoLongo.append("Resposta aberta longa de uma avaliação com muitas questões. ");
+        }
+        texto = textoLongo.toString();
+
+        questoesAbertas = new ArrayList<>();
+        formularioCompleto = new HashMap<>();
+        for (Map.Entry<Integer, RespostaSubmetida> entrada : contexto.getRespostas().entrySet()) {
+            RespostaSubmetida resposta = entrada.getValue();
+            if (resposta.getTextoResposta() != null) {
+                questoesAbertas.add(entrada.getKey());
+                resposta = new RespostaSubmetida(null, texto);
+            }
+            formularioCompleto.put(entrada.getKey(), resposta);
+            // Cada resposta e cada opção selecionada é apagada e inserida de novo
+            linhasFormularioCompleto += 2L * (1 + resposta.getOpcaoIds().size());
+        }
+        linhasRascunhoInicio = rascunhoService.getLinhasGravadas();
+    }
+
+    @TearDown(Level.Trial)
+    public void relatar() {
+        rascunhoService.descarregar();
+        if (salvamentosRascunho > 0) {
+            System.out.printf("%nRascunho: %.2f linhas por salvamento (descarga a cada %d)%n",
+                (rascunhoService.getLinhasGravadas() - linhasRascunhoInicio) / (double) salvamentosRascunho,
+                salvamentosPorDescarga);
+        }
+        if (salvamentosCompletos > 0) {
+            System.out.printf("%nFormulário completo: %d linhas por salvamento%n", linhasFormularioCompleto);
+        }
+    }
+
+    /**
+     * Um aluno altera uma questão aberta e o navegador envia só ela
+     */
+    @Benchmark
+    public void salvarQuestao() {
+        Integer alunoId = alunoIds.get(aluno);
+        // A mesma questão até a próxima descarga, depois a seguinte
+        Integer questaoId = questoesAbertas.get((salvamentos / salvamentosPorDescarga) % questoesAbertas.size());
+        respostaService.salvarRascunho(avaliacaoId, alunoId,
+            Map.of(questaoId, new RespostaSubmetida(null, texto + salvamentos)), ContextoBenchmark.IP);
+        salvamentosRascunho++;
+
+        if (++salvamentos % salvamentosPorDescarga == 0) {
+            rascunhoService.descarregar();
+            aluno = (aluno + 1) % alunoIds.size();
+        }
+    }
+
+    /**
+     * O mesmo salvamento mandando o formulário inteiro, como uma submissão
+     */
+    @Benchmark
+    public void salvarFormularioCompleto() {
+        respostaService.submeterAvaliacao(avaliacaoId, alunoIds.get(aluno), formularioCompleto,
+            ContextoBenchmark.IP, null);
+        salvamentosCompletos++;
+        aluno = (aluno + 1) % alunoIds.size();
+    }
+}
@@ -0,0 +1,72 @@
+package com.forms.benchmark;
+
+import com.forms.dto.FormularioDTO;
+import com.forms.service.FormularioService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.View;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renderização de aluno/avaliacao.html com as 50 questões, a partir do mesmo
+ * FormularioDTO em cache que o AlunoController entrega à view
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RenderizacaoBenchmark {
+
+    private WebApplicationContext contextoWeb;
+    private View view;
+    private Map<String, Object> modelo;
+    private String uri;
+    private CsrfToken csrf;
+
+    @Setup(Level.Trial)
+    public void preparar(ContextoBenchmark contexto) throws Exception {
+        contextoWeb = (WebApplicationContext) contexto.getContexto();
+        view = contexto.bean(ThymeleafViewResolver.class).resolveViewName("aluno/avaliacao", Locale.getDefault());
+
+        FormularioDTO formulario = contexto.bean(FormularioService.class).buscarFormulario(contexto.getAvaliacaoId());
+        modelo = Map.of(
+            "avaliacao", formulario,
+            "questoes", formulario.getQuestoes(),
+            "chaveSubmissao", UUID.randomUUID().toString());
+        uri = "/aluno/avaliacao/" + contexto.getAvaliacaoId();
+        csrf = new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", UUID.randomUUID().toString());
+    }
+
+    @Benchmark
+    public String renderizar() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(contextoWeb.getServletContext(), "GET", uri);
+        request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, contextoWeb);
+        request.setAttribute(CsrfToken.class.getName(), csrf);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        view.render(modelo, request, response);
+        return response.getContentAsString();
+    }
+}
@@ -0,0 +1,80 @@
+package com.forms.benchmark;
+
+import com.forms.models.Avaliacao;
+import com.forms.models.AvaliacaoRespostaTracking;
+import com.forms.models.Usuario;
+import com.forms.repository.AvaliacaoRepository;
+import com.forms.repository.UsuarioRepository;
+import com.forms.service.AvaliacaoRespostaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracking (RF03) e validação de uma submissão de 50 questões (RF10)
+ *
+ * Os alunos já responderam e a avaliação permite edição, então iniciar/finalizar
+ * percorrem o caminho de quem volta para editar as respostas.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RespostaBenchmark {
+
+    private AvaliacaoRespostaService respostaService;
+    private Avaliacao avaliacao;
+    private List<Usuario> alunos;
+    private List<Integer> trackingIds;
+    private int proximo;
+
+    @Setup(Level.Trial)
+    public void preparar(ContextoBenchmark contexto) {
+        respostaService = contexto.bean(AvaliacaoRespostaService.class);
+        avaliacao = contexto.bean(AvaliacaoRepository.class).findById(contexto.getAvaliacaoId()).orElseThrow();
+        alunos = contexto.bean(UsuarioRepository.class).findAllById(contexto.getAlunoIds());
+
+        trackingIds = new ArrayList<>();
+        for (Usuario aluno : alunos) {
+            trackingIds.add(respostaService.buscarTracking(avaliacao, aluno).orElseThrow().getId());
+        }
+    }
+
+    @Benchmark
+    public AvaliacaoRespostaTracking iniciarResposta() {
+        return respostaService.iniciarResposta(avaliacao, alunos.get(proximo()), ContextoBenchmark.IP);
+    }
+
+    @Benchmark
+    public void finalizarResposta() {
+        respostaService.finalizarResposta(trackingIds.get(proximo()));
+    }
+
+    @Benchmark
+    public void validarSubmissao(ContextoBenchmark contexto) {
+        respostaService.validarSubmissao(contexto.getAvaliacaoId(), alunos.get(proximo()).getId(),
+            contexto.getRespostas(), null);
+    }
+
+    /**
+     * Alterna entre os alunos para não medir sempre a mesma linha de tracking
+     */
+    private int proximo() {
+        proximo = (proximo + 1) % alunos.size();
+        return proximo;
+    }
+}
@@ -0,0 +1,94 @@
+package com.forms.benchmark;
+
+import com.forms.dto.FormularioDTO;
+import com.forms.dto.FormularioDTO.OpcaoDTO;
+import com.forms.dto.FormularioDTO.QuestaoDTO;
+import com.forms.dto.RespostaSubmetida;
+import com.forms.models.TipoQuestao;
+import com.forms.service.ValidadorFormulario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação de uma submissão completa pelo formulário compilado (RF10), sem banco
+ *
+ * Rode com -prof gc para ver a alocação por validação.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidacaoBenchmark {
+
+    @Param({"100"})
+    private int questoes;
+
+    private FormularioDTO formulario;
+    private ValidadorFormulario validador;
+    private Map<Integer, RespostaSubmetida> respostas;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        TipoQuestao[] tipos = {TipoQuestao.ABERTA, TipoQuestao.MULTIPLA_ESCOLHA_UNICA,
+            TipoQuestao.MULTIPLA_ESCOLHA_MULTIPLA};
+
+        List<QuestaoDTO> lista = new ArrayList<>();
+        respostas = new HashMap<>();
+        int proximaOpcao = 1;
+        for (int i = 1; i <= questoes; i++) {
+            TipoQuestao tipo = tipos[i % tipos.length];
+            int questaoId = 10_000 + i;
+            List<OpcaoDTO> opcoes = new ArrayList<>();
+            List<Integer> selecionadas = new ArrayList<>();
+
+            if (tipo != TipoQuestao.ABERTA) {
+                for (int j = 1; j <= ContextoBenchmark.OPCOES_POR_QUESTAO; j++) {
+                    opcoes.add(new OpcaoDTO(proximaOpcao, "Opção " + j, j));
+                    if (j == 1 || (tipo == TipoQuestao.MULTIPLA_ESCOLHA_MULTIPLA && j == 2)) {
+                        selecionadas.add(proximaOpcao);
+                    }
+                    proximaOpcao++;
+                }
+            }
+            lista.add(new QuestaoDTO(questaoId, "Questão " + i, tipo, i, true, opcoes));
+            respostas.put(questaoId, tipo == TipoQuestao.ABERTA
+                ? new RespostaSubmetida(null, "Resposta aberta " + i)
+                : new RespostaSubmetida(selecionadas, null));
+        }
+
+        formulario = new FormularioDTO(1, 1, 1, "Avaliação Benchmark", null, false, true, lista);
+        validador = ValidadorFormulario.compilar(formulario);
+    }
+
+    @Benchmark
+    public ValidadorFormulario validar() {
+        validador.validar(respostas);
+        return validador;
+    }
+
+    /**
+     * Custo pago uma vez por versão do formulário
+     */
+    @Benchmark
+    public ValidadorFormulario compilar() {
+        return ValidadorFormulario.compilar(formulario);
+    }
+}
@@ -0,0 +1,43 @@
+package com.forms.config;
+
+import com.forms.models.GeradorIdSequencial;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Reserva de blocos de IDs em um pool próprio, apontado para o banco primário
+ *
+ * O pool não é registrado como DataSource no contexto: a aplicação (JPA, JdbcTemplate,
+ * Flyway, roteamento de réplica) continua vendo só o DataSource principal.
+ */
+@Configuration
+public class AlocacaoIdsConfig {
+
+    /**
+     * Uma reserva por vez por tabela de sequência; poucas conexões bastam
+     */
+    @Value("${forms.ids.conexoes:2}")
+    private int conexoes;
+
+    @Bean
+    public AlocadorIds alocadorIds(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("ids");
+        dataSource.setMaximumPoolSize(conexoes);
+        dataSource.setMinimumIdle(0);
+        return new AlocadorIds(dataSource);
+    }
+
+    /**
+     * Os geradores de ID das entidades (@IdSequencial) são criados pelo Hibernate e
+     * recebem o alocador pelas propriedades da sessão
+     */
+    @Bean
+    public HibernatePropertiesCustomizer alocadorIdsHibernate(AlocadorIds alocadorIds) {
+        return propriedades -> propriedades.put(GeradorIdSequencial.PROPRIEDADE_ALOCADOR, alocadorIds);
+    }
+}
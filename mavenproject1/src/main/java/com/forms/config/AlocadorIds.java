@@ -0,0 +1,95 @@
+package com.forms.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Entrega IDs em blocos reservados nas tabelas de sequência (*_seq) do MySQL
+ *
+ * Cada reserva avança next_val em TAMANHO_BLOCO numa transação própria, em um pool de
+ * conexões separado do da aplicação. Quem reserva um bloco segura a trava da tabela até
+ * terminar; as threads que esperam por ela normalmente já têm uma conexão da aplicação
+ * emprestada (estão no meio de uma transação), então se a reserva usasse o mesmo pool,
+ * com mais esperas que conexões ninguém andaria.
+ *
+ * O valor lido de next_val antes do avanço é o último ID do bloco: o bloco vai de
+ * next_val - TAMANHO_BLOCO + 1 até next_val. Quem grava IDs por fora (migrações, gerador
+ * de carga) deixa next_val em último ID usado + TAMANHO_BLOCO.
+ */
+public class AlocadorIds implements AutoCloseable {
+
+    public static final int TAMANHO_BLOCO = 50;
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentMap<String, Bloco> blocos = new ConcurrentHashMap<>();
+
+    // Métricas
+    private final AtomicLong blocosReservados = new AtomicLong();
+
+    public AlocadorIds(HikariDataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    /**
+     * Próximo ID da tabela de sequência (por exemplo "resposta_seq")
+     */
+    public int proximo(String tabelaSequencia) {
+        return blocos.computeIfAbsent(tabelaSequencia, Bloco::new).proximo();
+    }
+
+    private long reservar(String tabelaSequencia) {
+        Long avancado = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("UPDATE " + tabelaSequencia + " SET next_val = next_val + ?", TAMANHO_BLOCO);
+            return jdbcTemplate.queryForObject("SELECT next_val FROM " + tabelaSequencia, Long.class);
+        });
+        blocosReservados.incrementAndGet();
+        return avancado - TAMANHO_BLOCO;
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+
+    // Métricas
+
+    public long getBlocosReservados() {
+        return blocosReservados.get();
+    }
+
+    private class Bloco {
+        private final String tabelaSequencia;
+        private final ReentrantLock trava = new ReentrantLock();
+        private long proximo = 1;
+        private long ultimo = 0;
+
+        Bloco(String tabelaSequencia) {
+            this.tabelaSequencia = tabelaSequencia;
+        }
+
+        int proximo() {
+            trava.lock();
+            try {
+                if (proximo > ultimo) {
+                    ultimo = reservar(tabelaSequencia);
+                    // Tabela recém-criada (next_val = 1): o primeiro bloco é mais curto
+                    proximo = Math.max(1, ultimo - TAMANHO_BLOCO + 1);
+                }
+                return Math.toIntExact(proximo++);
+            } finally {
+                trava.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.forms.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Garante que o usuário veja o que acabou de gravar mesmo com a réplica atrasada
+ *
+ * Cada requisição de escrita bem-sucedida (POST, PUT, DELETE...) guarda o horário na
+ * sessão; até o fim da janela, as leituras dessa sessão vão para o primário. Assim o
+ * aluno que acabou de enviar as respostas vê a avaliação como respondida no dashboard.
+ */
+public class LeituraPosEscritaFilter extends OncePerRequestFilter {
+
+    private static final String ATRIBUTO_ULTIMA_ESCRITA = LeituraPosEscritaFilter.class.getName() + ".ultimaEscrita";
+
+    private final long janelaMillis;
+
+    public LeituraPosEscritaFilter(Duration janela) {
+        this.janelaMillis = janela.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RoteamentoLeitura.lerDoPrimario(escreveuRecentemente(request.getSession(false)));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RoteamentoLeitura.lerDoPrimario(false);
+
+            if (!isLeitura(request.getMethod()) && response.getStatus() < 400) {
+                // A sessão pode ter sido trocada durante a requisição (login)
+                HttpSession sessao = request.getSession(false);
+                if (sessao != null) {
+                    sessao.setAttribute(ATRIBUTO_ULTIMA_ESCRITA, System.currentTimeMillis());
+                }
+            }
+        }
+    }
+
+    private boolean escreveuRecentemente(HttpSession sessao) {
+        if (sessao == null) {
+            return false;
+        }
+        try {
+            Long ultimaEscrita = (Long) sessao.getAttribute(ATRIBUTO_ULTIMA_ESCRITA);
+            return ultimaEscrita != null && System.currentTimeMillis() - ultimaEscrita < janelaMillis;
+        } catch (IllegalStateException e) {
+            // Sessão invalidada entre getSession e getAttribute
+            return false;
+        }
+    }
+
+    private static boolean isLeitura(String metodo) {
+        return "GET".equals(metodo) || "HEAD".equals(metodo) || "OPTIONS".equals(metodo);
+    }
+}
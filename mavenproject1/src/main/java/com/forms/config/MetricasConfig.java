@@ -0,0 +1,236 @@
+package com.forms.config;
+
+import com.forms.security.UsuarioAutenticadoCache;
+import com.forms.service.AvaliacaoRespostaService;
+import com.forms.security.VerificacaoSenhaLimitada;
+import com.forms.service.EstatisticaAvaliacaoService;
+import com.forms.service.FormularioService;
+import com.forms.service.IndiceAvaliacoesAtivasService;
+import com.forms.service.IngestaoRespostaService;
+import com.forms.service.ProgressoRespostasService;
+import com.forms.service.RascunhoRespostaService;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AbstractAuthenticationFailureEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publica no Micrometer (/actuator/prometheus) as métricas dos caches, filas e
+ * verificações que os services expõem como getters, além de logins e consultas lentas
+ *
+ * As métricas padrão (HTTP, Hikari, JVM, Hibernate) vêm da auto-configuração do actuator.
+ */
+@Configuration
+public class MetricasConfig {
+
+    /**
+     * Habilita @Timed nos services
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder metricasCaches(FormularioService formularioService,
+            UsuarioAutenticadoCache usuarioAutenticadoCache,
+            IndiceAvaliacoesAtivasService indiceAvaliacoesAtivasService) {
+
+        return registry -> {
+            acessos(registry, "formulario", formularioService,
+                FormularioService::getAcertos, FormularioService::getFaltas);
+            Gauge.builder("forms.cache.tamanho", formularioService, FormularioService::getTamanho)
+                .tag("cache", "formulario").register(registry);
+            FunctionCounter.builder("forms.cache.remocoes", formularioService, FormularioService::getRemocoesPorTamanho)
+                .tag("cache", "formulario").register(registry);
+
+            acessos(registry, "usuario-autenticado", usuarioAutenticadoCache,
+                UsuarioAutenticadoCache::getAcertos, UsuarioAutenticadoCache::getFaltas);
+            Gauge.builder("forms.cache.tamanho", usuarioAutenticadoCache, UsuarioAutenticadoCache::getTamanho)
+                .tag("cache", "usuario-autenticado").register(registry);
+            FunctionCounter.builder("forms.cache.carregamentos", usuarioAutenticadoCache, UsuarioAutenticadoCache::getCarregamentos)
+                .tag("cache", "usuario-autenticado").register(registry);
+
+            acessos(registry, "avaliacoes-ativas", indiceAvaliacoesAtivasService,
+                IndiceAvaliacoesAtivasService::getAcertos, IndiceAvaliacoesAtivasService::getFaltas);
+            Gauge.builder("forms.indice.avaliacoes.ativas", indiceAvaliacoesAtivasService, IndiceAvaliacoesAtivasService::getAvaliacoesAtivas)
+                .register(registry);
+            Gauge.builder("forms.indice.eventos.agendados", indiceAvaliacoesAtivasService, IndiceAvaliacoesAtivasService::getEventosAgendados)
+                .register(registry);
+            FunctionCounter.builder("forms.indice.divergencias", indiceAvaliacoesAtivasService, IndiceAvaliacoesAtivasService::getDivergenciasReconstrucao)
+                .register(registry);
+            Gauge.builder("forms.indice.segundos.desde.reconstrucao", indiceAvaliacoesAtivasService, IndiceAvaliacoesAtivasService::getSegundosDesdeUltimaReconstrucao)
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder metricasIngestao(IngestaoRespostaService ingestaoRespostaService,
+            AvaliacaoRespostaService avaliacaoRespostaService) {
+        return registry -> {
+            Gauge.builder("forms.ingestao.fila.profundidade", ingestaoRespostaService, IngestaoRespostaService::getProfundidadeFila)
+                .register(registry);
+            Gauge.builder("forms.ingestao.fila.capacidade", ingestaoRespostaService, IngestaoRespostaService::getCapacidadeFila)
+                .register(registry);
+            FunctionCounter.builder("forms.ingestao.submissoes", ingestaoRespostaService, IngestaoRespostaService::getSubmissoesEnfileiradas)
+                .tag("resultado", "enfileirada").register(registry);
+            FunctionCounter.builder("forms.ingestao.submissoes", ingestaoRespostaService, IngestaoRespostaService::getSubmissoesGravadas)
+                .tag("resultado", "gravada").register(registry);
+            FunctionCounter.builder("forms.ingestao.submissoes", ingestaoRespostaService, IngestaoRespostaService::getSubmissoesRecusadasPorFilaCheia)
+                .tag("resultado", "recusada-fila-cheia").register(registry);
+            FunctionCounter.builder("forms.ingestao.submissoes", ingestaoRespostaService, IngestaoRespostaService::getSubmissoesComFalha)
+                .tag("resultado", "falha").register(registry);
+            Gauge.builder("forms.ingestao.drenagem.latencia.media", ingestaoRespostaService, IngestaoRespostaService::getLatenciaMediaDrenagemMs)
+                .baseUnit("milliseconds").register(registry);
+            FunctionCounter.builder("forms.ingestao.submissoes", avaliacaoRespostaService, AvaliacaoRespostaService::getSubmissoesRepetidas)
+                .tag("resultado", "repetida").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder metricasEstatisticas(EstatisticaAvaliacaoService estatisticaService) {
+        return registry -> {
+            FunctionCounter.builder("forms.estatisticas.contadores.divergentes", estatisticaService, EstatisticaAvaliacaoService::getContadoresDivergentes)
+                .register(registry);
+            FunctionCounter.builder("forms.estatisticas.avaliacoes.reconstruidas", estatisticaService, EstatisticaAvaliacaoService::getAvaliacoesReconstruidas)
+                .register(registry);
+            Gauge.builder("forms.estatisticas.segundos.desde.verificacao", estatisticaService, EstatisticaAvaliacaoService::getSegundosDesdeUltimaVerificacao)
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder metricasProgresso(ProgressoRespostasService progressoService) {
+        return registry -> {
+            Gauge.builder("forms.progresso.inscritos", progressoService, ProgressoRespostasService::getInscritos)
+                .register(registry);
+            Gauge.builder("forms.progresso.avaliacoes", progressoService, ProgressoRespostasService::getAvaliacoesAcompanhadas)
+                .register(registry);
+            FunctionCounter.builder("forms.progresso.eventos", progressoService, ProgressoRespostasService::getEventosEnviados)
+                .register(registry);
+            FunctionCounter.builder("forms.progresso.recargas", progressoService, ProgressoRespostasService::getRecargas)
+                .register(registry);
+            FunctionCounter.builder("forms.progresso.inscritos.lentos", progressoService, ProgressoRespostasService::getInscritosLentos)
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder metricasRascunho(RascunhoRespostaService rascunhoService) {
+        return registry -> {
+            Gauge.builder("forms.rascunho.memoria", rascunhoService, RascunhoRespostaService::getRascunhosEmMemoria)
+                .register(registry);
+            FunctionCounter.builder("forms.rascunho.salvamentos", rascunhoService, RascunhoRespostaService::getSalvamentos)
+                .register(registry);
+            FunctionCounter.builder("forms.rascunho.questoes.recebidas", rascunhoService, RascunhoRespostaService::getQuestoesRecebidas)
+                .register(registry);
+            FunctionCounter.builder("forms.rascunho.linhas", rascunhoService, RascunhoRespostaService::getLinhasGravadas)
+                .tag("origem", "gravadas").register(registry);
+            FunctionCounter.builder("forms.rascunho.linhas", rascunhoService, RascunhoRespostaService::getLinhasFormularioCompleto)
+                .tag("origem", "formulario-completo").register(registry);
+            FunctionCounter.builder("forms.rascunho.descargas", rascunhoService, RascunhoRespostaService::getDescargas)
+                .tag("resultado", "gravada").register(registry);
+            FunctionCounter.builder("forms.rascunho.descargas", rascunhoService, RascunhoRespostaService::getFalhasDescarga)
+                .tag("resultado", "falha").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder metricasSenha(VerificacaoSenhaLimitada verificacaoSenha) {
+        return registry -> {
+            FunctionCounter.builder("forms.senha.verificacoes", verificacaoSenha, VerificacaoSenhaLimitada::getVerificacoes)
+                .register(registry);
+            FunctionCounter.builder("forms.senha.rejeicoes", verificacaoSenha, VerificacaoSenhaLimitada::getRejeicoes)
+                .register(registry);
+            Gauge.builder("forms.senha.fila.profundidade", verificacaoSenha, VerificacaoSenhaLimitada::getProfundidadeFila)
+                .register(registry);
+            Gauge.builder("forms.senha.verificacoes.em.andamento", verificacaoSenha, VerificacaoSenhaLimitada::getVerificacoesEmAndamento)
+                .register(registry);
+            Gauge.builder("forms.senha.verificacao.tempo.medio", verificacaoSenha, VerificacaoSenhaLimitada::getMillisMedioVerificacao)
+                .baseUnit("milliseconds").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder metricasIds(AlocadorIds alocadorIds) {
+        return registry -> FunctionCounter.builder("forms.ids.blocos", alocadorIds, AlocadorIds::getBlocosReservados)
+            .description("Blocos de IDs reservados nas tabelas de sequência")
+            .register(registry);
+    }
+
+    /**
+     * Transações somente leitura por destino, quando há réplica configurada
+     */
+    @Bean
+    public MeterBinder metricasReplica(ObjectProvider<RoteamentoLeitura> roteamentoLeitura) {
+        return registry -> roteamentoLeitura.ifAvailable(roteamento -> {
+            FunctionCounter.builder("forms.datasource.leituras", roteamento, RoteamentoLeitura::getLeiturasReplica)
+                .tag("destino", "replica").register(registry);
+            FunctionCounter.builder("forms.datasource.leituras", roteamento, RoteamentoLeitura::getLeiturasPrimario)
+                .tag("destino", "primario").register(registry);
+        });
+    }
+
+    /**
+     * Consultas acima de hibernate.log_slow_query; as demais estatísticas do Hibernate
+     * (consultas, cache de segundo nível) vêm do hibernate-micrometer
+     */
+    @Bean
+    public MeterBinder metricasConsultasLentas(EntityManagerFactory entityManagerFactory) {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> Gauge.builder("forms.hibernate.consultas.lentas", estatisticas, s -> s.getSlowQueries().size())
+            .description("Consultas distintas que passaram do limite de consulta lenta")
+            .register(registry);
+    }
+
+    @Bean
+    public MetricasLogin metricasLogin(MeterRegistry registry) {
+        return new MetricasLogin(registry);
+    }
+
+    private static <T> void acessos(MeterRegistry registry, String cache, T fonte,
+            ToDoubleFunction<T> acertos, ToDoubleFunction<T> faltas) {
+        FunctionCounter.builder("forms.cache.acessos", fonte, acertos)
+            .tags("cache", cache, "resultado", "acerto").register(registry);
+        FunctionCounter.builder("forms.cache.acessos", fonte, faltas)
+            .tags("cache", cache, "resultado", "falta").register(registry);
+    }
+
+    /**
+     * Logins com sucesso e com falha, a partir dos eventos do Spring Security
+     */
+    public static class MetricasLogin {
+
+        private final Counter sucessos;
+        private final MeterRegistry registry;
+
+        MetricasLogin(MeterRegistry registry) {
+            this.registry = registry;
+            this.sucessos = Counter.builder("forms.login").tag("resultado", "sucesso").register(registry);
+        }
+
+        @EventListener
+        public void aoAutenticar(AuthenticationSuccessEvent evento) {
+            sucessos.increment();
+        }
+
+        @EventListener
+        public void aoFalhar(AbstractAuthenticationFailureEvent evento) {
+            registry.counter("forms.login", "resultado", "falha",
+                "motivo", evento.getException().getClass().getSimpleName()).increment();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.forms.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Leituras em réplica: transações readOnly = true (dashboards, relatórios, exportação)
+ * usam o pool da réplica; as demais, o primário
+ *
+ * Ativado por forms.datasource.replica.url. Sem a propriedade, a aplicação usa apenas o
+ * DataSource padrão do Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty("forms.datasource.replica.url")
+public class ReplicaLeituraConfig {
+
+    @Value("${forms.datasource.replica.url}")
+    private String urlReplica;
+
+    @Value("${forms.datasource.replica.username:${spring.datasource.username:}}")
+    private String usuarioReplica;
+
+    @Value("${forms.datasource.replica.password:${spring.datasource.password:}}")
+    private String senhaReplica;
+
+    /**
+     * Por quanto tempo depois de uma escrita a sessão continua lendo do primário;
+     * deve cobrir o atraso normal da replicação
+     */
+    @Value("${forms.datasource.replica.janela-leitura-pos-escrita:10s}")
+    private Duration janelaLeituraPosEscrita;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primario");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("forms.datasource.replica.hikari")
+    public HikariDataSource dataSourceReplica(DataSourceProperties properties) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(properties.determineDriverClassName())
+            .url(urlReplica)
+            .username(usuarioReplica)
+            .password(senhaReplica)
+            .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public RoteamentoLeitura roteamentoLeitura(HikariDataSource dataSourcePrimario, HikariDataSource dataSourceReplica) {
+        return new RoteamentoLeitura(dataSourcePrimario, dataSourceReplica);
+    }
+
+    /**
+     * DataSource usado por JPA, JdbcTemplate e Flyway
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(RoteamentoLeitura roteamentoLeitura) {
+        return new LazyConnectionDataSourceProxy(roteamentoLeitura);
+    }
+
+    /**
+     * Se open-in-view for religado, a sessão do Hibernate manteria a mesma conexão durante
+     * toda a requisição, e o pool escolhido na primeira transação valeria para as seguintes
+     * (inclusive escritas). Devolvendo a conexão ao fim de cada transação, cada uma é
+     * roteada de novo. Nesse modo o HibernateJpaDialect não aceita isolamento diferente
+     * do padrão em @Transactional.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer liberarConexaoAposTransacao() {
+        return propriedades -> propriedades.put(AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public FilterRegistrationBean<LeituraPosEscritaFilter> leituraPosEscritaFilter() {
+        return new FilterRegistrationBean<>(new LeituraPosEscritaFilter(janelaLeituraPosEscrita));
+    }
+}
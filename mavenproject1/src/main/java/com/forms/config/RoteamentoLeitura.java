@@ -0,0 +1,71 @@
+package com.forms.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escolhe o pool de cada conexão: réplica para transações somente leitura, primário
+ * para o resto (escritas, Flyway, acesso fora de transação) e para leituras da
+ * requisição que precisa ver as próprias escritas recentes
+ *
+ * Fica atrás de um LazyConnectionDataSourceProxy, então a decisão é tomada no primeiro
+ * comando SQL, quando a transação já está registrada como somente leitura ou não.
+ */
+public class RoteamentoLeitura extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Boolean> LER_DO_PRIMARIO = new ThreadLocal<>();
+
+    private final AtomicLong leiturasReplica = new AtomicLong();
+    private final AtomicLong leiturasPrimario = new AtomicLong();
+
+    public RoteamentoLeitura(DataSource primario, DataSource replica) {
+        setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Força as leituras da thread atual para o primário (leitura após escrita)
+     */
+    public static void lerDoPrimario(boolean primario) {
+        if (primario) {
+            LER_DO_PRIMARIO.set(Boolean.TRUE);
+        } else {
+            LER_DO_PRIMARIO.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Destino.PRIMARIO;
+        }
+        if (Boolean.TRUE.equals(LER_DO_PRIMARIO.get())) {
+            leiturasPrimario.incrementAndGet();
+            return Destino.PRIMARIO;
+        }
+        leiturasReplica.incrementAndGet();
+        return Destino.REPLICA;
+    }
+
+    // Métricas
+
+    public long getLeiturasReplica() {
+        return leiturasReplica.get();
+    }
+
+    /**
+     * Transações somente leitura desviadas para o primário por leitura após escrita
+     */
+    public long getLeiturasPrimario() {
+        return leiturasPrimario.get();
+    }
+
+    private enum Destino {
+        PRIMARIO, REPLICA
+    }
+}
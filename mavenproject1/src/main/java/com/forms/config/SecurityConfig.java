@@ -1,9 +1,18 @@
 package com.forms.config;
 
 import com.forms.security.CustomUserDetailsService;
+import com.forms.security.UsuarioAutenticadoCache;
+import com.forms.security.UsuarioAutenticadoFilter;
+import com.forms.security.VerificacaoSenhaLimitada;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -11,8 +20,15 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Configuração de segurança do Spring Security
@@ -26,19 +42,56 @@ public class SecurityConfig {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private UsuarioAutenticadoCache usuarioAutenticadoCache;
+
+    @Autowired
+    private Environment environment;
+
+    /**
+     * Algoritmo usado nos hashes novos; hashes antigos continuam válidos e são
+     * regravados no próximo login
+     */
+    @Value("${forms.senha.algoritmo:bcrypt}")
+    private String algoritmoSenha;
+
+    @Value("${forms.senha.bcrypt-forca:10}")
+    private int forcaBcrypt;
+
+    @Value("${forms.senha.verificacao.threads:0}")
+    private int threadsVerificacao;
+
+    @Value("${forms.senha.verificacao.capacidade-fila:200}")
+    private int capacidadeFilaVerificacao;
+
+    @Value("${forms.senha.verificacao.timeout:10s}")
+    private Duration timeoutVerificacao;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        // Scrape do Prometheus sem login só com o actuator fora da porta da aplicação
+        // (management.server.port); se ele voltar para a porta pública, exige administrador
+        boolean actuatorEmPortaPropria = ManagementPortType.get(environment) == ManagementPortType.DIFFERENT;
+
         http
-            .authorizeHttpRequests(authorize -> authorize
-                .requestMatchers("/login", "/usuarios/cadastro", "/css/**", "/js/**", "/images/**").permitAll()
+            .authorizeHttpRequests(authorize -> {
+                authorize
+                    .requestMatchers("/login", "/usuarios/cadastro", "/css/**", "/js/**", "/images/**").permitAll()
+                    .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll();
+                if (actuatorEmPortaPropria) {
+                    authorize.requestMatchers(EndpointRequest.to(PrometheusScrapeEndpoint.class)).permitAll();
+                }
+                authorize
+                    // Demais endpoints do actuator só para administradores
+                    .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMINISTRADOR")
 
-                .requestMatchers("/admin/**").hasRole("ADMINISTRADOR")
-                .requestMatchers("/coordenador/**").hasAnyRole("COORDENADOR", "ADMINISTRADOR")
-                .requestMatchers("/professor/**").hasAnyRole("PROFESSOR", "COORDENADOR", "ADMINISTRADOR")
-                .requestMatchers("/aluno/**").hasRole("ALUNO")
+                    .requestMatchers("/admin/**").hasRole("ADMINISTRADOR")
+                    .requestMatchers("/coordenador/**").hasAnyRole("COORDENADOR", "ADMINISTRADOR")
+                    .requestMatchers("/professor/**").hasAnyRole("PROFESSOR", "COORDENADOR", "ADMINISTRADOR")
+                    .requestMatchers("/aluno/**").hasRole("ALUNO")
 
-                .anyRequest().authenticated()
-            )
+                    .anyRequest().authenticated();
+            })
             .formLogin(form -> form
                 .loginPage("/login")
                 .loginProcessingUrl("/login-process")
@@ -56,14 +109,49 @@ public class SecurityConfig {
             .sessionManagement(session -> session
                 .maximumSessions(1)
                 .maxSessionsPreventsLogin(false)
-            );
+            )
+            // Principal da sessão conferido contra o cache, sem consultar o banco
+            .addFilterAfter(new UsuarioAutenticadoFilter(usuarioAutenticadoCache), SecurityContextHolderFilter.class);
 
         return http.build();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    /**
+     * Hashes gravados como "{id}hash"; os antigos, sem prefixo, são BCrypt
+     */
+    @Bean(destroyMethod = "encerrar")
+    public VerificacaoSenhaLimitada passwordEncoder() {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(forcaBcrypt) {
+            /**
+             * O BCryptPasswordEncoder só regrava hashes de custo menor; aqui qualquer custo
+             * diferente do configurado é regravado, inclusive quando o custo foi reduzido
+             */
+            @Override
+            public boolean upgradeEncoding(String senhaHash) {
+                // Formato $2a$NN$...: o custo são os dois dígitos depois do segundo '$'
+                if (senhaHash == null || senhaHash.length() < 7 || senhaHash.charAt(3) != '$') {
+                    return super.upgradeEncoding(senhaHash);
+                }
+                try {
+                    return Integer.parseInt(senhaHash, 4, 6, 10) != forcaBcrypt;
+                } catch (NumberFormatException e) {
+                    return super.upgradeEncoding(senhaHash);
+                }
+            }
+        });
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        if (!encoders.containsKey(algoritmoSenha)) {
+            throw new IllegalStateException("Algoritmo de senha desconhecido: " + algoritmoSenha);
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algoritmoSenha, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(encoders.get("bcrypt"));
+
+        // Sem configuração explícita, uma verificação por núcleo
+        int threads = threadsVerificacao > 0 ? threadsVerificacao : Runtime.getRuntime().availableProcessors();
+        return new VerificacaoSenhaLimitada(delegating, threads, capacidadeFilaVerificacao, timeoutVerificacao);
     }
 
     @Bean
@@ -71,6 +159,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehash transparente quando o algoritmo ou o custo configurado muda
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
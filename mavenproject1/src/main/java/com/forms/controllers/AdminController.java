@@ -1,15 +1,27 @@
 package com.forms.controllers;
 
-import com.forms.models.Usuario;
-import com.forms.security.CustomUserDetailsService;
+import com.forms.models.Avaliacao;
+import com.forms.security.UsuarioAutenticado;
+import com.forms.service.EstatisticaAvaliacaoService;
+import com.forms.service.ExportacaoDadosBrutosService;
+import com.forms.service.ExportacaoDadosBrutosService.Formato;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.util.zip.GZIPOutputStream;
 
 @Controller
 @RequestMapping("/admin")
@@ -17,7 +29,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 public class AdminController {
 
     @Autowired
-    private CustomUserDetailsService userDetailsService;
+    private ExportacaoDadosBrutosService exportacaoDadosBrutosService;
+
+    @Autowired
+    private EstatisticaAvaliacaoService estatisticaService;
     
     // @Autowired
     // private UsuarioService usuarioService;
@@ -29,22 +44,86 @@ public class AdminController {
      * Foco em gestão de sistema e acesso a dados brutos (RF20, RNF04).
      */
     @GetMapping("/dashboard")
-    public String dashboard(@AuthenticationPrincipal UserDetails userDetails, Model model) {
-        String email = userDetails.getUsername();
-        Usuario admin = userDetailsService.loadUsuarioByEmail(email);
-        
+    public String dashboard(@AuthenticationPrincipal UsuarioAutenticado admin, Model model) {
+
         // TODO: Lógica para exibir estatísticas gerais do sistema (contagem de usuários, avaliações, etc.)
 
         model.addAttribute("usuario", admin);
-        model.addAttribute("perfil", admin.getPerfil().getNome());
+        model.addAttribute("perfil", admin.getPerfil());
         model.addAttribute("paginaTitulo", "Dashboard do Administrador");
 
         return "admin/dashboard"; 
     }
     
+    /**
+     * RF20: Download dos dados brutos de uma avaliação em CSV ou NDJSON
+     * O arquivo é gerado em streaming, opcionalmente compactado com gzip
+     */
+    @GetMapping("/dados-brutos")
+    public ResponseEntity<StreamingResponseBody> exportarDadosBrutos(
+            @RequestParam("avaliacaoId") Integer avaliacaoId,
+            @RequestParam(value = "formato", defaultValue = "csv") String formato,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) {
+
+        Formato formatoExportacao;
+        try {
+            formatoExportacao = Formato.valueOf(formato.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Formato de exportação inválido: " + formato);
+        }
+        Avaliacao avaliacao = exportacaoDadosBrutosService.buscarAvaliacao(avaliacaoId);
+
+        String nomeArquivo = "avaliacao-" + avaliacaoId
+            + (formatoExportacao == Formato.CSV ? ".csv" : ".ndjson") + (gzip ? ".gz" : "");
+        MediaType tipo = gzip ? MediaType.parseMediaType("application/gzip")
+            : formatoExportacao == Formato.CSV ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+            : MediaType.parseMediaType("application/x-ndjson;charset=UTF-8");
+
+        StreamingResponseBody corpo = saida -> {
+            if (gzip) {
+                GZIPOutputStream compactado = new GZIPOutputStream(saida, 64 * 1024);
+                exportacaoDadosBrutosService.exportar(avaliacao, formatoExportacao, compactado);
+                compactado.finish();
+            } else {
+                exportacaoDadosBrutosService.exportar(avaliacao, formatoExportacao, saida);
+            }
+        };
+
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(nomeArquivo).build().toString())
+            .contentType(tipo)
+            .body(corpo);
+    }
+
+    /**
+     * Recalcula do zero as estatísticas agregadas de todas as avaliações
+     */
+    @PostMapping("/estatisticas/reconstruir")
+    public String reconstruirEstatisticas(RedirectAttributes redirectAttributes) {
+        int avaliacoes = estatisticaService.reconstruirTodas();
+        redirectAttributes.addFlashAttribute("success",
+            "Estatísticas reconstruídas para " + avaliacoes + " avaliações");
+        return "redirect:/admin/dashboard";
+    }
+
+    /**
+     * Compara as estatísticas agregadas com as respostas gravadas
+     */
+    @PostMapping("/estatisticas/verificar")
+    public String verificarEstatisticas(RedirectAttributes redirectAttributes) {
+        long divergentes = estatisticaService.verificarTodas();
+        if (divergentes == 0) {
+            redirectAttributes.addFlashAttribute("success", "Estatísticas consistentes com as respostas");
+        } else {
+            redirectAttributes.addFlashAttribute("error",
+                divergentes + " contadores divergentes encontrados nas estatísticas");
+        }
+        return "redirect:/admin/dashboard";
+    }
+
     // Próximos métodos a implementar:
     // 1. Gestão de Usuários: @GetMapping("/gestao/usuarios")
     // 2. Gestão de Perfis: @GetMapping("/gestao/perfis")
     // 3. Auditoria/Logs: @GetMapping("/auditoria") (RNF04)
-    // 4. Acesso a Dados Brutos: @GetMapping("/dados-brutos") (RF20)
 }
@@ -1,26 +1,40 @@
 package com.forms.controllers;
 
-import com.forms.models.Turma;
-import com.forms.models.Usuario;
-import com.forms.models.Avaliacao;
-import com.forms.models.Questao;
-import com.forms.repository.AvaliacaoRepository;
-import com.forms.repository.QuestaoRepository;
-import com.forms.security.CustomUserDetailsService;
-
-import java.time.LocalDateTime;
+import com.forms.dto.AvaliacaoAlunoDTO;
+import com.forms.dto.RespostaSubmetida;
+import com.forms.dto.FormularioDTO;
+import com.forms.security.UsuarioAutenticado;
+import com.forms.service.AvaliacaoRespostaService;
+import com.forms.service.AvaliacaoService;
+import com.forms.service.FormularioService;
+import com.forms.service.IngestaoRespostaService;
+
+import jakarta.servlet.http.HttpServletRequest;
+
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 @Controller
 @RequestMapping("/aluno")
@@ -28,51 +42,156 @@ import org.springframework.web.bind.annotation.RequestMapping;
 public class AlunoController {
 
     @Autowired
-    private CustomUserDetailsService userDetailsService;
+    private FormularioService formularioService;
 
     @Autowired
-    private AvaliacaoRepository avaliacaoRepository;
+    private IngestaoRespostaService ingestaoRespostaService;
+    
+    @Autowired
+    private AvaliacaoService avaliacaoService;
 
     @Autowired
-    private QuestaoRepository questaoRepository;
-    
-    // @Autowired 
-    // private AvaliacaoService avaliacaoService; 
+    private AvaliacaoRespostaService avaliacaoRespostaService;
 
     /**
      * Tela inicial/Dashboard do Aluno.
      * RF12: O aluno deve ter acesso apenas às avaliações das turmas em que está matriculado.
      */
     @GetMapping("/dashboard")
-    public String dashboard(@AuthenticationPrincipal UserDetails userDetails, Model model) {
-        String email = userDetails.getUsername();
-        Usuario aluno = userDetailsService.loadUsuarioByEmail(email);
-
-        List<Avaliacao> avaliacoesPendentes = new ArrayList<Avaliacao>();
-
-        for(Turma turma : aluno.getTurmasComoAluno()) {
-            LocalDateTime agora = LocalDateTime.now();
-            avaliacoesPendentes.addAll(avaliacaoRepository.findAvaliacoesAtivasPorTurma(turma.getId(), agora));
+    public String dashboard(@AuthenticationPrincipal UsuarioAutenticado aluno, Model model) {
+        List<AvaliacaoAlunoDTO> avaliacoesPendentes = new ArrayList<>();
+        List<AvaliacaoAlunoDTO> avaliacoesRespondidas = new ArrayList<>();
+
+        for (AvaliacaoAlunoDTO avaliacao : avaliacaoService.listarAvaliacoesAtivasDoAluno(aluno.getId(), aluno.getTurmaIdsComoAluno())) {
+            if (avaliacao.getCompleta()) {
+                avaliacoesRespondidas.add(avaliacao);
+            } else {
+                avaliacoesPendentes.add(avaliacao);
+            }
         }
-        
-        // TODO: Implementar a lógica para buscar as avaliações ativas para este aluno (RF12)
 
         model.addAttribute("usuario", aluno);
         model.addAttribute("avaliacoesPendentes", avaliacoesPendentes);
+        model.addAttribute("avaliacoesRespondidas", avaliacoesRespondidas);
         model.addAttribute("paginaTitulo", "Dashboard do Aluno");
 
         return "aluno/dashboard"; 
     }
 
     @GetMapping("/avaliacao/{id}")
-    public String avaliacao(@PathVariable int id, Model model) {
-        Avaliacao a = avaliacaoRepository.findById(id).get();
-        List<Questao> q = questaoRepository.findByAvaliacaoOrderByOrdemDesc(a);
+    public String avaliacao(@AuthenticationPrincipal UsuarioAutenticado aluno, @PathVariable int id, Model model) {
+        FormularioDTO formulario = formularioDaTurma(aluno, id);
+
+        model.addAttribute("avaliacao", formulario);
+        model.addAttribute("questoes", formulario.getQuestoes());
+        // Um reenvio deste formulário (duplo clique, retry) é reconhecido pela chave
+        model.addAttribute("chaveSubmissao", UUID.randomUUID().toString());
+
+        return "aluno/avaliacao";
+    }
+
+    /**
+     * Recebe o formulário inteiro em uma única requisição.
+     * Os campos chegam como opcoes_{questaoId} (múltipla escolha) e texto_{questaoId} (aberta).
+     */
+    @PostMapping("/avaliacao/{id}/responder")
+    public String responder(@AuthenticationPrincipal UsuarioAutenticado aluno,
+                            @PathVariable Integer id,
+                            @RequestParam(required = false) String chaveSubmissao,
+                            @RequestParam MultiValueMap<String, String> parametros,
+                            HttpServletRequest request,
+                            RedirectAttributes redirectAttributes) {
+
+        try {
+            formularioDaTurma(aluno, id);
+            if (chaveSubmissao != null && chaveSubmissao.length() > 36) {
+                throw new IllegalArgumentException("Chave de submissão inválida");
+            }
+            ingestaoRespostaService.submeter(id, aluno.getId(), extrairRespostas(parametros),
+                request.getRemoteAddr(), chaveSubmissao);
+            redirectAttributes.addFlashAttribute("success", "Respostas enviadas com sucesso!");
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            redirectAttributes.addFlashAttribute("error", "Erro: " + e.getMessage());
+            return "redirect:/aluno/avaliacao/" + id;
+        }
+
+        return "redirect:/aluno/dashboard";
+    }
 
-        model.addAttribute("avaliacao", a);
-        model.addAttribute("questoes", q);
+    /**
+     * Autosave do formulário: o corpo traz só as questões alteradas desde o último salvamento,
+     * no formato {"questaoId": {"opcaoIds": [...], "textoResposta": "..."}}
+     * Uma questão em branco é retirada do rascunho.
+     */
+    @PostMapping(path = "/avaliacao/{id}/rascunho", consumes = MediaType.APPLICATION_JSON_VALUE,
+                 produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> salvarRascunho(@AuthenticationPrincipal UsuarioAutenticado aluno,
+                                                              @PathVariable Integer id,
+                                                              @RequestBody Map<Integer, RespostaSubmetida> alteradas,
+                                                              HttpServletRequest request) {
+        try {
+            formularioDaTurma(aluno, id);
+            avaliacaoRespostaService.salvarRascunho(id, aluno.getId(), alteradas, request.getRemoteAddr());
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("erro", e.getMessage()));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("erro", e.getMessage()));
+        }
+        return ResponseEntity.ok(Map.of("salvas", alteradas.size()));
+    }
+
+    /**
+     * Rascunho salvo, no mesmo formato do autosave, para preencher o formulário ao reabri-lo
+     */
+    @GetMapping(path = "/avaliacao/{id}/rascunho", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<Map<Integer, RespostaSubmetida>> rascunho(@AuthenticationPrincipal UsuarioAutenticado aluno,
+                                                                    @PathVariable Integer id) {
+        try {
+            formularioDaTurma(aluno, id);
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(avaliacaoRespostaService.buscarRascunho(id, aluno.getId()));
+    }
+
+    /**
+     * RF12: só o aluno matriculado na turma da avaliação pode abri-la ou respondê-la
+     * A turma vem do snapshot em cache, sem consulta por requisição
+     */
+    private FormularioDTO formularioDaTurma(UsuarioAutenticado aluno, Integer avaliacaoId) {
+        FormularioDTO formulario = formularioService.buscarFormulario(avaliacaoId);
+        if (formulario.getTurmaId() == null || !aluno.getTurmaIdsComoAluno().contains(formulario.getTurmaId())) {
+            throw new AccessDeniedException("Aluno não matriculado na turma desta avaliação");
+        }
+        return formulario;
+    }
+
+    private Map<Integer, RespostaSubmetida> extrairRespostas(MultiValueMap<String, String> parametros) {
+        Map<Integer, RespostaSubmetida> respostas = new HashMap<>();
+
+        for (Map.Entry<String, List<String>> campo : parametros.entrySet()) {
+            String nome = campo.getKey();
+
+            try {
+                if (nome.startsWith("opcoes_")) {
+                    Integer questaoId = Integer.valueOf(nome.substring("opcoes_".length()));
+                    RespostaSubmetida resposta = respostas.computeIfAbsent(questaoId, k -> new RespostaSubmetida());
+                    for (String valor : campo.getValue()) {
+                        resposta.getOpcaoIds().add(Integer.valueOf(valor));
+                    }
+                } else if (nome.startsWith("texto_")) {
+                    Integer questaoId = Integer.valueOf(nome.substring("texto_".length()));
+                    respostas.computeIfAbsent(questaoId, k -> new RespostaSubmetida())
+                        .setTextoResposta(campo.getValue().get(0));
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Campo de resposta inválido: " + nome);
+            }
+        }
 
-        return "/aluno/avaliacao";
+        return respostas;
     }
 
 }
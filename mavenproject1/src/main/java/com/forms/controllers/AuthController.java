@@ -1,11 +1,7 @@
 package com.forms.controllers;
 
-import com.forms.models.Usuario;
-import com.forms.security.CustomUserDetailsService;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
+import com.forms.security.UsuarioAutenticado;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,19 +12,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 @Controller
 public class AuthController {
 
-    @Autowired
-    private CustomUserDetailsService userDetailsService;
-
     @GetMapping("/home")
-    public String home(Authentication authentication, Model model) {
-        if (authentication != null && authentication.isAuthenticated()) {
-            String email = authentication.getName();
-            Usuario usuario = userDetailsService.loadUsuarioByEmail(email);
-
+    public String home(@AuthenticationPrincipal UsuarioAutenticado usuario, Model model) {
+        if (usuario != null) {
             model.addAttribute("usuario", usuario);
-            model.addAttribute("perfil", usuario.getPerfil().getNome());
+            model.addAttribute("perfil", usuario.getPerfil());
 
-            switch (usuario.getPerfil().getNome()) {
+            switch (usuario.getPerfil()) {
                 case "ALUNO":
                     return "redirect:/aluno/dashboard";
                 case "PROFESSOR":
@@ -45,10 +35,8 @@ public class AuthController {
     }
 
     @GetMapping("/perfil")
-    public String perfil(@AuthenticationPrincipal UserDetails userDetails, Model model) {
-        if (userDetails != null) {
-            String email = userDetails.getUsername();
-            Usuario usuario = userDetailsService.loadUsuarioByEmail(email);
+    public String perfil(@AuthenticationPrincipal UsuarioAutenticado usuario, Model model) {
+        if (usuario != null) {
             model.addAttribute("usuario", usuario);
             return "perfil";
         }
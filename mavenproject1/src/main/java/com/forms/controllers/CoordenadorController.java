@@ -1,41 +1,76 @@
 package com.forms.controllers;
 
+import com.forms.dto.FiltroGestaoCursos;
+import com.forms.dto.ResultadoMatriculaDTO;
+import com.forms.dto.UsuarioResumoDTO;
 import com.forms.models.Usuario;
 import com.forms.models.Curso;
 import com.forms.models.Perfil;
 import com.forms.models.UnidadeCurricular;
 import com.forms.models.Turma;
-import com.forms.security.CustomUserDetailsService;
+import com.forms.security.UsuarioAutenticado;
+import com.forms.service.AvaliacaoService;
 import com.forms.service.CursoService;
+import com.forms.service.MatriculaTurmaService;
 import com.forms.service.UnidadeCurricularService;
 import com.forms.service.TurmaService;
 import com.forms.service.UsuarioService;
 import com.forms.service.PerfilService; 
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import jakarta.validation.Valid;
 import org.springframework.validation.BindingResult;
 
-import java.util.HashSet;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 
 @Controller
 @RequestMapping("/coordenador")
 @PreAuthorize("hasAnyRole('COORDENADOR', 'ADMINISTRADOR')")
 public class CoordenadorController {
 
-    @Autowired
-    private CustomUserDetailsService userDetailsService;
-    
+    /**
+     * Usuários carregados por vez nos selects e no type-ahead da gestão de turmas
+     */
+    private static final int TAMANHO_PAGINA_USUARIOS = 50;
+
+    private static final int TAMANHO_PAGINA = 20;
+
+    // Colunas ordenáveis de cada tabela da gestão de cursos e as propriedades correspondentes
+    private static final Map<String, List<String>> ORDEM_CURSOS = Map.of(
+        "id", List.of("id"),
+        "nome", List.of("nome"));
+
+    private static final Map<String, List<String>> ORDEM_UCS = Map.of(
+        "id", List.of("id"),
+        "nome", List.of("nome"),
+        "tipo", List.of("tipo"),
+        "curso", List.of("c.nome"));
+
+    private static final Map<String, List<String>> ORDEM_TURMAS = Map.of(
+        "id", List.of("id"),
+        "uc", List.of("u.nome"),
+        "professor", List.of("p.nome"),
+        "periodo", List.of("ano", "semestre"));
+
     @Autowired
     private CursoService cursoService;
     
@@ -45,11 +80,17 @@ public class CoordenadorController {
     @Autowired
     private TurmaService turmaService;
 
+    @Autowired
+    private MatriculaTurmaService matriculaTurmaService;
+
     @Autowired 
     private UsuarioService usuarioService;
 
     @Autowired 
     private PerfilService perfilService;
+
+    @Autowired
+    private AvaliacaoService avaliacaoService;
     
     // @Autowired
     // private RelatorioService relatorioService; 
@@ -58,14 +99,12 @@ public class CoordenadorController {
      * Tela inicial/Dashboard do Coordenador.
      */
     @GetMapping("/dashboard")
-    public String dashboard(@AuthenticationPrincipal UserDetails userDetails, Model model) {
-        String email = userDetails.getUsername();
-        Usuario coordenador = userDetailsService.loadUsuarioByEmail(email);
-        
-        // TODO: Lógica para buscar Cursos sob sua coordenação (RF04) e avaliações em andamento.
+    public String dashboard(@AuthenticationPrincipal UsuarioAutenticado coordenador, Model model) {
+        // TODO: Lógica para buscar Cursos sob sua coordenação (RF04).
 
         model.addAttribute("usuario", coordenador);
-        model.addAttribute("perfil", coordenador.getPerfil().getNome());
+        model.addAttribute("avaliacoesAtivas", avaliacaoService.listarAtivas());
+        model.addAttribute("perfil", coordenador.getPerfil());
         model.addAttribute("paginaTitulo", "Dashboard do Coordenador");
 
         return "coordenador/dashboard"; 
@@ -73,31 +112,36 @@ public class CoordenadorController {
     
     /**
      * 1. Gerenciar Cursos, UCs e Turmas (RF04, RF05).
+     * Cada tabela é paginada, ordenável e filtrável; só a página exibida é carregada,
+     * com as associações mostradas na tabela buscadas na mesma consulta.
      */
     @GetMapping("/gestao/cursos")
-    public String gerenciarCursos(
-            @RequestParam(value = "cursoId", required = false) Integer cursoId,
-            @RequestParam(value = "ucId", required = false) Integer ucId,
-            @RequestParam(value = "turmaId", required = false) Integer turmaId,
-            Model model) {
-        
-        // Listar todos os dados para visualização
-        model.addAttribute("cursos", cursoService.listarTodos());
-        model.addAttribute("ucs", ucService.listarTodos());
-        model.addAttribute("turmas", turmaService.listarTodas());
+    public String gerenciarCursos(@ModelAttribute("filtro") FiltroGestaoCursos filtro, Model model) {
+
+        model.addAttribute("cursos", cursoService.listar(filtro.getCursoBusca(),
+            pagina(filtro.getCursoPagina(), filtro.getCursoOrdem(), ORDEM_CURSOS, "nome")));
+        model.addAttribute("ucs", ucService.listar(filtro.getUcBusca(), filtro.getUcCursoId(),
+            pagina(filtro.getUcPagina(), filtro.getUcOrdem(), ORDEM_UCS, "nome")));
+        model.addAttribute("turmas", turmaService.listar(filtro.getTurmaAno(), filtro.getTurmaSemestre(),
+            filtro.getTurmaUcId(), pagina(filtro.getTurmaPagina(), filtro.getTurmaOrdem(), ORDEM_TURMAS, "-periodo")));
+
+        // Selects dos formulários e filtros: só id e nome
+        model.addAttribute("cursosSelecao", cursoService.listarParaSelecao());
+        model.addAttribute("ucsSelecao", ucService.listarParaSelecao());
         
-        // Buscar usuários com perfil PROFESSOR e ALUNO
+        // Primeira página de usuários com perfil PROFESSOR e ALUNO; o restante vem pelo type-ahead
         Optional<Perfil> perfilProfessor = perfilService.buscarPorNome("PROFESSOR");
         Optional<Perfil> perfilAluno = perfilService.buscarPorNome("ALUNO");
+        PageRequest primeiraPagina = PageRequest.of(0, TAMANHO_PAGINA_USUARIOS);
 
         if (perfilProfessor.isPresent()) {
-            model.addAttribute("professores", usuarioService.listarPorPerfil(perfilProfessor.get()));
+            model.addAttribute("professores", usuarioService.listarPorPerfil(perfilProfessor.get(), primeiraPagina).getContent());
         } else {
             System.out.println("ERRO: Perfil PROFESSOR não encontrado no banco.");
         }
 
         if (perfilAluno.isPresent()) {
-            model.addAttribute("alunos", usuarioService.listarPorPerfil(perfilAluno.get()));
+            model.addAttribute("alunos", usuarioService.listarPorPerfil(perfilAluno.get(), primeiraPagina).getContent());
         } else {
             System.out.println("ERRO: Perfil ALUNO não encontrado no banco.");
         }
@@ -111,6 +155,27 @@ public class CoordenadorController {
         return "coordenador/gestaoCursos"; 
     }
 
+    /**
+     * Type-ahead dos selects de professor e aluno: uma página por chamada
+     */
+    @GetMapping(value = "/usuarios/busca", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Map<String, Object> buscarUsuarios(
+            @RequestParam("perfil") String nomePerfil,
+            @RequestParam(value = "q", defaultValue = "") String termo,
+            @RequestParam(value = "pagina", defaultValue = "0") int pagina) {
+
+        if (!"PROFESSOR".equals(nomePerfil) && !"ALUNO".equals(nomePerfil)) {
+            throw new IllegalArgumentException("Perfil inválido para busca: " + nomePerfil);
+        }
+        Perfil perfil = perfilService.buscarPorNome(nomePerfil)
+            .orElseThrow(() -> new IllegalArgumentException("Perfil não encontrado: " + nomePerfil));
+
+        Slice<UsuarioResumoDTO> usuarios = usuarioService.buscarPorPerfil(perfil, termo,
+            PageRequest.of(Math.max(pagina, 0), TAMANHO_PAGINA_USUARIOS));
+        return Map.of("usuarios", usuarios.getContent(), "temMais", usuarios.hasNext());
+    }
+
     // =========================================================================
     // CRUD CURSO (RF04)
     // =========================================================================
@@ -224,24 +289,10 @@ public class CoordenadorController {
             novaTurma.setProfessor(professor);
             novaTurma.setUc(uc);
 
-            // 4. Gerencia a lista de alunos
-            if (alunoIds != null && !alunoIds.isEmpty()) {
-                Set<Usuario> alunosSet = new HashSet<>(); 
-                
-                for (Integer alunoId : alunoIds) {
-                    Usuario aluno = usuarioService.buscarPorId(alunoId).orElse(null);
-                    if (aluno != null) {
-                        alunosSet.add(aluno);
-                    }
-                }
-                novaTurma.setAlunos(alunosSet);
-            }
-            
-            // 5. Salva UMA VEZ a turma contendo VÁRIOS alunos
-            turmaService.salvar(novaTurma);
-            
-            int qtdAlunos = (novaTurma.getAlunos() != null) ? novaTurma.getAlunos().size() : 0;
-            redirectAttributes.addFlashAttribute("success", "Turma salva com sucesso com " + qtdAlunos + " aluno(s) matriculado(s)!");
+            // 4. Salva a turma; os alunos são matriculados pelo diff com a matrícula atual
+            ResultadoMatriculaDTO resultado = turmaService.salvar(novaTurma, alunoIds);
+
+            redirectAttributes.addFlashAttribute("success", "Turma salva com sucesso! " + resultado.getResumo());
             
         } catch (IllegalArgumentException e) {
             redirectAttributes.addFlashAttribute("error", "Erro: " + e.getMessage());
@@ -250,6 +301,75 @@ public class CoordenadorController {
         return "redirect:/coordenador/gestao/cursos";
     }
 
+    /**
+     * Matrícula em lote por matrícula/SIAPE: lista digitada e/ou arquivo CSV (RF05)
+     */
+    @PostMapping("/turma/{id}/matriculas")
+    public String matricularEmLote(
+            @PathVariable Integer id,
+            @RequestParam(value = "matriculas", required = false) String matriculas,
+            @RequestParam(value = "arquivo", required = false) MultipartFile arquivo,
+            @RequestParam(value = "substituir", defaultValue = "false") boolean substituir,
+            RedirectAttributes redirectAttributes) {
+
+        try {
+            ResultadoMatriculaDTO resultado = matriculaTurmaService.importar(id, lerMatriculas(matriculas, arquivo), substituir);
+            redirectAttributes.addFlashAttribute("success", resultado.getResumo());
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("error", "Erro: " + e.getMessage());
+        } catch (IOException e) {
+            redirectAttributes.addFlashAttribute("error", "Não foi possível ler o arquivo enviado.");
+        }
+        return "redirect:/coordenador/gestao/cursos";
+    }
+
+    /**
+     * Mesma matrícula em lote para clientes que pedem JSON (ex.: scripts de secretaria)
+     */
+    @PostMapping(value = "/turma/{id}/matriculas", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResultadoMatriculaDTO matricularEmLoteJson(
+            @PathVariable Integer id,
+            @RequestParam(value = "matriculas", required = false) String matriculas,
+            @RequestParam(value = "arquivo", required = false) MultipartFile arquivo,
+            @RequestParam(value = "substituir", defaultValue = "false") boolean substituir) throws IOException {
+
+        return matriculaTurmaService.importar(id, lerMatriculas(matriculas, arquivo), substituir);
+    }
+
+    /**
+     * Página ordenada pelo campo pedido ("-campo" para decrescente); campos fora da lista usam o padrão
+     */
+    private static Pageable pagina(int numero, String ordem, Map<String, List<String>> campos, String padrao) {
+        String campo = ordem != null && campos.containsKey(ordem.replaceFirst("^-", "")) ? ordem : padrao;
+        Sort.Direction direcao = campo.startsWith("-") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        List<String> propriedades = campos.get(campo.replaceFirst("^-", ""));
+
+        // ID no fim garante uma ordem estável entre páginas
+        Sort sort = Sort.by(direcao, propriedades.toArray(new String[0])).and(Sort.by("id"));
+        return PageRequest.of(numero, TAMANHO_PAGINA, sort);
+    }
+
+    private List<String> lerMatriculas(String matriculas, MultipartFile arquivo) throws IOException {
+        List<String> lidas = new ArrayList<>();
+        if (matriculas != null) {
+            for (String matricula : matriculas.split("[\\s,;]+")) {
+                if (!matricula.isBlank()) {
+                    lidas.add(matricula.strip());
+                }
+            }
+        }
+        if (arquivo != null && !arquivo.isEmpty()) {
+            try (Reader reader = new InputStreamReader(arquivo.getInputStream(), StandardCharsets.UTF_8)) {
+                lidas.addAll(matriculaTurmaService.lerMatriculas(reader));
+            }
+        }
+        if (lidas.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma matrícula/SIAPE.");
+        }
+        return lidas;
+    }
+
     @GetMapping("/turma/deletar/{id}")
     public String deletarTurma(@PathVariable Integer id, RedirectAttributes redirectAttributes) {
         try {
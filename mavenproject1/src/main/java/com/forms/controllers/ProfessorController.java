@@ -1,27 +1,30 @@
 package com.forms.controllers;
 
+import com.forms.dto.FormularioDTO;
+import com.forms.dto.OpcaoResumoDTO;
+import com.forms.dto.QuestaoResumoDTO;
 import com.forms.models.Avaliacao;
 import com.forms.models.OpcaoResposta;
 import com.forms.models.Questao;
 import com.forms.models.TipoQuestao;
-import com.forms.models.Turma;
-import com.forms.models.Usuario;
-import com.forms.repository.AvaliacaoRepository;
-import com.forms.repository.OpcaoRespostaRepository;
-import com.forms.repository.QuestaoRepository;
-import com.forms.repository.TurmaRepository;
-import com.forms.security.CustomUserDetailsService;
+import com.forms.repository.UsuarioRepository;
+import com.forms.security.UsuarioAutenticado;
+import com.forms.service.AvaliacaoService;
+import com.forms.service.FormularioService;
+import com.forms.service.ProgressoRespostasService;
+import com.forms.service.QuestaoService;
+import com.forms.service.TurmaService;
 
 import jakarta.validation.Valid;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -30,6 +33,8 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 @Controller
@@ -38,22 +43,22 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 public class ProfessorController {
 
     @Autowired
-    private CustomUserDetailsService userDetailsService;
+    private UsuarioRepository usuarioRepository;
 
     @Autowired
-    private AvaliacaoRepository avaliacaoRepository;
+    private AvaliacaoService avaliacaoService;
 
     @Autowired
-    private TurmaRepository turmaRepository;
+    private FormularioService formularioService;
 
     @Autowired
-    private QuestaoRepository questaoRepository;
+    private QuestaoService questaoService;
+    
+    @Autowired
+    private TurmaService turmaService;
 
     @Autowired
-    private OpcaoRespostaRepository opcaoRepository;
-    
-    // @Autowired
-    // private TurmaService turmaService;
+    private ProgressoRespostasService progressoRespostasService;
     
     /**
      * Tela inicial/Dashboard do Professor.
@@ -61,40 +66,52 @@ public class ProfessorController {
      */
 
     @GetMapping("/dashboard")
-    public String dashboard(@AuthenticationPrincipal UserDetails userDetails, Model model) {
-        String email = userDetails.getUsername();
-        Usuario professor = userDetailsService.loadUsuarioByEmail(email);
-
-        List<Avaliacao> avaliacoes = avaliacaoRepository.findByCriador(professor);
-
-        model.addAttribute("usuario", professor);
-        model.addAttribute("perfil", professor.getPerfil().getNome());
+    public String dashboard(@AuthenticationPrincipal UsuarioAutenticado usuario, Model model) {
+        model.addAttribute("usuario", usuario);
+        model.addAttribute("perfil", usuario.getPerfil());
         model.addAttribute("paginaTitulo", "Dashboard do Professor");
         
-        model.addAttribute("avaliacoes", avaliacoes); 
+        model.addAttribute("avaliacoes", avaliacaoService.listarPorCriador(usuario.getId())); 
 
-        model.addAttribute("turmasComoProfessor", professor.getTurmasComoProfessor());
+        model.addAttribute("turmasComoProfessor", turmaService.listarResumosPorProfessor(usuario.getId()));
 
         return "professor/dashboard";
     }
 
-    @GetMapping("/avaliacao/criar")
-    public String formCriarAvaliacao(@AuthenticationPrincipal UserDetails userDetails, Model model) {
-        String email = userDetails.getUsername();
-        Usuario professor = userDetailsService.loadUsuarioByEmail(email);
-
-        // Busca apenas as turmas desse professor
-        List<Turma> minhasTurmas = turmaRepository.findByProfessor(professor);
+    /**
+     * Quantos alunos iniciaram e completaram a avaliação, em tempo real (Server-Sent Events)
+     * Cada mudança chega como evento "progresso" com {"iniciadas": n, "completas": n}
+     * Só o criador da avaliação, os professores da turma, coordenadores e administradores acompanham.
+     */
+    @GetMapping(path = "/avaliacao/{id}/progresso", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public ResponseEntity<SseEmitter> progresso(@AuthenticationPrincipal UsuarioAutenticado usuario,
+                                                @PathVariable Integer id) {
+        boolean permitido;
+        try {
+            permitido = "COORDENADOR".equals(usuario.getPerfil()) || "ADMINISTRADOR".equals(usuario.getPerfil())
+                || avaliacaoService.isResponsavel(id, usuario.getId(), usuario.getTurmaIdsComoProfessor());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!permitido) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(progressoRespostasService.inscrever(id));
+    }
 
+    @GetMapping("/avaliacao/criar")
+    public String formCriarAvaliacao(@AuthenticationPrincipal UsuarioAutenticado usuario, Model model) {
         model.addAttribute("avaliacao", new Avaliacao());
-        model.addAttribute("turmas", minhasTurmas); 
+        // Busca apenas as turmas desse professor
+        model.addAttribute("turmas", turmaService.listarResumosPorProfessor(usuario.getId())); 
         model.addAttribute("paginaTitulo", "Nova Avaliação");
         
         return "professor/formAvaliacao";
     }
 
     @PostMapping("/avaliacao/salvar")
-    public String salvarAvaliacao(@AuthenticationPrincipal UserDetails userDetails,
+    public String salvarAvaliacao(@AuthenticationPrincipal UsuarioAutenticado usuario,
                                 @Valid @ModelAttribute Avaliacao avaliacao,
                                 BindingResult result,
                                 RedirectAttributes redirectAttributes) {
@@ -104,11 +121,9 @@ public class ProfessorController {
         }
 
         // Define o criador como o usuário logado (Professor)
-        String email = userDetails.getUsername();
-        Usuario professor = userDetailsService.loadUsuarioByEmail(email);
-        avaliacao.setCriador(professor);
+        avaliacao.setCriador(usuarioRepository.getReferenceById(usuario.getId()));
 
-        avaliacaoRepository.save(avaliacao);
+        avaliacaoService.salvar(avaliacao);
         
         redirectAttributes.addFlashAttribute("success", "Avaliação criada! Agora adicione as questões.");
         
@@ -118,10 +133,11 @@ public class ProfessorController {
 
     @GetMapping("/avaliacao/{id}/questoes")
     public String gerenciarQuestoes(@PathVariable Integer id, Model model) {
-        Avaliacao avaliacao = avaliacaoRepository.findById(id).get();
+        // Mesmo snapshot da página de resposta, invalidado a cada questão ou opção nova
+        FormularioDTO formulario = formularioService.buscarFormulario(id);
 
-        model.addAttribute("avaliacao", avaliacao);
-        model.addAttribute("questoes", questaoRepository.findByAvaliacaoOrderByOrdemAsc(avaliacao));
+        model.addAttribute("avaliacao", formulario);
+        model.addAttribute("questoes", formulario.getQuestoes());
         
         model.addAttribute("novaQuestao", new Questao());
         
@@ -133,16 +149,7 @@ public class ProfessorController {
                                 @ModelAttribute Questao questao,
                                 RedirectAttributes redirectAttributes) {
         
-        Avaliacao avaliacao = avaliacaoRepository.findById(id).get();
-        Questao novaQuestao = new Questao();
-        
-        novaQuestao.setTexto(questao.getTexto());
-        novaQuestao.setTipo(questao.getTipo());
-        novaQuestao.setAvaliacao(avaliacao);
-        
-        novaQuestao.setOrdem(avaliacao.getQuestoes().size() + 1);
-        
-        questaoRepository.save(novaQuestao);
+        questaoService.adicionarQuestao(id, questao.getTexto(), questao.getTipo());
         
         return "redirect:/professor/avaliacao/" + id + "/questoes";
     }
@@ -152,34 +159,24 @@ public class ProfessorController {
                                 @ModelAttribute OpcaoResposta opcao,
                                 RedirectAttributes redirectAttributes) {
         
-        Questao questao = questaoRepository.findById(id).get();
-
-        OpcaoResposta op = new OpcaoResposta();
-
-        op.setIsCorreta(opcao.getIsCorreta());
-        op.setTexto(opcao.getTexto());
-        op.setQuestao(questao);
-        op.setOrdem(questao.getOpcoes().size() + 1);
-        
-        opcaoRepository.save(op);
+        questaoService.adicionarOpcao(id, opcao.getTexto(), opcao.getIsCorreta());
         
         return "redirect:/professor/avaliacao/questao/" + id;
     }
 
     @GetMapping("/avaliacao/questao/{questaoId}")
     public String gerenciarOpcoes(@PathVariable Integer questaoId, Model model) {
-        Questao q = questaoRepository.findById(questaoId).get();
+        QuestaoResumoDTO q = questaoService.buscarResumo(questaoId);
+        List<OpcaoResumoDTO> opcoes = questaoService.listarOpcoes(questaoId);
         boolean questaoCorreta = false;
 
         if(q.getTipo() == TipoQuestao.MULTIPLA_ESCOLHA_UNICA) {
-            if(opcaoRepository.findByQuestaoAndIsCorreta(q, true).isPresent()) {
-                questaoCorreta = true;
-            }
+            questaoCorreta = opcoes.stream().anyMatch(OpcaoResumoDTO::getIsCorreta);
         }
 
         model.addAttribute("questao", q);
 
-        model.addAttribute("opcoes", opcaoRepository.findByQuestao(q));
+        model.addAttribute("opcoes", opcoes);
         
         model.addAttribute("opcao", new OpcaoResposta());
         model.addAttribute("opcaoCorreta", questaoCorreta);
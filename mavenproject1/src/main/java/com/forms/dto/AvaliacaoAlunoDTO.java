@@ -0,0 +1,74 @@
+package com.forms.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção de uma avaliação ativa para o dashboard do aluno
+ * Carregada direto pela consulta, sem hidratar Avaliacao/Turma/UC
+ */
+public class AvaliacaoAlunoDTO {
+
+    private final Integer id;
+    private final String titulo;
+    private final String ucNome;
+    private final LocalDateTime dataInicio;
+    private final LocalDateTime dataFim;
+    private final Boolean anonima;
+    private final Boolean permiteEdicao;
+
+    /**
+     * Indica se o aluno já finalizou esta avaliação (AvaliacaoRespostaTracking.completa)
+     */
+    private final Boolean completa;
+
+    public AvaliacaoAlunoDTO(Integer id, String titulo, String ucNome, LocalDateTime dataInicio,
+            LocalDateTime dataFim, Boolean anonima, Boolean permiteEdicao, Boolean completa) {
+        this.id = id;
+        this.titulo = titulo;
+        this.ucNome = ucNome;
+        this.dataInicio = dataInicio;
+        this.dataFim = dataFim;
+        this.anonima = anonima;
+        this.permiteEdicao = permiteEdicao;
+        this.completa = completa;
+    }
+
+    public AvaliacaoAlunoDTO(AvaliacaoResumoDTO resumo, Boolean completa) {
+        this(resumo.getId(), resumo.getTitulo(), resumo.getUcNome(), resumo.getDataInicio(),
+            resumo.getDataFim(), resumo.getAnonima(), resumo.getPermiteEdicao(), completa);
+    }
+
+    // Getters
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public String getUcNome() {
+        return ucNome;
+    }
+
+    public LocalDateTime getDataInicio() {
+        return dataInicio;
+    }
+
+    public LocalDateTime getDataFim() {
+        return dataFim;
+    }
+
+    public Boolean getAnonima() {
+        return anonima;
+    }
+
+    public Boolean getPermiteEdicao() {
+        return permiteEdicao;
+    }
+
+    public Boolean getCompleta() {
+        return completa;
+    }
+}
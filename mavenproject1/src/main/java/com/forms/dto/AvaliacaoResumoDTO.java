@@ -0,0 +1,71 @@
+package com.forms.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumo imutável de uma avaliação mantido pelo índice de avaliações ativas
+ */
+public class AvaliacaoResumoDTO {
+
+    private final Integer id;
+    private final Integer turmaId;
+    private final String titulo;
+    private final String ucNome;
+    private final LocalDateTime dataInicio;
+    private final LocalDateTime dataFim;
+    private final Boolean anonima;
+    private final Boolean permiteEdicao;
+
+    public AvaliacaoResumoDTO(Integer id, Integer turmaId, String titulo, String ucNome,
+            LocalDateTime dataInicio, LocalDateTime dataFim, Boolean anonima, Boolean permiteEdicao) {
+        this.id = id;
+        this.turmaId = turmaId;
+        this.titulo = titulo;
+        this.ucNome = ucNome;
+        this.dataInicio = dataInicio;
+        this.dataFim = dataFim;
+        this.anonima = anonima;
+        this.permiteEdicao = permiteEdicao;
+    }
+
+    // Getters
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Integer getTurmaId() {
+        return turmaId;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public String getUcNome() {
+        return ucNome;
+    }
+
+    public LocalDateTime getDataInicio() {
+        return dataInicio;
+    }
+
+    public LocalDateTime getDataFim() {
+        return dataFim;
+    }
+
+    public Boolean getAnonima() {
+        return anonima;
+    }
+
+    public Boolean getPermiteEdicao() {
+        return permiteEdicao;
+    }
+
+    /**
+     * Mesma regra de AvaliacaoRepository.findAvaliacoesAtivas: dataInicio <= agora <= dataFim
+     */
+    public boolean isAtivaEm(LocalDateTime agora) {
+        return !dataInicio.isAfter(agora) && !dataFim.isBefore(agora);
+    }
+}
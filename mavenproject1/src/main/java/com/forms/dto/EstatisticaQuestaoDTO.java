@@ -0,0 +1,62 @@
+package com.forms.dto;
+
+import java.util.List;
+
+/**
+ * RF16: Contagens agregadas de uma questão para os relatórios
+ * (total de respostas e seleções de cada opção)
+ */
+public class EstatisticaQuestaoDTO {
+
+    private final Integer questaoId;
+    private final long totalRespostas;
+    private final List<OpcaoDTO> opcoes;
+
+    public EstatisticaQuestaoDTO(Integer questaoId, long totalRespostas, List<OpcaoDTO> opcoes) {
+        this.questaoId = questaoId;
+        this.totalRespostas = totalRespostas;
+        this.opcoes = List.copyOf(opcoes);
+    }
+
+    // Getters
+
+    public Integer getQuestaoId() {
+        return questaoId;
+    }
+
+    public long getTotalRespostas() {
+        return totalRespostas;
+    }
+
+    public List<OpcaoDTO> getOpcoes() {
+        return opcoes;
+    }
+
+    public static class OpcaoDTO {
+
+        private final Integer opcaoId;
+        private final long totalSelecoes;
+        private final double percentual;
+
+        public OpcaoDTO(Integer opcaoId, long totalSelecoes, long totalRespostasQuestao) {
+            this.opcaoId = opcaoId;
+            this.totalSelecoes = totalSelecoes;
+            this.percentual = totalRespostasQuestao == 0 ? 0 : totalSelecoes * 100.0 / totalRespostasQuestao;
+        }
+
+        public Integer getOpcaoId() {
+            return opcaoId;
+        }
+
+        public long getTotalSelecoes() {
+            return totalSelecoes;
+        }
+
+        /**
+         * Percentual de quem respondeu a questão que selecionou a opção
+         */
+        public double getPercentual() {
+            return percentual;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.forms.dto;
+
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Estado da página de gestão de cursos: página, ordenação e filtros de cada tabela
+ *
+ * Preenchido a partir dos parâmetros da requisição. Cada tabela usa um prefixo
+ * (curso, uc, turma); os links da página mudam um parâmetro e preservam os demais.
+ */
+public class FiltroGestaoCursos {
+
+    private static final String CAMINHO = "/coordenador/gestao/cursos";
+
+    private int cursoPagina;
+    private String cursoOrdem;
+    private String cursoBusca;
+
+    private int ucPagina;
+    private String ucOrdem;
+    private String ucBusca;
+    private Integer ucCursoId;
+
+    private int turmaPagina;
+    private String turmaOrdem;
+    private Integer turmaAno;
+    private Integer turmaSemestre;
+    private Integer turmaUcId;
+
+    /**
+     * Parâmetros atuais, sem os que estão no valor padrão
+     */
+    public Map<String, Object> getParametros() {
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        parametros.put("cursoPagina", cursoPagina > 0 ? cursoPagina : null);
+        parametros.put("cursoOrdem", cursoOrdem);
+        parametros.put("cursoBusca", cursoBusca);
+        parametros.put("ucPagina", ucPagina > 0 ? ucPagina : null);
+        parametros.put("ucOrdem", ucOrdem);
+        parametros.put("ucBusca", ucBusca);
+        parametros.put("ucCursoId", ucCursoId);
+        parametros.put("turmaPagina", turmaPagina > 0 ? turmaPagina : null);
+        parametros.put("turmaOrdem", turmaOrdem);
+        parametros.put("turmaAno", turmaAno);
+        parametros.put("turmaSemestre", turmaSemestre);
+        parametros.put("turmaUcId", turmaUcId);
+        parametros.values().removeIf(valor -> valor == null || "".equals(valor));
+        return parametros;
+    }
+
+    /**
+     * Parâmetros das outras tabelas, para os campos ocultos do formulário de filtro de uma tabela
+     */
+    public Map<String, Object> parametrosExceto(String prefixo) {
+        Map<String, Object> parametros = getParametros();
+        parametros.keySet().removeIf(nome -> nome.startsWith(prefixo));
+        return parametros;
+    }
+
+    /**
+     * Link com um parâmetro alterado; mudar ordenação ou filtro volta a tabela para a primeira página
+     */
+    public String url(String parametro, Object valor) {
+        Map<String, Object> parametros = getParametros();
+        if (!parametro.endsWith("Pagina")) {
+            parametros.remove(prefixo(parametro) + "Pagina");
+        }
+        if (valor == null) {
+            parametros.remove(parametro);
+        } else {
+            parametros.put(parametro, valor);
+        }
+
+        UriComponentsBuilder builder = UriComponentsBuilder.fromPath(CAMINHO);
+        parametros.forEach(builder::queryParam);
+        return builder.encode().build().toUriString();
+    }
+
+    /**
+     * Link do cabeçalho de uma coluna: ordena pelo campo ou inverte a ordem atual
+     */
+    public String urlOrdem(String parametro, String campo) {
+        Object atual = getParametros().get(parametro);
+        return url(parametro, campo.equals(atual) ? "-" + campo : campo);
+    }
+
+    private static String prefixo(String parametro) {
+        for (int i = 0; i < parametro.length(); i++) {
+            if (Character.isUpperCase(parametro.charAt(i))) {
+                return parametro.substring(0, i);
+            }
+        }
+        return parametro;
+    }
+
+    // Getters e Setters
+
+    public int getCursoPagina() {
+        return cursoPagina;
+    }
+
+    public void setCursoPagina(int cursoPagina) {
+        this.cursoPagina = Math.max(cursoPagina, 0);
+    }
+
+    public String getCursoOrdem() {
+        return cursoOrdem;
+    }
+
+    public void setCursoOrdem(String cursoOrdem) {
+        this.cursoOrdem = cursoOrdem;
+    }
+
+    public String getCursoBusca() {
+        return cursoBusca;
+    }
+
+    public void setCursoBusca(String cursoBusca) {
+        this.cursoBusca = cursoBusca;
+    }
+
+    public int getUcPagina() {
+        return ucPagina;
+    }
+
+    public void setUcPagina(int ucPagina) {
+        this.ucPagina = Math.max(ucPagina, 0);
+    }
+
+    public String getUcOrdem() {
+        return ucOrdem;
+    }
+
+    public void setUcOrdem(String ucOrdem) {
+        this.ucOrdem = ucOrdem;
+    }
+
+    public String getUcBusca() {
+        return ucBusca;
+    }
+
+    public void setUcBusca(String ucBusca) {
+        this.ucBusca = ucBusca;
+    }
+
+    public Integer getUcCursoId() {
+        return ucCursoId;
+    }
+
+    public void setUcCursoId(Integer ucCursoId) {
+        this.ucCursoId = ucCursoId;
+    }
+
+    public int getTurmaPagina() {
+        return turmaPagina;
+    }
+
+    public void setTurmaPagina(int turmaPagina) {
+        this.turmaPagina = Math.max(turmaPagina, 0);
+    }
+
+    public String getTurmaOrdem() {
+        return turmaOrdem;
+    }
+
+    public void setTurmaOrdem(String turmaOrdem) {
+        this.turmaOrdem = turmaOrdem;
+    }
+
+    public Integer getTurmaAno() {
+        return turmaAno;
+    }
+
+    public void setTurmaAno(Integer turmaAno) {
+        this.turmaAno = turmaAno;
+    }
+
+    public Integer getTurmaSemestre() {
+        return turmaSemestre;
+    }
+
+    public void setTurmaSemestre(Integer turmaSemestre) {
+        this.turmaSemestre = turmaSemestre;
+    }
+
+    public Integer getTurmaUcId() {
+        return turmaUcId;
+    }
+
+    public void setTurmaUcId(Integer turmaUcId) {
+        this.turmaUcId = turmaUcId;
+    }
+}
@@ -0,0 +1,145 @@
+package com.forms.dto;
+
+import com.forms.models.TipoQuestao;
+
+import java.util.List;
+
+/**
+ * Snapshot imutável e versionado do formulário de uma avaliação
+ * (questões, opções, ordem, obrigatoriedade e tipo), usado pela página de resposta
+ */
+public class FormularioDTO {
+
+    private final Integer id;
+    private final Integer turmaId;
+    private final long versao;
+    private final String titulo;
+    private final String descricao;
+    private final Boolean anonima;
+    private final Boolean permiteEdicao;
+    private final List<QuestaoDTO> questoes;
+
+    public FormularioDTO(Integer id, Integer turmaId, long versao, String titulo, String descricao,
+            Boolean anonima, Boolean permiteEdicao, List<QuestaoDTO> questoes) {
+        this.id = id;
+        this.turmaId = turmaId;
+        this.versao = versao;
+        this.titulo = titulo;
+        this.descricao = descricao;
+        this.anonima = anonima;
+        this.permiteEdicao = permiteEdicao;
+        this.questoes = List.copyOf(questoes);
+    }
+
+    // Getters
+
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * Turma da avaliação: só os alunos matriculados nela podem responder (RF12)
+     */
+    public Integer getTurmaId() {
+        return turmaId;
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public Boolean getAnonima() {
+        return anonima;
+    }
+
+    public Boolean getPermiteEdicao() {
+        return permiteEdicao;
+    }
+
+    /**
+     * Questões em ordem crescente de Questao.ordem
+     */
+    public List<QuestaoDTO> getQuestoes() {
+        return questoes;
+    }
+
+    public static class QuestaoDTO {
+
+        private final Integer id;
+        private final String texto;
+        private final TipoQuestao tipo;
+        private final Integer ordem;
+        private final Boolean obrigatoria;
+        private final List<OpcaoDTO> opcoes;
+
+        public QuestaoDTO(Integer id, String texto, TipoQuestao tipo, Integer ordem,
+                Boolean obrigatoria, List<OpcaoDTO> opcoes) {
+            this.id = id;
+            this.texto = texto;
+            this.tipo = tipo;
+            this.ordem = ordem;
+            this.obrigatoria = obrigatoria;
+            this.opcoes = List.copyOf(opcoes);
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public String getTexto() {
+            return texto;
+        }
+
+        public TipoQuestao getTipo() {
+            return tipo;
+        }
+
+        public Integer getOrdem() {
+            return ordem;
+        }
+
+        public Boolean getObrigatoria() {
+            return obrigatoria;
+        }
+
+        /**
+         * Opções em ordem crescente de OpcaoResposta.ordem
+         */
+        public List<OpcaoDTO> getOpcoes() {
+            return opcoes;
+        }
+    }
+
+    public static class OpcaoDTO {
+
+        private final Integer id;
+        private final String texto;
+        private final Integer ordem;
+
+        public OpcaoDTO(Integer id, String texto, Integer ordem) {
+            this.id = id;
+            this.texto = texto;
+            this.ordem = ordem;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public String getTexto() {
+            return texto;
+        }
+
+        public Integer getOrdem() {
+            return ordem;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.forms.dto;
+
+/**
+ * Par id/nome para selects e listagens simples, sem carregar as entidades
+ */
+public class ItemSelecaoDTO {
+
+    private final Integer id;
+    private final String nome;
+
+    public ItemSelecaoDTO(Integer id, String nome) {
+        this.id = id;
+        this.nome = nome;
+    }
+
+    // Getters
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+}
@@ -0,0 +1,38 @@
+package com.forms.dto;
+
+/**
+ * Projeção de opção de resposta para a tela de edição (inclui o gabarito, ao contrário
+ * de FormularioDTO.OpcaoDTO, que vai para os alunos)
+ */
+public class OpcaoResumoDTO {
+
+    private final Integer id;
+    private final String texto;
+    private final Integer ordem;
+    private final boolean isCorreta;
+
+    public OpcaoResumoDTO(Integer id, String texto, Integer ordem, boolean isCorreta) {
+        this.id = id;
+        this.texto = texto;
+        this.ordem = ordem;
+        this.isCorreta = isCorreta;
+    }
+
+    // Getters
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+
+    public Integer getOrdem() {
+        return ordem;
+    }
+
+    public boolean getIsCorreta() {
+        return isCorreta;
+    }
+}
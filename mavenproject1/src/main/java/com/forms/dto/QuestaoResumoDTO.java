@@ -0,0 +1,39 @@
+package com.forms.dto;
+
+import com.forms.models.TipoQuestao;
+
+/**
+ * Projeção de questão para a tela de edição de opções
+ */
+public class QuestaoResumoDTO {
+
+    private final Integer id;
+    private final Integer avaliacaoId;
+    private final String texto;
+    private final TipoQuestao tipo;
+
+    public QuestaoResumoDTO(Integer id, Integer avaliacaoId, String texto, TipoQuestao tipo) {
+        this.id = id;
+        this.avaliacaoId = avaliacaoId;
+        this.texto = texto;
+        this.tipo = tipo;
+    }
+
+    // Getters
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Integer getAvaliacaoId() {
+        return avaliacaoId;
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+
+    public TipoQuestao getTipo() {
+        return tipo;
+    }
+}
@@ -0,0 +1,41 @@
+package com.forms.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resposta enviada pelo aluno para uma única questão na submissão do formulário
+ * Questões abertas usam textoResposta, questões de múltipla escolha usam opcaoIds
+ */
+public class RespostaSubmetida {
+
+    private List<Integer> opcaoIds = new ArrayList<>();
+
+    private String textoResposta;
+
+    public RespostaSubmetida() {
+    }
+
+    public RespostaSubmetida(List<Integer> opcaoIds, String textoResposta) {
+        this.opcaoIds = opcaoIds != null ? opcaoIds : new ArrayList<>();
+        this.textoResposta = textoResposta;
+    }
+
+    // Getters e Setters
+
+    public List<Integer> getOpcaoIds() {
+        return opcaoIds;
+    }
+
+    public void setOpcaoIds(List<Integer> opcaoIds) {
+        this.opcaoIds = opcaoIds;
+    }
+
+    public String getTextoResposta() {
+        return textoResposta;
+    }
+
+    public void setTextoResposta(String textoResposta) {
+        this.textoResposta = textoResposta;
+    }
+}
@@ -0,0 +1,67 @@
+package com.forms.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de uma matrícula em lote: o que mudou na turma e quanto tempo levou
+ */
+public class ResultadoMatriculaDTO {
+
+    private final Integer turmaId;
+    private final int adicionados;
+    private final int removidos;
+    private final int mantidos;
+    private final List<String> naoEncontrados;
+    private final long duracaoMillis;
+
+    public ResultadoMatriculaDTO(Integer turmaId, int adicionados, int removidos, int mantidos,
+            List<String> naoEncontrados, long duracaoMillis) {
+        this.turmaId = turmaId;
+        this.adicionados = adicionados;
+        this.removidos = removidos;
+        this.mantidos = mantidos;
+        this.naoEncontrados = List.copyOf(naoEncontrados);
+        this.duracaoMillis = duracaoMillis;
+    }
+
+    /**
+     * Resumo exibido ao coordenador após a operação
+     */
+    public String getResumo() {
+        StringBuilder resumo = new StringBuilder()
+            .append("Matrícula atualizada em ").append(duracaoMillis).append(" ms: ")
+            .append(adicionados).append(" adicionado(s), ")
+            .append(removidos).append(" removido(s), ")
+            .append(mantidos).append(" mantido(s).");
+        if (!naoEncontrados.isEmpty()) {
+            resumo.append(" Não encontrados: ").append(String.join(", ", naoEncontrados)).append('.');
+        }
+        return resumo.toString();
+    }
+
+    // Getters
+
+    public Integer getTurmaId() {
+        return turmaId;
+    }
+
+    public int getAdicionados() {
+        return adicionados;
+    }
+
+    public int getRemovidos() {
+        return removidos;
+    }
+
+    public int getMantidos() {
+        return mantidos;
+    }
+
+    public List<String> getNaoEncontrados() {
+        return naoEncontrados;
+    }
+
+    public long getDuracaoMillis() {
+        return duracaoMillis;
+    }
+}
@@ -0,0 +1,89 @@
+package com.forms.dto;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Submissão completa de um formulário aguardando gravação pela ingestão assíncrona
+ * É serializada no journal em disco, por isso mantém construtor vazio e setters
+ */
+public class SubmissaoResposta {
+
+    private Long sequencia;
+
+    private Integer avaliacaoId;
+
+    private Integer usuarioId;
+
+    private String ipAddress;
+
+    /**
+     * Ausente nas entradas de journal gravadas antes da chave existir
+     */
+    private String chaveSubmissao;
+
+    private Map<Integer, RespostaSubmetida> respostas = new HashMap<>();
+
+    public SubmissaoResposta() {
+    }
+
+    public SubmissaoResposta(Long sequencia, Integer avaliacaoId, Integer usuarioId,
+            Map<Integer, RespostaSubmetida> respostas, String ipAddress, String chaveSubmissao) {
+        this.sequencia = sequencia;
+        this.avaliacaoId = avaliacaoId;
+        this.usuarioId = usuarioId;
+        this.respostas = respostas;
+        this.ipAddress = ipAddress;
+        this.chaveSubmissao = chaveSubmissao;
+    }
+
+    // Getters e Setters
+
+    public Long getSequencia() {
+        return sequencia;
+    }
+
+    public void setSequencia(Long sequencia) {
+        this.sequencia = sequencia;
+    }
+
+    public Integer getAvaliacaoId() {
+        return avaliacaoId;
+    }
+
+    public void setAvaliacaoId(Integer avaliacaoId) {
+        this.avaliacaoId = avaliacaoId;
+    }
+
+    public Integer getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(Integer usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public void setIpAddress(String ipAddress) {
+        this.ipAddress = ipAddress;
+    }
+
+    public String getChaveSubmissao() {
+        return chaveSubmissao;
+    }
+
+    public void setChaveSubmissao(String chaveSubmissao) {
+        this.chaveSubmissao = chaveSubmissao;
+    }
+
+    public Map<Integer, RespostaSubmetida> getRespostas() {
+        return respostas;
+    }
+
+    public void setRespostas(Map<Integer, RespostaSubmetida> respostas) {
+        this.respostas = respostas;
+    }
+}
@@ -0,0 +1,43 @@
+package com.forms.dto;
+
+/**
+ * Projeção de turma para listagens: período e nomes da UC e do professor
+ */
+public class TurmaResumoDTO {
+
+    private final Integer id;
+    private final Integer ano;
+    private final Integer semestre;
+    private final String ucNome;
+    private final String professorNome;
+
+    public TurmaResumoDTO(Integer id, Integer ano, Integer semestre, String ucNome, String professorNome) {
+        this.id = id;
+        this.ano = ano;
+        this.semestre = semestre;
+        this.ucNome = ucNome;
+        this.professorNome = professorNome;
+    }
+
+    // Getters
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Integer getAno() {
+        return ano;
+    }
+
+    public Integer getSemestre() {
+        return semestre;
+    }
+
+    public String getUcNome() {
+        return ucNome;
+    }
+
+    public String getProfessorNome() {
+        return professorNome;
+    }
+}
@@ -0,0 +1,37 @@
+package com.forms.dto;
+
+/**
+ * Projeção de UC para listagens, com o nome do curso
+ */
+public class UnidadeCurricularResumoDTO {
+
+    private final Integer id;
+    private final String nome;
+    private final String tipo;
+    private final String cursoNome;
+
+    public UnidadeCurricularResumoDTO(Integer id, String nome, String tipo, String cursoNome) {
+        this.id = id;
+        this.nome = nome;
+        this.tipo = tipo;
+        this.cursoNome = cursoNome;
+    }
+
+    // Getters
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public String getCursoNome() {
+        return cursoNome;
+    }
+}
@@ -0,0 +1,37 @@
+package com.forms.dto;
+
+/**
+ * Projeção de usuário para listagens e buscas (sem perfil, senha ou turmas)
+ */
+public class UsuarioResumoDTO {
+
+    private final Integer id;
+    private final String nome;
+    private final String email;
+    private final String matriculaSiape;
+
+    public UsuarioResumoDTO(Integer id, String nome, String email, String matriculaSiape) {
+        this.id = id;
+        this.nome = nome;
+        this.email = email;
+        this.matriculaSiape = matriculaSiape;
+    }
+
+    // Getters
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getMatriculaSiape() {
+        return matriculaSiape;
+    }
+}
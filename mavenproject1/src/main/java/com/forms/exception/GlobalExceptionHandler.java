@@ -1,5 +1,7 @@
 package com.forms.exception;
 
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.ui.Model;
@@ -49,6 +51,29 @@ public class GlobalExceptionHandler {
         return "redirect:/";
     }
 
+    /**
+     * Lock otimista (@Version), lock pessimista ou deadlock: outra requisição alterou o mesmo registro
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public String handleConcurrencyFailureException(
+            ConcurrencyFailureException ex,
+            RedirectAttributes redirectAttributes) {
+
+        redirectAttributes.addFlashAttribute("error",
+            "Os dados foram alterados por outra requisição. Recarregue a página e tente novamente.");
+        return "redirect:/";
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public String handleDataIntegrityViolationException(
+            DataIntegrityViolationException ex,
+            RedirectAttributes redirectAttributes) {
+
+        redirectAttributes.addFlashAttribute("error",
+            "Não foi possível salvar: o registro já existe ou está em uso.");
+        return "redirect:/";
+    }
+
     @ExceptionHandler(Exception.class)
     public String handleGenericException(
             Exception ex,
@@ -3,19 +3,25 @@ package com.forms.models;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.Set;
 
 /**
  * Representa um formulário de avaliação
  * Pode ser anônimo ou identificado
+ *
+ * Fica no cache de segundo nível junto com questões e opções; turma e criador são
+ * LAZY para que um acerto no cache não dispare as consultas dos ManyToOne.
  */
 @Entity
 @Table(name = "avaliacao")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "avaliacao")
 public class Avaliacao {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdSequencial("avaliacao_seq")
     private Integer id;
 
     @NotBlank(message = "Título da avaliação é obrigatório")
@@ -46,11 +52,11 @@ public class Avaliacao {
     @Column(name = "permiteEdicao", nullable = false)
     private Boolean permiteEdicao = true;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "turmaId", referencedColumnName = "id")
     private Turma turma;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "criadorId", referencedColumnName = "id", nullable = false)
     private Usuario criador;
 
@@ -16,7 +16,7 @@ import java.time.LocalDateTime;
 public class AvaliacaoRespostaTracking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdSequencial("avaliacao_resposta_tracking_seq")
     private Integer id;
 
     @ManyToOne
@@ -48,6 +48,17 @@ public class AvaliacaoRespostaTracking {
     @Column(name = "ipAddress", length = 45)
     private String ipAddress;
 
+    /**
+     * Chave de idempotência da última submissão gravada; um reenvio com a
+     * mesma chave é ignorado
+     */
+    @Column(name = "chaveSubmissao", length = 36)
+    private String chaveSubmissao;
+
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     @PrePersist
     protected void onCreate() {
         if (dataInicio == null) {
@@ -113,6 +124,18 @@ public class AvaliacaoRespostaTracking {
         this.ipAddress = ipAddress;
     }
 
+    public String getChaveSubmissao() {
+        return chaveSubmissao;
+    }
+
+    public void setChaveSubmissao(String chaveSubmissao) {
+        this.chaveSubmissao = chaveSubmissao;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
     /**
      * Finaliza a resposta da avaliação
      */
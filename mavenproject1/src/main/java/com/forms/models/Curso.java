@@ -5,14 +5,17 @@ package com.forms.models;
  * @author gabriela
  */
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Set;
 
 @Entity
 @Table(name = "curso")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "curso")
 public class Curso{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdSequencial("curso_seq")
     private Integer id;
     
     @Column(name="nome")
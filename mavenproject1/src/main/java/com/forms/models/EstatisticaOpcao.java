@@ -0,0 +1,59 @@
+package com.forms.models;
+
+import jakarta.persistence.*;
+
+/**
+ * Contador agregado de seleções por opção de resposta, mantido incrementalmente
+ * a cada submissão para os relatórios (RF16)
+ */
+@Entity
+@Table(name = "estatisticaOpcao", indexes = @Index(columnList = "avaliacaoId"))
+public class EstatisticaOpcao {
+
+    @Id
+    @Column(name = "opcaoId")
+    private Integer opcaoId;
+
+    @Column(name = "questaoId", nullable = false)
+    private Integer questaoId;
+
+    @Column(name = "avaliacaoId", nullable = false)
+    private Integer avaliacaoId;
+
+    @Column(name = "totalSelecoes", nullable = false)
+    private Long totalSelecoes;
+
+    // Getters e Setters
+
+    public Integer getOpcaoId() {
+        return opcaoId;
+    }
+
+    public void setOpcaoId(Integer opcaoId) {
+        this.opcaoId = opcaoId;
+    }
+
+    public Integer getQuestaoId() {
+        return questaoId;
+    }
+
+    public void setQuestaoId(Integer questaoId) {
+        this.questaoId = questaoId;
+    }
+
+    public Integer getAvaliacaoId() {
+        return avaliacaoId;
+    }
+
+    public void setAvaliacaoId(Integer avaliacaoId) {
+        this.avaliacaoId = avaliacaoId;
+    }
+
+    public Long getTotalSelecoes() {
+        return totalSelecoes;
+    }
+
+    public void setTotalSelecoes(Long totalSelecoes) {
+        this.totalSelecoes = totalSelecoes;
+    }
+}
@@ -0,0 +1,48 @@
+package com.forms.models;
+
+import jakarta.persistence.*;
+
+/**
+ * Contador agregado de respostas por questão, mantido incrementalmente
+ * a cada submissão para os relatórios (RF16)
+ */
+@Entity
+@Table(name = "estatisticaQuestao", indexes = @Index(columnList = "avaliacaoId"))
+public class EstatisticaQuestao {
+
+    @Id
+    @Column(name = "questaoId")
+    private Integer questaoId;
+
+    @Column(name = "avaliacaoId", nullable = false)
+    private Integer avaliacaoId;
+
+    @Column(name = "totalRespostas", nullable = false)
+    private Long totalRespostas;
+
+    // Getters e Setters
+
+    public Integer getQuestaoId() {
+        return questaoId;
+    }
+
+    public void setQuestaoId(Integer questaoId) {
+        this.questaoId = questaoId;
+    }
+
+    public Integer getAvaliacaoId() {
+        return avaliacaoId;
+    }
+
+    public void setAvaliacaoId(Integer avaliacaoId) {
+        this.avaliacaoId = avaliacaoId;
+    }
+
+    public Long getTotalRespostas() {
+        return totalRespostas;
+    }
+
+    public void setTotalRespostas(Long totalRespostas) {
+        this.totalRespostas = totalRespostas;
+    }
+}
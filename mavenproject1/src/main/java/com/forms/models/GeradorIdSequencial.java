@@ -0,0 +1,45 @@
+package com.forms.models;
+
+import com.forms.config.AlocadorIds;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.generator.GeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+/**
+ * Gerador dos campos @IdSequencial: pede o próximo ID ao AlocadorIds, que o Spring
+ * coloca nas propriedades do Hibernate (AlocacaoIdsConfig)
+ */
+public class GeradorIdSequencial implements BeforeExecutionGenerator, AnnotationBasedGenerator<IdSequencial> {
+
+    public static final String PROPRIEDADE_ALOCADOR = "forms.ids.alocador";
+
+    private String tabelaSequencia;
+    private transient AlocadorIds alocadorIds;
+
+    @Override
+    public void initialize(IdSequencial anotacao, Member membro, GeneratorCreationContext contexto) {
+        this.tabelaSequencia = anotacao.value();
+        this.alocadorIds = (AlocadorIds) contexto.getServiceRegistry().requireService(ConfigurationService.class)
+            .getSettings().get(PROPRIEDADE_ALOCADOR);
+        if (alocadorIds == null) {
+            throw new IllegalStateException("Propriedade " + PROPRIEDADE_ALOCADOR + " ausente: o AlocadorIds não foi configurado");
+        }
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor sessao, Object entidade, Object valorAtual, EventType tipo) {
+        return alocadorIds.proximo(tabelaSequencia);
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
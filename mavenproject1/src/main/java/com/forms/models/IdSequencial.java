@@ -0,0 +1,24 @@
+package com.forms.models;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ID gerado antes do INSERT a partir de uma tabela de sequência (*_seq), em blocos
+ * reservados pelo AlocadorIds; por não depender do auto_increment, o Hibernate agrupa
+ * os INSERTs em batches JDBC
+ */
+@IdGeneratorType(GeradorIdSequencial.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface IdSequencial {
+
+    /**
+     * Tabela de sequência, por exemplo "resposta_seq"
+     */
+    String value();
+}
@@ -2,16 +2,19 @@ package com.forms.models;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Representa uma opção de resposta para questões de múltipla escolha
  */
 @Entity
 @Table(name = "opcaoResposta")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "opcao-resposta")
 public class OpcaoResposta {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdSequencial("opcao_resposta_seq")
     private Integer id;
 
     @NotBlank(message = "Texto da opção é obrigatório")
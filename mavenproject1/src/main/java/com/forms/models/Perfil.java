@@ -6,11 +6,20 @@ package com.forms.models;
  */
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
 @Entity
 @Table(name = "perfil")
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "perfil")
 public class Perfil{
 
+    /**
+     * Perfis são semeados pela migração V1 na coluna auto_increment e quase nunca
+     * inseridos, por isso continuam com IDENTITY em vez de sequência
+     */
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -3,6 +3,8 @@ package com.forms.models;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Set;
 
 /**
@@ -10,10 +12,11 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "questao")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "questao")
 public class Questao {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdSequencial("questao_seq")
     private Integer id;
 
     @NotBlank(message = "Texto da questão é obrigatório")
@@ -40,6 +43,7 @@ public class Questao {
     private Avaliacao avaliacao;
 
     @OneToMany(mappedBy = "questao", cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "questao-opcoes")
     private Set<OpcaoResposta> opcoes;
 
     @OneToMany(mappedBy = "questao", cascade = CascadeType.ALL)
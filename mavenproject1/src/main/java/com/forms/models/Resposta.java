@@ -13,7 +13,7 @@ import java.util.Set;
 public class Resposta {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdSequencial("resposta_seq")
     private Integer id;
 
     @ManyToOne
@@ -58,6 +58,10 @@ public class Resposta {
     @Column(name = "ipAddress", length = 45)
     private String ipAddress;
 
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     @PrePersist
     protected void onCreate() {
         dataResposta = LocalDateTime.now();
@@ -134,4 +138,8 @@ public class Resposta {
     public void setIpAddress(String ipAddress) {
         this.ipAddress = ipAddress;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
 }
@@ -13,7 +13,7 @@ import jakarta.persistence.*;
 public class Turma{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdSequencial("turma_seq")
     private Integer id;
     
     @Column(name="ano")
@@ -5,14 +5,17 @@ package com.forms.models;
  * @author gabriela
  */
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Set;
 
 @Entity
 @Table(name = "unidadeCurricular")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "unidade-curricular")
 public class UnidadeCurricular{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdSequencial("unidade_curricular_seq")
     private Integer id;
     
     @Column(name="nome")
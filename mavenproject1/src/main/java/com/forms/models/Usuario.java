@@ -18,7 +18,7 @@ import java.util.Set;
 public class Usuario{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdSequencial("usuario_seq")
     private Integer id;
 
     @NotBlank(message = "Nome é obrigatório")
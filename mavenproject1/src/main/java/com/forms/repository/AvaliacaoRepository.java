@@ -1,14 +1,20 @@
 package com.forms.repository;
 
+import com.forms.dto.AvaliacaoAlunoDTO;
+import com.forms.dto.AvaliacaoResumoDTO;
 import com.forms.models.Avaliacao;
 import com.forms.models.Turma;
 import com.forms.models.Usuario;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface AvaliacaoRepository extends JpaRepository<Avaliacao, Integer> {
 
@@ -16,9 +22,56 @@ public interface AvaliacaoRepository extends JpaRepository<Avaliacao, Integer> {
 
     List<Avaliacao> findByCriador(Usuario criador);
 
+    // Dashboard do professor: avaliações que criou, com o nome da UC
+    @Query("SELECT new com.forms.dto.AvaliacaoResumoDTO(a.id, t.id, a.titulo, uc.nome, a.dataInicio, a.dataFim, "
+         + "a.anonima, a.permiteEdicao) "
+         + "FROM Avaliacao a LEFT JOIN a.turma t LEFT JOIN t.uc uc WHERE a.criador.id = :criadorId ORDER BY a.id")
+    List<AvaliacaoResumoDTO> findResumosByCriadorId(@Param("criadorId") Integer criadorId);
+
     @Query("SELECT a FROM Avaliacao a WHERE a.dataInicio <= :agora AND a.dataFim >= :agora")
     List<Avaliacao> findAvaliacoesAtivas(@Param("agora") LocalDateTime agora);
 
     @Query("SELECT a FROM Avaliacao a WHERE a.turma.id = :turmaId AND a.dataInicio <= :agora AND a.dataFim >= :agora")
     List<Avaliacao> findAvaliacoesAtivasPorTurma(@Param("turmaId") Integer turmaId, @Param("agora") LocalDateTime agora);
+
+    /**
+     * RF12: Avaliações ativas de todas as turmas do aluno, em uma única consulta,
+     * marcando as que o aluno já finalizou (via AvaliacaoRespostaTracking)
+     */
+    @Query("SELECT new com.forms.dto.AvaliacaoAlunoDTO(a.id, a.titulo, uc.nome, a.dataInicio, a.dataFim, "
+         + "a.anonima, a.permiteEdicao, COALESCE(art.completa, false)) "
+         + "FROM Avaliacao a JOIN a.turma t JOIN t.alunos aluno LEFT JOIN t.uc uc "
+         + "LEFT JOIN AvaliacaoRespostaTracking art ON art.avaliacao = a AND art.usuario = aluno "
+         + "WHERE aluno.id = :alunoId AND a.dataInicio <= :agora AND a.dataFim >= :agora "
+         + "ORDER BY a.dataFim ASC")
+    List<AvaliacaoAlunoDTO> findAvaliacoesAtivasDoAluno(@Param("alunoId") Integer alunoId, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Avaliações ativas ou ainda por abrir, usadas para montar o índice de avaliações ativas
+     */
+    @Query("SELECT new com.forms.dto.AvaliacaoResumoDTO(a.id, t.id, a.titulo, uc.nome, a.dataInicio, a.dataFim, "
+         + "a.anonima, a.permiteEdicao) "
+         + "FROM Avaliacao a LEFT JOIN a.turma t LEFT JOIN t.uc uc WHERE a.dataFim >= :agora")
+    List<AvaliacaoResumoDTO> findResumosNaoEncerrados(@Param("agora") LocalDateTime agora);
+
+    @Query("SELECT new com.forms.dto.AvaliacaoResumoDTO(a.id, t.id, a.titulo, uc.nome, a.dataInicio, a.dataFim, "
+         + "a.anonima, a.permiteEdicao) "
+         + "FROM Avaliacao a LEFT JOIN a.turma t LEFT JOIN t.uc uc WHERE a.id = :id")
+    Optional<AvaliacaoResumoDTO> findResumoById(@Param("id") Integer id);
+
+    /**
+     * Avaliação, questões e opções em uma única consulta, como linhas escalares
+     * (sem hidratar entidades nem disparar os ManyToOne EAGER):
+     * [a.id, a.titulo, a.descricao, a.anonima, a.permiteEdicao,
+     *  q.id, q.texto, q.tipo, q.ordem, q.obrigatoria, o.id, o.texto, o.ordem, t.id]
+     *
+     * Fica no cache de consultas: se o snapshot do FormularioService for removido,
+     * a remontagem não volta ao banco enquanto a avaliação não mudar.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT a.id, a.titulo, a.descricao, a.anonima, a.permiteEdicao, "
+         + "q.id, q.texto, q.tipo, q.ordem, q.obrigatoria, o.id, o.texto, o.ordem, t.id "
+         + "FROM Avaliacao a LEFT JOIN a.turma t LEFT JOIN a.questoes q LEFT JOIN q.opcoes o "
+         + "WHERE a.id = :id ORDER BY q.ordem ASC, q.id ASC, o.ordem ASC, o.id ASC")
+    List<Object[]> findFormularioById(@Param("id") Integer id);
 }
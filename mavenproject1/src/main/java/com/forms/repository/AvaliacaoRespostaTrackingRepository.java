@@ -3,10 +3,13 @@ package com.forms.repository;
 import com.forms.models.AvaliacaoRespostaTracking;
 import com.forms.models.Avaliacao;
 import com.forms.models.Usuario;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +28,22 @@ public interface AvaliacaoRespostaTrackingRepository extends JpaRepository<Avali
      */
     Optional<AvaliacaoRespostaTracking> findByAvaliacaoAndUsuario(Avaliacao avaliacao, Usuario usuario);
 
+    /**
+     * Busca o tracking com lock de escrita (SELECT ... FOR UPDATE), serializando
+     * submissões concorrentes do mesmo usuário na mesma avaliação
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT art FROM AvaliacaoRespostaTracking art WHERE art.avaliacao.id = :avaliacaoId AND art.usuario.id = :usuarioId")
+    Optional<AvaliacaoRespostaTracking> findParaAtualizar(@Param("avaliacaoId") Integer avaliacaoId,
+                                                          @Param("usuarioId") Integer usuarioId);
+
+    /**
+     * Só o ID do tracking, sem carregar avaliação nem usuário
+     */
+    @Query("SELECT art.id FROM AvaliacaoRespostaTracking art WHERE art.avaliacao.id = :avaliacaoId AND art.usuario.id = :usuarioId")
+    Optional<Integer> findIdByAvaliacaoIdAndUsuarioId(@Param("avaliacaoId") Integer avaliacaoId,
+                                                      @Param("usuarioId") Integer usuarioId);
+
     /**
      * Lista todos que responderam uma avaliação
      */
@@ -41,9 +60,24 @@ public interface AvaliacaoRespostaTrackingRepository extends JpaRepository<Avali
     @Query("SELECT COUNT(art) FROM AvaliacaoRespostaTracking art WHERE art.avaliacao.id = :avaliacaoId AND art.completa = true")
     Long countRespostasCompletasByAvaliacaoId(@Param("avaliacaoId") Integer avaliacaoId);
 
+    /**
+     * Progresso de uma avaliação em uma única linha: [trackings iniciados, trackings completos]
+     */
+    @Query("SELECT COUNT(art), SUM(CASE WHEN art.completa = true THEN 1 ELSE 0 END) "
+         + "FROM AvaliacaoRespostaTracking art WHERE art.avaliacao.id = :avaliacaoId")
+    List<Object[]> contarProgressoByAvaliacaoId(@Param("avaliacaoId") Integer avaliacaoId);
+
     /**
      * Lista usuários que completaram uma avaliação
      */
     @Query("SELECT art FROM AvaliacaoRespostaTracking art WHERE art.avaliacao.id = :avaliacaoId AND art.completa = true")
     List<AvaliacaoRespostaTracking> findRespostasCompletasByAvaliacaoId(@Param("avaliacaoId") Integer avaliacaoId);
+
+    /**
+     * Dentre as avaliações informadas, quais o usuário já finalizou
+     */
+    @Query("SELECT art.avaliacao.id FROM AvaliacaoRespostaTracking art WHERE art.usuario.id = :usuarioId "
+         + "AND art.completa = true AND art.avaliacao.id IN :avaliacaoIds")
+    List<Integer> findAvaliacaoIdsCompletas(@Param("usuarioId") Integer usuarioId,
+                                            @Param("avaliacaoIds") Collection<Integer> avaliacaoIds);
 }
@@ -1,11 +1,30 @@
 package com.forms.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import com.forms.dto.ItemSelecaoDTO;
 import com.forms.models.Curso;
+import java.util.List;
 import java.util.Optional;
 
 public interface CursoRepository extends JpaRepository<Curso, Integer> {
     
     // Adiciona busca por nome para validação (RF04)
     Optional<Curso> findByNome(String nome);
+
+    // Página da gestão de cursos; busca nula lista todos
+    @Query(value = "SELECT new com.forms.dto.ItemSelecaoDTO(c.id, c.nome) FROM Curso c "
+                 + "WHERE :busca IS NULL OR LOWER(c.nome) LIKE :busca ESCAPE '!'",
+           countQuery = "SELECT COUNT(c) FROM Curso c WHERE :busca IS NULL OR LOWER(c.nome) LIKE :busca ESCAPE '!'")
+    Page<ItemSelecaoDTO> findResumosByFiltro(@Param("busca") String busca, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.forms.dto.ItemSelecaoDTO(c.id, c.nome) FROM Curso c ORDER BY c.nome")
+    List<ItemSelecaoDTO> findItensSelecao();
 }
\ No newline at end of file
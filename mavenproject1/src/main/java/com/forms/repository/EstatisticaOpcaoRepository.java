@@ -0,0 +1,11 @@
+package com.forms.repository;
+
+import com.forms.models.EstatisticaOpcao;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface EstatisticaOpcaoRepository extends JpaRepository<EstatisticaOpcao, Integer> {
+    List<EstatisticaOpcao> findByAvaliacaoId(Integer avaliacaoId);
+}
@@ -0,0 +1,11 @@
+package com.forms.repository;
+
+import com.forms.models.EstatisticaQuestao;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface EstatisticaQuestaoRepository extends JpaRepository<EstatisticaQuestao, Integer> {
+    List<EstatisticaQuestao> findByAvaliacaoId(Integer avaliacaoId);
+}
@@ -1,9 +1,12 @@
 package com.forms.repository;
 
+import com.forms.dto.OpcaoResumoDTO;
 import com.forms.models.Questao;
 import com.forms.models.OpcaoResposta;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,4 +15,10 @@ public interface OpcaoRespostaRepository extends JpaRepository<OpcaoResposta, In
     List<OpcaoResposta> findByQuestao(Questao questao);
 
     Optional<OpcaoResposta> findByQuestaoAndIsCorreta(Questao questao, boolean valor);
+
+    long countByQuestaoId(Integer questaoId);
+
+    @Query("SELECT new com.forms.dto.OpcaoResumoDTO(o.id, o.texto, o.ordem, o.isCorreta) "
+         + "FROM OpcaoResposta o WHERE o.questao.id = :questaoId ORDER BY o.ordem, o.id")
+    List<OpcaoResumoDTO> findResumosByQuestaoId(@Param("questaoId") Integer questaoId);
 }
\ No newline at end of file
@@ -1,13 +1,25 @@
 package com.forms.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.forms.models.Perfil;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface PerfilRepository extends JpaRepository<Perfil, Integer>{
 
+    /**
+     * Perfis vêm do cache de segundo nível; as consultas abaixo usam o cache de consultas
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Perfil> findByNome(String nome);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Override
+    List<Perfil> findAll();
+
 }
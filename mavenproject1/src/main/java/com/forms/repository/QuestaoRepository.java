@@ -1,10 +1,17 @@
 package com.forms.repository;
 
+import com.forms.dto.QuestaoResumoDTO;
 import com.forms.models.Questao;
 import com.forms.models.Avaliacao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface QuestaoRepository extends JpaRepository<Questao, Integer> {
 
@@ -12,5 +19,22 @@ public interface QuestaoRepository extends JpaRepository<Questao, Integer> {
 
     List<Questao> findByAvaliacaoOrderByOrdemDesc(Avaliacao avaliacao);
 
-    List<Questao> findByAvaliacaoIdOrderByOrdemAsc(Integer avaliacaoId);
+    // Derivado do nome, o filtro por avaliacao.id viraria LEFT JOIN em avaliacao e varredura de questao
+    @Query("SELECT q FROM Questao q WHERE q.avaliacao.id = :avaliacaoId ORDER BY q.ordem ASC")
+    List<Questao> findByAvaliacaoIdOrderByOrdemAsc(@Param("avaliacaoId") Integer avaliacaoId);
+
+    long countByAvaliacaoId(Integer avaliacaoId);
+
+    @Query("SELECT new com.forms.dto.QuestaoResumoDTO(q.id, q.avaliacao.id, q.texto, q.tipo) FROM Questao q WHERE q.id = :id")
+    Optional<QuestaoResumoDTO> findResumoById(@Param("id") Integer id);
+
+    /**
+     * Carrega as questões de uma avaliação já com as opções, em uma única consulta
+     *
+     * Com o cache de consultas, só os IDs ficam guardados; questões e opções vêm do
+     * cache de segundo nível, sem SQL na submissão de respostas.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT DISTINCT q FROM Questao q LEFT JOIN FETCH q.opcoes WHERE q.avaliacao.id = :avaliacaoId ORDER BY q.ordem ASC")
+    List<Questao> findComOpcoesByAvaliacaoId(@Param("avaliacaoId") Integer avaliacaoId);
 }
@@ -1,10 +1,17 @@
 package com.forms.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.forms.dto.TurmaResumoDTO;
+import com.forms.dto.UsuarioResumoDTO;
 import com.forms.models.Turma;
 import com.forms.models.Usuario;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface TurmaRepository extends JpaRepository<Turma, Integer> {
     
@@ -13,4 +20,41 @@ public interface TurmaRepository extends JpaRepository<Turma, Integer> {
 
     // Método para RF06
     List<Turma> findByAlunos(Usuario aluno);
+
+    // IDs das turmas do aluno, sem carregar as entidades
+    @Query("SELECT t.id FROM Turma t JOIN t.alunos a WHERE a.id = :alunoId")
+    List<Integer> findIdsByAlunoId(@Param("alunoId") Integer alunoId);
+
+    @Query("SELECT t.id FROM Turma t WHERE t.professor.id = :professorId")
+    List<Integer> findIdsByProfessorId(@Param("professorId") Integer professorId);
+
+    // Professor gravado no banco, antes de uma alteração da turma
+    @Query("SELECT t.professor.id FROM Turma t WHERE t.id = :id")
+    Optional<Integer> findProfessorIdById(@Param("id") Integer id);
+
+    // Página da gestão de cursos: nomes da UC e do professor vêm na mesma consulta
+    @Query(value = "SELECT new com.forms.dto.TurmaResumoDTO(t.id, t.ano, t.semestre, u.nome, p.nome) "
+                 + "FROM Turma t LEFT JOIN t.uc u LEFT JOIN t.professor p "
+                 + "WHERE (:ano IS NULL OR t.ano = :ano) AND (:semestre IS NULL OR t.semestre = :semestre) "
+                 + "AND (:ucId IS NULL OR u.id = :ucId)",
+           countQuery = "SELECT COUNT(t) FROM Turma t "
+                      + "WHERE (:ano IS NULL OR t.ano = :ano) AND (:semestre IS NULL OR t.semestre = :semestre) "
+                      + "AND (:ucId IS NULL OR t.uc.id = :ucId)")
+    Page<TurmaResumoDTO> findResumosByFiltro(@Param("ano") Integer ano, @Param("semestre") Integer semestre,
+            @Param("ucId") Integer ucId, Pageable pageable);
+
+    @Query("SELECT new com.forms.dto.TurmaResumoDTO(t.id, t.ano, t.semestre, u.nome, p.nome) "
+         + "FROM Turma t LEFT JOIN t.uc u JOIN t.professor p WHERE p.id = :professorId ORDER BY t.id")
+    List<TurmaResumoDTO> findResumosByProfessorId(@Param("professorId") Integer professorId);
+
+    @Query("SELECT new com.forms.dto.TurmaResumoDTO(t.id, t.ano, t.semestre, u.nome, p.nome) "
+         + "FROM Turma t LEFT JOIN t.uc u LEFT JOIN t.professor p WHERE t.id = :id")
+    Optional<TurmaResumoDTO> findResumoById(@Param("id") Integer id);
+
+    @Query("SELECT new com.forms.dto.UsuarioResumoDTO(a.id, a.nome, a.email, a.matriculaSiape) "
+         + "FROM Turma t JOIN t.alunos a WHERE t.id = :turmaId ORDER BY a.nome, a.id")
+    List<UsuarioResumoDTO> findAlunosByTurmaId(@Param("turmaId") Integer turmaId);
+
+    @Query("SELECT a.id FROM Turma t JOIN t.alunos a WHERE t.id = :turmaId")
+    List<Integer> findAlunoIdsByTurmaId(@Param("turmaId") Integer turmaId);
 }
\ No newline at end of file
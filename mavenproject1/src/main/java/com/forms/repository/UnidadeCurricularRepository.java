@@ -1,9 +1,34 @@
 package com.forms.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.forms.dto.ItemSelecaoDTO;
+import com.forms.dto.UnidadeCurricularResumoDTO;
 import com.forms.models.UnidadeCurricular;
 
+import java.util.List;
+
 public interface UnidadeCurricularRepository extends JpaRepository<UnidadeCurricular, Integer> {
-    
+
+    // Página da gestão de cursos com o nome do curso de cada UC na mesma consulta
+    @Query(value = "SELECT new com.forms.dto.UnidadeCurricularResumoDTO(uc.id, uc.nome, uc.tipo, c.nome) "
+                 + "FROM UnidadeCurricular uc LEFT JOIN uc.curso c "
+                 + "WHERE (:busca IS NULL OR LOWER(uc.nome) LIKE :busca ESCAPE '!') "
+                 + "AND (:cursoId IS NULL OR c.id = :cursoId)",
+           countQuery = "SELECT COUNT(uc) FROM UnidadeCurricular uc "
+                      + "WHERE (:busca IS NULL OR LOWER(uc.nome) LIKE :busca ESCAPE '!') "
+                      + "AND (:cursoId IS NULL OR uc.curso.id = :cursoId)")
+    Page<UnidadeCurricularResumoDTO> findResumosByFiltro(@Param("busca") String busca, @Param("cursoId") Integer cursoId,
+            Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.forms.dto.ItemSelecaoDTO(uc.id, uc.nome) FROM UnidadeCurricular uc ORDER BY uc.nome")
+    List<ItemSelecaoDTO> findItensSelecao();
 }
\ No newline at end of file
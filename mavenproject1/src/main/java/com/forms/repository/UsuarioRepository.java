@@ -1,8 +1,16 @@
 package com.forms.repository;
 
+import com.forms.dto.UsuarioResumoDTO;
 import com.forms.models.Usuario;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Integer>{
@@ -11,4 +19,39 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Integer>{
 
     boolean existsByEmail(String email);
 
+    /**
+     * Página de usuários de um perfil em ordem alfabética, só com os campos de listagem
+     */
+    @Query("SELECT new com.forms.dto.UsuarioResumoDTO(u.id, u.nome, u.email, u.matriculaSiape) "
+         + "FROM Usuario u WHERE u.perfil.id = :perfilId ORDER BY u.nome, u.id")
+    Slice<UsuarioResumoDTO> findResumoByPerfilId(@Param("perfilId") Integer perfilId, Pageable pageable);
+
+    /**
+     * Busca por prefixo de nome, email ou matrícula/SIAPE dentro de um perfil
+     * (o prefixo deve vir com os curingas escapados por '!')
+     */
+    @Query("SELECT new com.forms.dto.UsuarioResumoDTO(u.id, u.nome, u.email, u.matriculaSiape) "
+         + "FROM Usuario u WHERE u.perfil.id = :perfilId AND ("
+         + "u.nome LIKE :prefixo ESCAPE '!' OR u.email LIKE :prefixo ESCAPE '!' "
+         + "OR u.matriculaSiape LIKE :prefixo ESCAPE '!') "
+         + "ORDER BY u.nome, u.id")
+    Slice<UsuarioResumoDTO> findResumoByPerfilIdAndPrefixo(@Param("perfilId") Integer perfilId,
+            @Param("prefixo") String prefixo, Pageable pageable);
+
+    /**
+     * Resolve, em uma única consulta, quais dos IDs informados são alunos
+     */
+    @Query("SELECT u.id FROM Usuario u WHERE u.perfil.nome = 'ALUNO' AND u.id IN :ids")
+    List<Integer> findAlunoIdsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Resolve matrículas em IDs de alunos em uma única consulta: [id, matriculaSiape]
+     */
+    @Query("SELECT u.id, u.matriculaSiape FROM Usuario u WHERE u.perfil.nome = 'ALUNO' AND u.matriculaSiape IN :matriculas")
+    List<Object[]> findAlunoIdsByMatriculaSiapeIn(@Param("matriculas") Collection<String> matriculas);
+
+    @Modifying
+    @Query("UPDATE Usuario u SET u.senhaHash = :senhaHash WHERE u.id = :id")
+    int atualizarSenhaHash(@Param("id") Integer id, @Param("senhaHash") String senhaHash);
+
 }
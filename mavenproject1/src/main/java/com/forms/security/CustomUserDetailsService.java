@@ -3,47 +3,49 @@ package com.forms.security;
 import com.forms.models.Usuario;
 import com.forms.repository.UsuarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-
-import java.util.Collections;
-import java.util.List;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Serviço customizado para carregar dados do usuário durante autenticação
- * Implementa UserDetailsService do Spring Security
+ * Implementa UserDetailsService do Spring Security e, para o rehash no login,
+ * UserDetailsPasswordService
  */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private UsuarioAutenticadoCache usuarioAutenticadoCache;
+
+    /**
+     * Monta o principal da sessão (UsuarioAutenticado) com perfil e turmas do usuário
+     */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         Usuario usuario = usuarioRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com email: " + email));
 
-        // Criar autoridade baseada no perfil do usuário
-        // Prefixo "ROLE_" é requerido pelo Spring Security
-        List<GrantedAuthority> authorities = Collections.singletonList(
-                new SimpleGrantedAuthority("ROLE_" + usuario.getPerfil().getNome())
-        );
-
-        return new User(
-                usuario.getEmail(),
-                usuario.getSenhaHash(),
-                true, // enabled
-                true, // accountNonExpired
-                true, // credentialsNonExpired
-                true, // accountNonLocked
-                authorities
-        );
+        return usuarioAutenticadoCache.montar(usuario);
+    }
+
+    /**
+     * Chamado pelo DaoAuthenticationProvider após um login válido cujo hash usa um
+     * algoritmo ou custo diferente do configurado: grava o hash novo
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UsuarioAutenticado usuario = (UsuarioAutenticado) user;
+        usuarioRepository.atualizarSenhaHash(usuario.getId(), newPassword);
+        usuario.atualizarSenhaHash(newPassword);
+        return usuario;
     }
 
     /**
@@ -0,0 +1,100 @@
+package com.forms.security;
+
+import com.forms.models.Usuario;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Principal da sessão: dados do usuário necessários às páginas, carregados uma
+ * única vez na autenticação e injetados com @AuthenticationPrincipal
+ *
+ * O hash da senha só existe durante o login e é apagado logo após a autenticação.
+ */
+public class UsuarioAutenticado implements UserDetails, CredentialsContainer {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Integer id;
+    private final String nome;
+    private final String email;
+    private final String perfil;
+    private final Set<Integer> turmaIdsComoAluno;
+    private final Set<Integer> turmaIdsComoProfessor;
+    private final List<GrantedAuthority> authorities;
+    private String senhaHash;
+
+    public UsuarioAutenticado(Usuario usuario, Collection<Integer> turmaIdsComoAluno,
+            Collection<Integer> turmaIdsComoProfessor) {
+        this.id = usuario.getId();
+        this.nome = usuario.getNome();
+        this.email = usuario.getEmail();
+        this.perfil = usuario.getPerfil().getNome();
+        this.senhaHash = usuario.getSenhaHash();
+        this.turmaIdsComoAluno = Set.copyOf(turmaIdsComoAluno);
+        this.turmaIdsComoProfessor = Set.copyOf(turmaIdsComoProfessor);
+        // Prefixo "ROLE_" é requerido pelo Spring Security
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + perfil));
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Nome do perfil (ALUNO, PROFESSOR, COORDENADOR ou ADMINISTRADOR)
+     */
+    public String getPerfil() {
+        return perfil;
+    }
+
+    public Set<Integer> getTurmaIdsComoAluno() {
+        return turmaIdsComoAluno;
+    }
+
+    public Set<Integer> getTurmaIdsComoProfessor() {
+        return turmaIdsComoProfessor;
+    }
+
+    // UserDetails
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return senhaHash;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    /**
+     * Hash regravado no login quando a configuração de hash mudou
+     */
+    void atualizarSenhaHash(String senhaHash) {
+        this.senhaHash = senhaHash;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        senhaHash = null;
+    }
+}
@@ -0,0 +1,139 @@
+package com.forms.security;
+
+import com.forms.models.Usuario;
+import com.forms.repository.TurmaRepository;
+import com.forms.repository.UsuarioRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache limitado dos principais autenticados, indexado pelo ID do usuário
+ *
+ * A cada requisição o principal da sessão é conferido contra este cache (sem acesso
+ * ao banco). Alterações no usuário ou nas suas turmas invalidam a entrada após o
+ * commit; na requisição seguinte o principal é recarregado e substituído na sessão.
+ */
+@Service
+public class UsuarioAutenticadoCache {
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    @Value("${forms.usuario-cache.tamanho-maximo:10000}")
+    private long tamanhoMaximo;
+
+    /**
+     * Entradas sem acesso por mais tempo que a sessão não têm mais utilidade
+     */
+    @Value("${server.servlet.session.timeout:30m}")
+    private Duration expiracao;
+
+    private final AtomicLong carregamentos = new AtomicLong();
+
+    private Cache<Integer, UsuarioAutenticado> cache;
+
+    @PostConstruct
+    public void iniciar() {
+        cache = Caffeine.newBuilder()
+            .maximumSize(tamanhoMaximo)
+            .expireAfterAccess(expiracao)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * O principal recém-autenticado já vem do banco: entra direto no cache
+     */
+    @EventListener
+    public void aoAutenticar(AuthenticationSuccessEvent evento) {
+        if (evento.getAuthentication().getPrincipal() instanceof UsuarioAutenticado usuario) {
+            cache.put(usuario.getId(), usuario);
+        }
+    }
+
+    /**
+     * Principal atual do usuário; vazio se o usuário foi removido
+     */
+    public Optional<UsuarioAutenticado> buscar(Integer usuarioId) {
+        return Optional.ofNullable(cache.get(usuarioId, this::carregar));
+    }
+
+    /**
+     * Monta o principal com as turmas do usuário, incluindo o hash da senha (usado no login)
+     */
+    UsuarioAutenticado montar(Usuario usuario) {
+        carregamentos.incrementAndGet();
+        return new UsuarioAutenticado(usuario,
+            turmaRepository.findIdsByAlunoId(usuario.getId()),
+            turmaRepository.findIdsByProfessorId(usuario.getId()));
+    }
+
+    private UsuarioAutenticado carregar(Integer usuarioId) {
+        Usuario usuario = usuarioRepository.findById(usuarioId).orElse(null);
+        if (usuario == null) {
+            return null;
+        }
+        // Senha não fica no cache
+        UsuarioAutenticado principal = montar(usuario);
+        principal.eraseCredentials();
+        return principal;
+    }
+
+    /**
+     * Descarta o principal de um usuário; dentro de uma transação, só após o commit
+     */
+    public void invalidar(Integer usuarioId) {
+        invalidar(List.of(usuarioId));
+    }
+
+    public void invalidar(Collection<Integer> usuarioIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll(usuarioIds);
+                }
+            });
+        } else {
+            cache.invalidateAll(usuarioIds);
+        }
+    }
+
+    // Métricas
+
+    public long getAcertos() {
+        return cache.stats().hitCount();
+    }
+
+    public long getFaltas() {
+        return cache.stats().missCount();
+    }
+
+    /**
+     * Principais montados a partir do banco (logins e recargas após invalidação)
+     */
+    public long getCarregamentos() {
+        return carregamentos.get();
+    }
+
+    public long getTamanho() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,64 @@
+package com.forms.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Mantém o principal da sessão em dia com o UsuarioAutenticadoCache
+ *
+ * Com o cache válido não há acesso ao banco: o principal da sessão é a própria
+ * instância em cache. Se a entrada foi invalidada, o principal recarregado substitui
+ * o da sessão; se o usuário foi removido, a sessão é encerrada.
+ */
+public class UsuarioAutenticadoFilter extends OncePerRequestFilter {
+
+    private final UsuarioAutenticadoCache usuarioAutenticadoCache;
+    private final SecurityContextRepository securityContextRepository = new HttpSessionSecurityContextRepository();
+
+    public UsuarioAutenticadoFilter(UsuarioAutenticadoCache usuarioAutenticadoCache) {
+        this.usuarioAutenticadoCache = usuarioAutenticadoCache;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+
+        if (autenticacao != null && autenticacao.getPrincipal() instanceof UsuarioAutenticado daSessao) {
+            Optional<UsuarioAutenticado> atual = usuarioAutenticadoCache.buscar(daSessao.getId());
+
+            if (atual.isEmpty()) {
+                SecurityContextHolder.clearContext();
+                HttpSession sessao = request.getSession(false);
+                if (sessao != null) {
+                    sessao.invalidate();
+                }
+            } else if (atual.get() != daSessao) {
+                UsernamePasswordAuthenticationToken novaAutenticacao = UsernamePasswordAuthenticationToken.authenticated(
+                    atual.get(), null, atual.get().getAuthorities());
+                novaAutenticacao.setDetails(autenticacao.getDetails());
+
+                SecurityContext contexto = SecurityContextHolder.createEmptyContext();
+                contexto.setAuthentication(novaAutenticacao);
+                SecurityContextHolder.setContext(contexto);
+                securityContextRepository.saveContext(contexto, request, response);
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
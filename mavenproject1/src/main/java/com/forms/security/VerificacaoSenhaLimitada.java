@@ -0,0 +1,121 @@
+package com.forms.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PasswordEncoder que executa as verificações de senha em um pool dedicado e limitado
+ *
+ * Em picos de login (início de semestre) a verificação do hash é o que consome CPU.
+ * Com o pool, no máximo N verificações rodam ao mesmo tempo; as demais esperam em uma
+ * fila limitada e, se ela estiver cheia ou a espera passar do timeout, o login falha
+ * na hora em vez de prender mais threads do Tomcat.
+ */
+public class VerificacaoSenhaLimitada implements PasswordEncoder {
+
+    private final PasswordEncoder delegado;
+    private final ThreadPoolExecutor pool;
+    private final long timeoutMillis;
+
+    private final AtomicLong verificacoes = new AtomicLong();
+    private final AtomicLong rejeicoes = new AtomicLong();
+    private final AtomicLong nanosVerificando = new AtomicLong();
+
+    public VerificacaoSenhaLimitada(PasswordEncoder delegado, int threads, int capacidadeFila, Duration timeout) {
+        this.delegado = delegado;
+        this.timeoutMillis = timeout.toMillis();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(capacidadeFila), tarefa -> {
+                Thread thread = new Thread(tarefa);
+                thread.setName("verificacao-senha-" + thread.getId());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Hash de novas senhas (cadastro, troca e rehash) segue na thread da requisição
+     */
+    @Override
+    public String encode(CharSequence senhaPlana) {
+        return delegado.encode(senhaPlana);
+    }
+
+    @Override
+    public boolean matches(CharSequence senhaPlana, String senhaHash) {
+        Future<Boolean> verificacao;
+        try {
+            verificacao = pool.submit(() -> {
+                long inicio = System.nanoTime();
+                try {
+                    return delegado.matches(senhaPlana, senhaHash);
+                } finally {
+                    nanosVerificando.addAndGet(System.nanoTime() - inicio);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejeicoes.incrementAndGet();
+            throw new AuthenticationServiceException("Muitos logins simultâneos. Tente novamente em instantes.");
+        }
+
+        try {
+            boolean resultado = verificacao.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            verificacoes.incrementAndGet();
+            return resultado;
+        } catch (TimeoutException e) {
+            verificacao.cancel(true);
+            rejeicoes.incrementAndGet();
+            throw new AuthenticationServiceException("Muitos logins simultâneos. Tente novamente em instantes.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Verificação de senha interrompida", e);
+        } catch (ExecutionException e) {
+            throw new AuthenticationServiceException("Falha ao verificar a senha", e.getCause());
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String senhaHash) {
+        return delegado.upgradeEncoding(senhaHash);
+    }
+
+    public void encerrar() {
+        pool.shutdownNow();
+    }
+
+    // Métricas
+
+    public long getVerificacoes() {
+        return verificacoes.get();
+    }
+
+    /**
+     * Logins recusados por fila cheia ou timeout
+     */
+    public long getRejeicoes() {
+        return rejeicoes.get();
+    }
+
+    public int getProfundidadeFila() {
+        return pool.getQueue().size();
+    }
+
+    public int getVerificacoesEmAndamento() {
+        return pool.getActiveCount();
+    }
+
+    public double getMillisMedioVerificacao() {
+        long total = verificacoes.get();
+        return total == 0 ? 0 : nanosVerificando.get() / 1_000_000.0 / total;
+    }
+}
@@ -1,24 +1,58 @@
 package com.forms.service;
 
+import com.forms.config.AlocadorIds;
+import com.forms.dto.RespostaSubmetida;
 import com.forms.models.*;
 import com.forms.repository.AvaliacaoRepository;
 import com.forms.repository.AvaliacaoRespostaTrackingRepository;
+import com.forms.repository.QuestaoRepository;
 import com.forms.repository.RespostaRepository;
+import com.forms.repository.UsuarioRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Serviço para gerenciar respostas de avaliações
  * RF03: Registra quem respondeu cada avaliação, ainda que a resposta possa ser anônima
+ *
+ * Submissões concorrentes do mesmo usuário na mesma avaliação (duplo clique, duas abas)
+ * são serializadas pelo lock da linha de tracking, criada por upsert; um reenvio com a
+ * mesma chave de submissão não regrava nada.
+ *
+ * O lock é o do banco, então vale entre instâncias da aplicação, e todo caminho que altera
+ * o tracking passa por ele (iniciar, primeiro salvamento de rascunho, finalizar e submeter).
+ * Com o lock, a transação não pede outra conexão ao pool da aplicação: os IDs vêm do pool
+ * próprio do AlocadorIds. Assim, esperas no lock não esgotam o pool.
  */
 @Service
 public class AvaliacaoRespostaService {
 
+    /**
+     * Cria o tracking se ainda não existir; com a linha já presente, o ON DUPLICATE KEY
+     * não altera nada e a unique (avaliacao_id, usuario_id) nunca é violada
+     */
+    private static final String REGISTRAR_TRACKING =
+        "INSERT INTO avaliacao_resposta_tracking "
+        + "(id, avaliacao_id, usuario_id, data_inicio, completa, ip_address, versao) "
+        + "VALUES (:id, :avaliacaoId, :usuarioId, :dataInicio, false, :ipAddress, 0) "
+        + "ON DUPLICATE KEY UPDATE id = id";
+
     @Autowired
     private AvaliacaoRespostaTrackingRepository trackingRepository;
 
@@ -28,59 +62,338 @@ public class AvaliacaoRespostaService {
     @Autowired
     private AvaliacaoRepository avaliacaoRepository;
 
+    @Autowired
+    private QuestaoRepository questaoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EstatisticaAvaliacaoService estatisticaService;
+
+    @Autowired
+    private FormularioService formularioService;
+
+    @Autowired
+    private ProgressoRespostasService progressoService;
+
+    @Autowired
+    private RascunhoRespostaService rascunhoService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AlocadorIds alocadorIds;
+
+    private final AtomicLong submissoesRepetidas = new AtomicLong();
+
     /**
      * RF03: Inicia o tracking de resposta de uma avaliação
      * SEMPRE registra quem está respondendo, mesmo em avaliações anônimas
      */
     @Transactional
+    @Timed(value = "forms.resposta", extraTags = {"operacao", "iniciar"})
     public AvaliacaoRespostaTracking iniciarResposta(Avaliacao avaliacao, Usuario usuario, String ipAddress) {
-        // Verificar se já existe tracking para este usuário nesta avaliação
-        Optional<AvaliacaoRespostaTracking> trackingExistente =
-            trackingRepository.findByAvaliacaoAndUsuario(avaliacao, usuario);
-
-        if (trackingExistente.isPresent()) {
-            // Se já existe e está completa, verificar se permite edição
-            AvaliacaoRespostaTracking tracking = trackingExistente.get();
-            if (tracking.getCompleta() && !avaliacao.getPermiteEdicao()) {
-                throw new IllegalStateException("Esta avaliação não permite edição de respostas");
-            }
-            return tracking;
-        }
-
-        // Verificar se a avaliação está ativa
-        if (!avaliacao.isAtiva()) {
-            throw new IllegalStateException("Esta avaliação não está mais disponível");
-        }
-
-        // Criar novo tracking
-        AvaliacaoRespostaTracking tracking = new AvaliacaoRespostaTracking();
-        tracking.setAvaliacao(avaliacao);
-        tracking.setUsuario(usuario);
-        tracking.setDataInicio(LocalDateTime.now());
-        tracking.setCompleta(false);
-        tracking.setIpAddress(ipAddress);
-
-        return trackingRepository.save(tracking);
+        return iniciarRastreamento(avaliacao, usuario, ipAddress);
     }
 
     /**
      * RF03: Finaliza a resposta de uma avaliação
+     * Se houver rascunho, ele é validado como uma submissão completa e vira as respostas
      */
     @Transactional
+    @Timed(value = "forms.resposta", extraTags = {"operacao", "finalizar"})
     public void finalizarResposta(Integer trackingId) {
         AvaliacaoRespostaTracking tracking = trackingRepository.findById(trackingId)
             .orElseThrow(() -> new IllegalArgumentException("Tracking de resposta não encontrado"));
 
+        // Mesma ordem de locks da submissão: o tracking antes das linhas do rascunho
+        Integer avaliacaoId = tracking.getAvaliacao().getId();
+        Usuario usuario = tracking.getUsuario();
+        tracking = bloquearTracking(tracking.getAvaliacao(), usuario);
+
+        Map<Integer, RespostaSubmetida> rascunho = rascunhoService.encerrar(trackingId, avaliacaoId, usuario.getId());
+        if (!rascunho.isEmpty()) {
+            promoverRascunho(avaliacaoId, usuario, rascunho, tracking.getIpAddress());
+        }
+
+        boolean jaCompleta = tracking.getCompleta();
         tracking.finalizar();
         trackingRepository.save(tracking);
+        progressoService.registrar(tracking.getAvaliacao().getId(), false, !jaCompleta);
     }
 
     /**
-     * Salva ou atualiza uma resposta de questão
+     * Salva ou atualiza uma resposta de questão, mantendo as estatísticas agregadas
      */
     @Transactional
+    @Timed(value = "forms.resposta", extraTags = {"operacao", "salvar"})
     public Resposta salvarResposta(Resposta resposta) {
-        return respostaRepository.save(resposta);
+        ContagemRespostas contagem = estatisticaService.capturarResposta(
+            resposta.getQuestao().getAvaliacao().getId(), resposta.getId());
+        Resposta salva = respostaRepository.save(resposta);
+        estatisticaService.registrarRespostas(contagem, List.of(salva));
+        return salva;
+    }
+
+    /**
+     * Submete o formulário inteiro de uma só vez (uma requisição por aluno)
+     * Valida todas as respostas, grava as linhas de resposta e resposta_opcao
+     * em batches JDBC, atualiza as estatísticas agregadas e finaliza o tracking
+     * na mesma transação
+     *
+     * @param respostas respostas indexadas pelo ID da questão
+     * @param chaveSubmissao chave gerada com o formulário; um reenvio com a mesma chave
+     *        devolve o tracking sem gravar de novo (pode ser nula)
+     */
+    @Transactional
+    @Timed(value = "forms.resposta", extraTags = {"operacao", "submeter"})
+    public AvaliacaoRespostaTracking submeterAvaliacao(Integer avaliacaoId, Integer usuarioId,
+            Map<Integer, RespostaSubmetida> respostas, String ipAddress, String chaveSubmissao) {
+
+        Avaliacao avaliacao = avaliacaoRepository.findById(avaliacaoId)
+            .orElseThrow(() -> new IllegalArgumentException("Avaliação não encontrada"));
+
+        Usuario usuario = usuarioRepository.findById(usuarioId)
+            .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+
+        // Validação pelo formulário compilado; as entidades só são carregadas se ela passar
+        formularioService.buscarValidador(avaliacaoId).validar(respostas);
+        List<Questao> questoes = questaoRepository.findComOpcoesByAvaliacaoId(avaliacaoId);
+
+        // A partir daqui a linha de tracking fica bloqueada até o commit
+        Integer novoId = registrarTracking(avaliacao, usuario, ipAddress);
+        AvaliacaoRespostaTracking tracking = bloquearTracking(avaliacao, usuario);
+
+        if (chaveSubmissao != null && chaveSubmissao.equals(tracking.getChaveSubmissao())) {
+            submissoesRepetidas.incrementAndGet();
+            return tracking;
+        }
+        verificarInicio(avaliacao, tracking, novoId);
+
+        // Em caso de edição, as respostas anteriores são substituídas pelas novas
+        // e descontadas das estatísticas
+        ContagemRespostas contagem = estatisticaService.capturarRespostasAnteriores(avaliacaoId, usuarioId);
+        removerRespostasAnteriores(avaliacaoId, usuarioId);
+        List<Resposta> novasRespostas = inserirRespostasEmLote(questoes, usuario, respostas, ipAddress);
+        estatisticaService.registrarRespostas(contagem, novasRespostas);
+
+        // O formulário enviado substitui o rascunho; um tracking recém-criado não tem rascunho
+        if (!tracking.getId().equals(novoId)) {
+            rascunhoService.descartar(tracking.getId(), avaliacaoId, usuarioId);
+        }
+
+        boolean jaCompleta = tracking.getCompleta();
+        tracking.setChaveSubmissao(chaveSubmissao);
+        tracking.finalizar();
+        progressoService.registrar(avaliacaoId, tracking.getId().equals(novoId), !jaCompleta);
+        return trackingRepository.save(tracking);
+    }
+
+    /**
+     * Aplica as mesmas regras de submeterAvaliacao sem gravar nada
+     * Usado pela ingestão assíncrona para rejeitar a submissão antes de enfileirá-la
+     */
+    @Transactional(readOnly = true)
+    public void validarSubmissao(Integer avaliacaoId, Integer usuarioId, Map<Integer, RespostaSubmetida> respostas,
+            String chaveSubmissao) {
+        Avaliacao avaliacao = avaliacaoRepository.findById(avaliacaoId)
+            .orElseThrow(() -> new IllegalArgumentException("Avaliação não encontrada"));
+
+        Usuario usuario = usuarioRepository.findById(usuarioId)
+            .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+
+        Optional<AvaliacaoRespostaTracking> tracking = trackingRepository.findByAvaliacaoAndUsuario(avaliacao, usuario);
+
+        if (tracking.isPresent()) {
+            if (chaveSubmissao != null && chaveSubmissao.equals(tracking.get().getChaveSubmissao())) {
+                return;
+            }
+            if (tracking.get().getCompleta() && !avaliacao.getPermiteEdicao()) {
+                throw new IllegalStateException("Esta avaliação não permite edição de respostas");
+            }
+        } else if (!avaliacao.isAtiva()) {
+            throw new IllegalStateException("Esta avaliação não está mais disponível");
+        }
+
+        formularioService.buscarValidador(avaliacaoId).validar(respostas);
+    }
+
+    /**
+     * Autosave: aplica ao rascunho só as questões alteradas desde o último salvamento
+     * Uma questão em branco é retirada do rascunho. O primeiro salvamento inicia o tracking;
+     * os seguintes só alteram a memória, e a gravação no banco é feita em lote pelo
+     * RascunhoRespostaService
+     *
+     * @param alteradas questões alteradas, indexadas pelo ID da questão
+     */
+    @Timed(value = "forms.resposta", extraTags = {"operacao", "rascunho"})
+    public void salvarRascunho(Integer avaliacaoId, Integer usuarioId, Map<Integer, RespostaSubmetida> alteradas,
+            String ipAddress) {
+
+        // Inclui o limite de tamanho da resposta gravada: o rascunho não aceita o que a
+        // promoção não conseguiria gravar
+        ValidadorFormulario validador = formularioService.buscarValidador(avaliacaoId);
+        validador.validarParcial(alteradas);
+
+        while (!rascunhoService.aplicar(avaliacaoId, usuarioId, alteradas, validador.getQuestoes())) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                Avaliacao avaliacao = avaliacaoRepository.findById(avaliacaoId)
+                    .orElseThrow(() -> new IllegalArgumentException("Avaliação não encontrada"));
+                Usuario usuario = usuarioRepository.findById(usuarioId)
+                    .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+
+                AvaliacaoRespostaTracking tracking = iniciarRastreamento(avaliacao, usuario, ipAddress);
+                rascunhoService.abrir(tracking.getId(), avaliacaoId, usuarioId);
+            });
+        }
+    }
+
+    /**
+     * Rascunho atual do usuário na avaliação, para preencher o formulário ao reabri-lo
+     * O que está em memória é o mais recente; fora dela, vale o que foi gravado
+     */
+    @Transactional(readOnly = true)
+    public Map<Integer, RespostaSubmetida> buscarRascunho(Integer avaliacaoId, Integer usuarioId) {
+        Map<Integer, RespostaSubmetida> emMemoria = rascunhoService.buscarEmMemoria(avaliacaoId, usuarioId);
+        if (emMemoria != null) {
+            return emMemoria;
+        }
+        return trackingRepository.findIdByAvaliacaoIdAndUsuarioId(avaliacaoId, usuarioId)
+            .map(rascunhoService::carregar)
+            .orElseGet(HashMap::new);
+    }
+
+    /**
+     * Substitui as respostas do usuário pelas do rascunho, com as mesmas regras da submissão;
+     * questões que saíram do formulário depois do salvamento são ignoradas
+     */
+    private void promoverRascunho(Integer avaliacaoId, Usuario usuario, Map<Integer, RespostaSubmetida> rascunho,
+            String ipAddress) {
+
+        ValidadorFormulario validador = formularioService.buscarValidador(avaliacaoId);
+        rascunho.keySet().removeIf(questaoId -> !validador.contem(questaoId));
+        validador.validar(rascunho);
+        List<Questao> questoes = questaoRepository.findComOpcoesByAvaliacaoId(avaliacaoId);
+
+        ContagemRespostas contagem = estatisticaService.capturarRespostasAnteriores(avaliacaoId, usuario.getId());
+        removerRespostasAnteriores(avaliacaoId, usuario.getId());
+        List<Resposta> novasRespostas = inserirRespostasEmLote(questoes, usuario, rascunho, ipAddress);
+        estatisticaService.registrarRespostas(contagem, novasRespostas);
+    }
+
+    /**
+     * Garante que a linha de tracking existe sem ler antes de inserir
+     *
+     * @return o ID reservado para a nova linha; se o tracking já existia, ele terá outro ID
+     */
+    private Integer registrarTracking(Avaliacao avaliacao, Usuario usuario, String ipAddress) {
+        Integer novoId = proximoIdTracking();
+
+        jdbcTemplate.update(REGISTRAR_TRACKING, new MapSqlParameterSource()
+            .addValue("id", novoId)
+            .addValue("avaliacaoId", avaliacao.getId())
+            .addValue("usuarioId", usuario.getId())
+            .addValue("dataInicio", LocalDateTime.now())
+            .addValue("ipAddress", ipAddress));
+
+        return novoId;
+    }
+
+    /**
+     * Corpo de iniciarResposta, também usado pelo primeiro salvamento de rascunho
+     */
+    private AvaliacaoRespostaTracking iniciarRastreamento(Avaliacao avaliacao, Usuario usuario, String ipAddress) {
+        Integer novoId = registrarTracking(avaliacao, usuario, ipAddress);
+        AvaliacaoRespostaTracking tracking = bloquearTracking(avaliacao, usuario);
+        verificarInicio(avaliacao, tracking, novoId);
+        progressoService.registrar(avaliacao.getId(), tracking.getId().equals(novoId), false);
+        return tracking;
+    }
+
+    private AvaliacaoRespostaTracking bloquearTracking(Avaliacao avaliacao, Usuario usuario) {
+        return trackingRepository.findParaAtualizar(avaliacao.getId(), usuario.getId())
+            .orElseThrow(() -> new IllegalStateException("Tracking de resposta não encontrado"));
+    }
+
+    /**
+     * Tracking recém-criado exige avaliação ativa; um já finalizado só pode ser
+     * refeito se a avaliação permitir edição. Se a regra falhar, o rollback desfaz o upsert
+     */
+    private void verificarInicio(Avaliacao avaliacao, AvaliacaoRespostaTracking tracking, Integer novoId) {
+        if (tracking.getId().equals(novoId)) {
+            if (!avaliacao.isAtiva()) {
+                throw new IllegalStateException("Esta avaliação não está mais disponível");
+            }
+        } else if (tracking.getCompleta() && !avaliacao.getPermiteEdicao()) {
+            throw new IllegalStateException("Esta avaliação não permite edição de respostas");
+        }
+    }
+
+    /**
+     * Próximo ID do tracking, da mesma sequência que o @IdSequencial da entidade usa
+     */
+    private Integer proximoIdTracking() {
+        return alocadorIds.proximo("avaliacao_resposta_tracking_seq");
+    }
+
+    private void removerRespostasAnteriores(Integer avaliacaoId, Integer usuarioId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("avaliacaoId", avaliacaoId)
+            .addValue("usuarioId", usuarioId);
+
+        jdbcTemplate.update(
+            "DELETE FROM resposta_opcao WHERE resposta_id IN ("
+                + "SELECT r.id FROM resposta r JOIN questao q ON q.id = r.questao_id "
+                + "WHERE q.avaliacao_id = :avaliacaoId AND r.usuario_id = :usuarioId)",
+            params);
+
+        jdbcTemplate.update(
+            "DELETE FROM resposta WHERE usuario_id = :usuarioId "
+                + "AND questao_id IN (SELECT q.id FROM questao q WHERE q.avaliacao_id = :avaliacaoId)",
+            params);
+    }
+
+    /**
+     * Grava todas as respostas de uma vez. Como os IDs vêm de sequência (@IdSequencial),
+     * o Hibernate agrupa os INSERTs de resposta e resposta_opcao em batches JDBC
+     */
+    private List<Resposta> inserirRespostasEmLote(List<Questao> questoes, Usuario usuario,
+            Map<Integer, RespostaSubmetida> respostas, String ipAddress) {
+
+        List<Resposta> novasRespostas = new ArrayList<>();
+
+        for (Questao questao : questoes) {
+            RespostaSubmetida resposta = respostas.get(questao.getId());
+            if (ValidadorFormulario.emBranco(questao.getTipo(), resposta)) {
+                continue;
+            }
+
+            Resposta novaResposta = new Resposta();
+            novaResposta.setQuestao(questao);
+            novaResposta.setUsuario(usuario);
+            novaResposta.setIpAddress(ipAddress);
+
+            if (questao.getTipo() == TipoQuestao.ABERTA) {
+                novaResposta.setTextoResposta(resposta.getTextoResposta().trim());
+            } else {
+                Set<OpcaoResposta> selecionadas = new HashSet<>();
+                for (OpcaoResposta opcao : questao.getOpcoes()) {
+                    if (resposta.getOpcaoIds().contains(opcao.getId())) {
+                        selecionadas.add(opcao);
+                    }
+                }
+                novaResposta.setOpcoesSelecionadas(selecionadas);
+            }
+
+            novasRespostas.add(novaResposta);
+        }
+
+        return respostaRepository.saveAll(novasRespostas);
     }
 
     /**
@@ -100,6 +413,7 @@ public class AvaliacaoRespostaService {
     /**
      * Lista todas as respostas de um usuário em uma avaliação
      */
+    @Transactional(readOnly = true)
     public List<Resposta> listarRespostasUsuario(Integer avaliacaoId, Integer usuarioId) {
         return respostaRepository.findByAvaliacaoIdAndUsuarioId(avaliacaoId, usuarioId);
     }
@@ -108,6 +422,7 @@ public class AvaliacaoRespostaService {
      * RF03: Lista TODOS que responderam uma avaliação (tracking completo)
      * Usado por administradores/coordenadores para auditoria
      */
+    @Transactional(readOnly = true)
     public List<AvaliacaoRespostaTracking> listarTodosQueResponderam(Avaliacao avaliacao) {
         return trackingRepository.findByAvaliacao(avaliacao);
     }
@@ -115,6 +430,7 @@ public class AvaliacaoRespostaService {
     /**
      * Conta quantas pessoas completaram uma avaliação
      */
+    @Transactional(readOnly = true)
     public Long contarRespostasCompletas(Integer avaliacaoId) {
         return trackingRepository.countRespostasCompletasByAvaliacaoId(avaliacaoId);
     }
@@ -137,6 +453,7 @@ public class AvaliacaoRespostaService {
      * Lista trackings com filtragem de anonimato
      * Se avaliação é anônima e usuário não tem permissão, retorna lista sem identificação
      */
+    @Transactional(readOnly = true)
     public List<AvaliacaoRespostaTracking> listarRespostasComAnonimato(
             Integer avaliacaoId, String perfilUsuario) {
 
@@ -155,4 +472,13 @@ public class AvaliacaoRespostaService {
         // Na prática, o frontend deve apenas mostrar estatísticas agregadas
         return trackings;
     }
+
+    // Métricas
+
+    /**
+     * Reenvios ignorados por já terem sido gravados com a mesma chave
+     */
+    public long getSubmissoesRepetidas() {
+        return submissoesRepetidas.get();
+    }
 }
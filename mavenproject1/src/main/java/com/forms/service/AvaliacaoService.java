@@ -0,0 +1,141 @@
+package com.forms.service;
+
+import com.forms.dto.AvaliacaoAlunoDTO;
+import com.forms.dto.AvaliacaoResumoDTO;
+import com.forms.models.Avaliacao;
+import com.forms.repository.AvaliacaoRepository;
+import com.forms.repository.AvaliacaoRespostaTrackingRepository;
+import com.forms.repository.TurmaRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+public class AvaliacaoService {
+
+    @Autowired
+    private AvaliacaoRepository avaliacaoRepository;
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    @Autowired
+    private AvaliacaoRespostaTrackingRepository trackingRepository;
+
+    @Autowired
+    private IndiceAvaliacoesAtivasService indiceAvaliacoesAtivas;
+
+    @Autowired
+    private FormularioService formularioService;
+
+    @Autowired
+    private EstatisticaAvaliacaoService estatisticaService;
+
+    /**
+     * Salva ou atualiza uma avaliação; após o commit atualiza o índice de avaliações ativas
+     * e descarta o formulário em cache
+     */
+    @Transactional
+    public Avaliacao salvar(Avaliacao avaliacao) {
+        Avaliacao salva = avaliacaoRepository.save(avaliacao);
+        indiceAvaliacoesAtivas.atualizarAposCommit(salva.getId());
+        formularioService.invalidar(salva.getId());
+        return salva;
+    }
+
+    /**
+     * Deleta uma avaliação por ID, a retira do índice de avaliações ativas
+     * e remove suas estatísticas agregadas
+     */
+    @Transactional
+    public void deletar(Integer id) {
+        if (!avaliacaoRepository.existsById(id)) {
+            throw new IllegalArgumentException("Avaliação não encontrada");
+        }
+        avaliacaoRepository.deleteById(id);
+        estatisticaService.removerAvaliacao(id);
+        indiceAvaliacoesAtivas.atualizarAposCommit(id);
+        formularioService.invalidar(id);
+    }
+
+    /**
+     * RF12: Lista as avaliações ativas das turmas em que o aluno está matriculado,
+     * já indicando quais ele finalizou. As avaliações ativas vêm do índice em memória;
+     * no banco ficam apenas as turmas do aluno e o status de resposta.
+     */
+    @Transactional(readOnly = true)
+    public List<AvaliacaoAlunoDTO> listarAvaliacoesAtivasDoAluno(Integer alunoId) {
+        return listarAvaliacoesAtivasDoAluno(alunoId, turmaRepository.findIdsByAlunoId(alunoId));
+    }
+
+    /**
+     * Mesmo que listarAvaliacoesAtivasDoAluno(alunoId), com as turmas do aluno já conhecidas
+     * (ex.: do principal da sessão)
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "forms.dashboard", extraTags = {"painel", "aluno"})
+    public List<AvaliacaoAlunoDTO> listarAvaliacoesAtivasDoAluno(Integer alunoId, Collection<Integer> turmaIds) {
+        if (turmaIds.isEmpty()) {
+            return List.of();
+        }
+
+        Optional<List<AvaliacaoResumoDTO>> indexadas = indiceAvaliacoesAtivas.buscarAtivasPorTurmas(turmaIds);
+        if (indexadas.isEmpty()) {
+            // Índice ainda não montado: consulta única no banco
+            return avaliacaoRepository.findAvaliacoesAtivasDoAluno(alunoId, LocalDateTime.now());
+        }
+
+        List<AvaliacaoResumoDTO> ativas = indexadas.get();
+        if (ativas.isEmpty()) {
+            return List.of();
+        }
+
+        List<Integer> avaliacaoIds = new ArrayList<>();
+        for (AvaliacaoResumoDTO resumo : ativas) {
+            avaliacaoIds.add(resumo.getId());
+        }
+        Set<Integer> completas = new HashSet<>(trackingRepository.findAvaliacaoIdsCompletas(alunoId, avaliacaoIds));
+
+        List<AvaliacaoAlunoDTO> resultado = new ArrayList<>();
+        for (AvaliacaoResumoDTO resumo : ativas) {
+            resultado.add(new AvaliacaoAlunoDTO(resumo, completas.contains(resumo.getId())));
+        }
+        return resultado;
+    }
+
+    /**
+     * Avaliações criadas pelo professor, com o nome da UC
+     */
+    public List<AvaliacaoResumoDTO> listarPorCriador(Integer criadorId) {
+        return avaliacaoRepository.findResumosByCriadorId(criadorId);
+    }
+
+    /**
+     * Se o professor criou a avaliação ou leciona a turma dela
+     * A avaliação vem do cache de segundo nível; criador e turma são lidos só pelo ID
+     */
+    @Transactional(readOnly = true)
+    public boolean isResponsavel(Integer avaliacaoId, Integer professorId, Set<Integer> turmaIdsComoProfessor) {
+        Avaliacao avaliacao = avaliacaoRepository.findById(avaliacaoId)
+            .orElseThrow(() -> new IllegalArgumentException("Avaliação não encontrada"));
+        return professorId.equals(avaliacao.getCriador().getId())
+            || (avaliacao.getTurma() != null && turmaIdsComoProfessor.contains(avaliacao.getTurma().getId()));
+    }
+
+    /**
+     * Lista todas as avaliações em andamento no momento
+     */
+    @Timed(value = "forms.dashboard", extraTags = {"painel", "avaliacoes-ativas"})
+    public List<AvaliacaoResumoDTO> listarAtivas() {
+        return indiceAvaliacoesAtivas.listarAtivas();
+    }
+}
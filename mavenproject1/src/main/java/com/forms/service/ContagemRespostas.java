@@ -0,0 +1,61 @@
+package com.forms.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Variação dos contadores agregados de uma avaliação causada por uma submissão
+ * (respostas anteriores entram com sinal negativo, as novas com sinal positivo)
+ *
+ * Os mapas são ordenados para que as linhas de estatística sejam sempre
+ * atualizadas na mesma ordem, evitando deadlocks entre submissões concorrentes.
+ */
+class ContagemRespostas {
+
+    private final Integer avaliacaoId;
+    private final Map<Integer, Long> porQuestao = new TreeMap<>();
+    private final Map<Integer, Long> porOpcao = new TreeMap<>();
+    private final Map<Integer, Integer> questaoDaOpcao = new TreeMap<>();
+
+    ContagemRespostas(Integer avaliacaoId) {
+        this.avaliacaoId = avaliacaoId;
+    }
+
+    void adicionarResposta(Integer questaoId, long sinal) {
+        porQuestao.merge(questaoId, sinal, Long::sum);
+    }
+
+    void adicionarOpcao(Integer questaoId, Integer opcaoId, long sinal) {
+        porOpcao.merge(opcaoId, sinal, Long::sum);
+        questaoDaOpcao.put(opcaoId, questaoId);
+    }
+
+    /**
+     * Remove as entradas que se anularam (ex.: edição que manteve a mesma opção)
+     */
+    void descartarZerados() {
+        porQuestao.values().removeIf(valor -> valor == 0);
+        porOpcao.values().removeIf(valor -> valor == 0);
+        questaoDaOpcao.keySet().retainAll(porOpcao.keySet());
+    }
+
+    boolean isVazia() {
+        return porQuestao.isEmpty() && porOpcao.isEmpty();
+    }
+
+    Integer getAvaliacaoId() {
+        return avaliacaoId;
+    }
+
+    Map<Integer, Long> getPorQuestao() {
+        return porQuestao;
+    }
+
+    Map<Integer, Long> getPorOpcao() {
+        return porOpcao;
+    }
+
+    Integer getQuestaoDaOpcao(Integer opcaoId) {
+        return questaoDaOpcao.get(opcaoId);
+    }
+}
@@ -1,8 +1,11 @@
 package com.forms.service;
 
+import com.forms.dto.ItemSelecaoDTO;
 import com.forms.models.Curso;
 import com.forms.repository.CursoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -40,6 +43,20 @@ public class CursoService {
         return cursoRepository.findAll();
     }
 
+    /**
+     * Página de cursos cujo nome contém o termo (RF04).
+     */
+    public Page<ItemSelecaoDTO> listar(String busca, Pageable pagina) {
+        return cursoRepository.findResumosByFiltro(PadraoBusca.contem(busca), pagina);
+    }
+
+    /**
+     * Cursos em ordem alfabética para selects, sem carregar as entidades.
+     */
+    public List<ItemSelecaoDTO> listarParaSelecao() {
+        return cursoRepository.findItensSelecao();
+    }
+
     /**
      * Deleta um curso por ID (RF04).
      */
@@ -0,0 +1,399 @@
+package com.forms.service;
+
+import com.forms.dto.EstatisticaQuestaoDTO;
+import com.forms.models.EstatisticaOpcao;
+import com.forms.models.EstatisticaQuestao;
+import com.forms.models.OpcaoResposta;
+import com.forms.models.Resposta;
+import com.forms.repository.EstatisticaOpcaoRepository;
+import com.forms.repository.EstatisticaQuestaoRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RF16: Estatísticas agregadas das avaliações (respostas por questão e seleções por opção)
+ *
+ * Os contadores são atualizados de forma incremental na mesma transação da submissão:
+ * as respostas anteriores do aluno são decrementadas e as novas incrementadas. Assim a
+ * leitura do relatório custa O(questões) em vez de contar todas as respostas.
+ *
+ * Uma verificação periódica compara os contadores com as respostas gravadas e
+ * reconstrói as avaliações divergentes.
+ */
+@Service
+public class EstatisticaAvaliacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(EstatisticaAvaliacaoService.class);
+
+    private static final String UPSERT_QUESTAO =
+        "INSERT INTO estatistica_questao (questao_id, avaliacao_id, total_respostas) "
+        + "VALUES (:questaoId, :avaliacaoId, :delta) "
+        + "ON DUPLICATE KEY UPDATE total_respostas = total_respostas + :delta";
+
+    private static final String UPSERT_OPCAO =
+        "INSERT INTO estatistica_opcao (opcao_id, questao_id, avaliacao_id, total_selecoes) "
+        + "VALUES (:opcaoId, :questaoId, :avaliacaoId, :delta) "
+        + "ON DUPLICATE KEY UPDATE total_selecoes = total_selecoes + :delta";
+
+    private static final String CONTAGEM_QUESTOES =
+        "SELECT q.id, COUNT(r.id) FROM questao q "
+        + "LEFT JOIN resposta r ON r.questao_id = q.id "
+        + "WHERE q.avaliacao_id = :avaliacaoId GROUP BY q.id";
+
+    private static final String CONTAGEM_OPCOES =
+        "SELECT o.id, o.questao_id, COUNT(ro.resposta_id) FROM opcao_resposta o "
+        + "JOIN questao q ON q.id = o.questao_id "
+        + "LEFT JOIN resposta_opcao ro ON ro.opcao_id = o.id "
+        + "WHERE q.avaliacao_id = :avaliacaoId GROUP BY o.id, o.questao_id";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EstatisticaQuestaoRepository estatisticaQuestaoRepository;
+
+    @Autowired
+    private EstatisticaOpcaoRepository estatisticaOpcaoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${forms.estatisticas.verificacao-horas:24}")
+    private long intervaloVerificacaoHoras;
+
+    @Value("${forms.estatisticas.corrigir-divergencias:true}")
+    private boolean corrigirDivergencias;
+
+    private ScheduledExecutorService agendador;
+
+    // Métricas
+    private final AtomicLong contadoresDivergentes = new AtomicLong();
+    private final AtomicLong avaliacoesReconstruidas = new AtomicLong();
+    private volatile long ultimaVerificacaoMillis;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "estatisticas-avaliacoes");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Primeira execução com respostas já gravadas: monta os contadores do zero
+        agendador.execute(() -> {
+            if (estatisticaQuestaoRepository.count() == 0 && existemRespostas()) {
+                log.info("Contadores de estatísticas vazios; reconstruindo a partir das respostas");
+                reconstruirTodas();
+            }
+        });
+        agendador.scheduleWithFixedDelay(this::verificarComSeguranca,
+            intervaloVerificacaoHoras, intervaloVerificacaoHoras, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    public void parar() {
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+    }
+
+    /**
+     * Contagem (com sinal negativo) das respostas que o usuário já tem na avaliação;
+     * deve ser lida antes de as respostas anteriores serem removidas
+     */
+    ContagemRespostas capturarRespostasAnteriores(Integer avaliacaoId, Integer usuarioId) {
+        return capturar(avaliacaoId, "q.avaliacao_id = :avaliacaoId AND r.usuario_id = :usuarioId",
+            new MapSqlParameterSource()
+                .addValue("avaliacaoId", avaliacaoId)
+                .addValue("usuarioId", usuarioId));
+    }
+
+    /**
+     * Contagem (com sinal negativo) de uma única resposta já gravada; vazia para respostas novas
+     */
+    ContagemRespostas capturarResposta(Integer avaliacaoId, Integer respostaId) {
+        if (respostaId == null) {
+            return new ContagemRespostas(avaliacaoId);
+        }
+        return capturar(avaliacaoId, "r.id = :respostaId", new MapSqlParameterSource("respostaId", respostaId));
+    }
+
+    private ContagemRespostas capturar(Integer avaliacaoId, String filtro, MapSqlParameterSource params) {
+        ContagemRespostas contagem = new ContagemRespostas(avaliacaoId);
+        Set<Integer> respostasContadas = new HashSet<>();
+
+        jdbcTemplate.query(
+            "SELECT r.id, r.questao_id, ro.opcao_id FROM resposta r "
+                + "JOIN questao q ON q.id = r.questao_id "
+                + "LEFT JOIN resposta_opcao ro ON ro.resposta_id = r.id "
+                + "WHERE " + filtro,
+            params,
+            rs -> {
+                Integer questaoId = rs.getInt(2);
+                if (respostasContadas.add(rs.getInt(1))) {
+                    contagem.adicionarResposta(questaoId, -1);
+                }
+                int opcaoId = rs.getInt(3);
+                if (!rs.wasNull()) {
+                    contagem.adicionarOpcao(questaoId, opcaoId, -1);
+                }
+            });
+
+        return contagem;
+    }
+
+    /**
+     * Soma as novas respostas à contagem e grava a variação nos contadores
+     * Chamado dentro da transação que gravou as respostas
+     */
+    void registrarRespostas(ContagemRespostas contagem, Collection<Resposta> novasRespostas) {
+        for (Resposta resposta : novasRespostas) {
+            Integer questaoId = resposta.getQuestao().getId();
+            contagem.adicionarResposta(questaoId, 1);
+            if (resposta.getOpcoesSelecionadas() != null) {
+                for (OpcaoResposta opcao : resposta.getOpcoesSelecionadas()) {
+                    contagem.adicionarOpcao(questaoId, opcao.getId(), 1);
+                }
+            }
+        }
+        aplicar(contagem);
+    }
+
+    private void aplicar(ContagemRespostas contagem) {
+        contagem.descartarZerados();
+        if (contagem.isVazia()) {
+            return;
+        }
+
+        List<SqlParameterSource> questoes = new ArrayList<>();
+        for (Map.Entry<Integer, Long> entrada : contagem.getPorQuestao().entrySet()) {
+            questoes.add(new MapSqlParameterSource()
+                .addValue("questaoId", entrada.getKey())
+                .addValue("avaliacaoId", contagem.getAvaliacaoId())
+                .addValue("delta", entrada.getValue()));
+        }
+
+        List<SqlParameterSource> opcoes = new ArrayList<>();
+        for (Map.Entry<Integer, Long> entrada : contagem.getPorOpcao().entrySet()) {
+            opcoes.add(new MapSqlParameterSource()
+                .addValue("opcaoId", entrada.getKey())
+                .addValue("questaoId", contagem.getQuestaoDaOpcao(entrada.getKey()))
+                .addValue("avaliacaoId", contagem.getAvaliacaoId())
+                .addValue("delta", entrada.getValue()));
+        }
+
+        if (!questoes.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_QUESTAO, questoes.toArray(new SqlParameterSource[0]));
+        }
+        if (!opcoes.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_OPCAO, opcoes.toArray(new SqlParameterSource[0]));
+        }
+    }
+
+    /**
+     * RF16: Estatísticas de todas as questões de uma avaliação, lidas dos contadores agregados
+     */
+    @Transactional(readOnly = true)
+    public List<EstatisticaQuestaoDTO> buscarEstatisticas(Integer avaliacaoId) {
+        Map<Integer, List<EstatisticaOpcao>> opcoesPorQuestao = new HashMap<>();
+        for (EstatisticaOpcao opcao : estatisticaOpcaoRepository.findByAvaliacaoId(avaliacaoId)) {
+            opcoesPorQuestao.computeIfAbsent(opcao.getQuestaoId(), k -> new ArrayList<>()).add(opcao);
+        }
+
+        List<EstatisticaQuestaoDTO> resultado = new ArrayList<>();
+        for (EstatisticaQuestao questao : estatisticaQuestaoRepository.findByAvaliacaoId(avaliacaoId)) {
+            long total = questao.getTotalRespostas();
+            List<EstatisticaQuestaoDTO.OpcaoDTO> opcoes = new ArrayList<>();
+            for (EstatisticaOpcao opcao : opcoesPorQuestao.getOrDefault(questao.getQuestaoId(), List.of())) {
+                opcoes.add(new EstatisticaQuestaoDTO.OpcaoDTO(opcao.getOpcaoId(), opcao.getTotalSelecoes(), total));
+            }
+            resultado.add(new EstatisticaQuestaoDTO(questao.getQuestaoId(), total, opcoes));
+        }
+        return resultado;
+    }
+
+    /**
+     * Recalcula do zero os contadores de uma avaliação a partir das respostas gravadas
+     */
+    @Transactional
+    public void reconstruir(Integer avaliacaoId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("avaliacaoId", avaliacaoId);
+
+        jdbcTemplate.update("DELETE FROM estatistica_opcao WHERE avaliacao_id = :avaliacaoId", params);
+        jdbcTemplate.update("DELETE FROM estatistica_questao WHERE avaliacao_id = :avaliacaoId", params);
+
+        jdbcTemplate.update(
+            "INSERT INTO estatistica_questao (questao_id, avaliacao_id, total_respostas) "
+                + "SELECT q.id, q.avaliacao_id, COUNT(r.id) FROM questao q "
+                + "LEFT JOIN resposta r ON r.questao_id = q.id "
+                + "WHERE q.avaliacao_id = :avaliacaoId GROUP BY q.id, q.avaliacao_id",
+            params);
+
+        jdbcTemplate.update(
+            "INSERT INTO estatistica_opcao (opcao_id, questao_id, avaliacao_id, total_selecoes) "
+                + "SELECT o.id, o.questao_id, q.avaliacao_id, COUNT(ro.resposta_id) FROM opcao_resposta o "
+                + "JOIN questao q ON q.id = o.questao_id "
+                + "LEFT JOIN resposta_opcao ro ON ro.opcao_id = o.id "
+                + "WHERE q.avaliacao_id = :avaliacaoId GROUP BY o.id, o.questao_id, q.avaliacao_id",
+            params);
+
+        avaliacoesReconstruidas.incrementAndGet();
+    }
+
+    /**
+     * Reconstrói todas as avaliações, uma transação por avaliação
+     * @return número de avaliações reconstruídas
+     */
+    public int reconstruirTodas() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<Integer> avaliacaoIds = listarAvaliacaoIds();
+        for (Integer avaliacaoId : avaliacaoIds) {
+            transactionTemplate.executeWithoutResult(status -> reconstruir(avaliacaoId));
+        }
+        return avaliacaoIds.size();
+    }
+
+    /**
+     * Remove os contadores de uma avaliação deletada
+     */
+    @Transactional
+    public void removerAvaliacao(Integer avaliacaoId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("avaliacaoId", avaliacaoId);
+        jdbcTemplate.update("DELETE FROM estatistica_opcao WHERE avaliacao_id = :avaliacaoId", params);
+        jdbcTemplate.update("DELETE FROM estatistica_questao WHERE avaliacao_id = :avaliacaoId", params);
+    }
+
+    /**
+     * Compara os contadores de uma avaliação com a contagem direta das respostas
+     * @return número de contadores divergentes (ausentes, sobrando ou com valor diferente)
+     *
+     * Roda no primário: na réplica o atraso da replicação apareceria como divergência
+     */
+    @Transactional
+    public long verificarConsistencia(Integer avaliacaoId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("avaliacaoId", avaliacaoId);
+
+        Map<Integer, Long> questoesReais = new HashMap<>();
+        jdbcTemplate.query(CONTAGEM_QUESTOES, params,
+            rs -> { questoesReais.put(rs.getInt(1), rs.getLong(2)); });
+
+        Map<Integer, Long> opcoesReais = new HashMap<>();
+        jdbcTemplate.query(CONTAGEM_OPCOES, params,
+            rs -> { opcoesReais.put(rs.getInt(1), rs.getLong(3)); });
+
+        Map<Integer, Long> questoesGravadas = new HashMap<>();
+        for (EstatisticaQuestao questao : estatisticaQuestaoRepository.findByAvaliacaoId(avaliacaoId)) {
+            questoesGravadas.put(questao.getQuestaoId(), questao.getTotalRespostas());
+        }
+
+        Map<Integer, Long> opcoesGravadas = new HashMap<>();
+        for (EstatisticaOpcao opcao : estatisticaOpcaoRepository.findByAvaliacaoId(avaliacaoId)) {
+            opcoesGravadas.put(opcao.getOpcaoId(), opcao.getTotalSelecoes());
+        }
+
+        long divergentes = contarDivergencias(questoesReais, questoesGravadas)
+            + contarDivergencias(opcoesReais, opcoesGravadas);
+
+        if (divergentes > 0) {
+            log.warn("Estatísticas da avaliação {} com {} contadores divergentes", avaliacaoId, divergentes);
+        }
+        return divergentes;
+    }
+
+    /**
+     * Verifica todas as avaliações e, se configurado, reconstrói as divergentes
+     * @return total de contadores divergentes encontrados
+     */
+    public long verificarTodas() {
+        long total = 0;
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        for (Integer avaliacaoId : listarAvaliacaoIds()) {
+            long divergentes = transactionTemplate.execute(status -> verificarConsistencia(avaliacaoId));
+            if (divergentes > 0 && corrigirDivergencias) {
+                transactionTemplate.executeWithoutResult(status -> reconstruir(avaliacaoId));
+            }
+            total += divergentes;
+        }
+
+        contadoresDivergentes.addAndGet(total);
+        ultimaVerificacaoMillis = System.currentTimeMillis();
+        return total;
+    }
+
+    private void verificarComSeguranca() {
+        try {
+            verificarTodas();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao verificar as estatísticas das avaliações", e);
+        }
+    }
+
+    /**
+     * Contadores zerados equivalem a contadores ausentes (questões ainda sem resposta)
+     */
+    private static long contarDivergencias(Map<Integer, Long> reais, Map<Integer, Long> gravados) {
+        Set<Integer> chaves = new HashSet<>(reais.keySet());
+        chaves.addAll(gravados.keySet());
+
+        long divergentes = 0;
+        for (Integer chave : chaves) {
+            if (!Objects.equals(reais.getOrDefault(chave, 0L), gravados.getOrDefault(chave, 0L))) {
+                divergentes++;
+            }
+        }
+        return divergentes;
+    }
+
+    private List<Integer> listarAvaliacaoIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM avaliacao ORDER BY id",
+            new MapSqlParameterSource(), Integer.class);
+    }
+
+    private boolean existemRespostas() {
+        return !jdbcTemplate.queryForList("SELECT id FROM resposta LIMIT 1",
+            new MapSqlParameterSource(), Integer.class).isEmpty();
+    }
+
+    // Métricas
+
+    /**
+     * Contadores que estavam divergentes nas verificações periódicas
+     */
+    public long getContadoresDivergentes() {
+        return contadoresDivergentes.get();
+    }
+
+    public long getAvaliacoesReconstruidas() {
+        return avaliacoesReconstruidas.get();
+    }
+
+    public long getSegundosDesdeUltimaVerificacao() {
+        return ultimaVerificacaoMillis == 0 ? -1 : (System.currentTimeMillis() - ultimaVerificacaoMillis) / 1000;
+    }
+}
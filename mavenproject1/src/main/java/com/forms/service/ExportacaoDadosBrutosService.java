@@ -0,0 +1,235 @@
+package com.forms.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forms.models.Avaliacao;
+import com.forms.repository.AvaliacaoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HexFormat;
+
+/**
+ * RF20: Exportação de dados brutos das respostas de uma avaliação
+ *
+ * As linhas são lidas por um cursor JDBC forward-only e escritas direto no
+ * OutputStream da resposta HTTP, sem montar listas em memória: o consumo de
+ * memória é constante, independente do número de respostas.
+ *
+ * Cada linha corresponde a uma opção selecionada (respostas abertas geram uma linha sem opção).
+ * Em avaliações anônimas o usuário é substituído por um pseudônimo estável por avaliação.
+ */
+@Service
+public class ExportacaoDadosBrutosService {
+
+    public enum Formato {
+        CSV, NDJSON
+    }
+
+    private static final String[] COLUNAS = {
+        "respostaId", "questaoId", "questaoOrdem", "questaoTipo", "usuario",
+        "dataResposta", "dataUltimaEdicao", "textoResposta", "opcaoId", "opcaoTexto"
+    };
+
+    private static final String CONSULTA =
+        "SELECT r.id, q.id, q.ordem, q.tipo, r.usuario_id, r.data_resposta, r.data_ultima_edicao, "
+        + "r.texto_resposta, o.id, o.texto "
+        + "FROM resposta r "
+        + "JOIN questao q ON q.id = r.questao_id "
+        + "LEFT JOIN resposta_opcao ro ON ro.resposta_id = r.id "
+        + "LEFT JOIN opcao_resposta o ON o.id = ro.opcao_id "
+        + "WHERE q.avaliacao_id = ? "
+        + "ORDER BY r.id, o.ordem";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AvaliacaoRepository avaliacaoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Fetch size usado em bancos que não são MySQL (H2 recusa valores negativos)
+     */
+    private static final int FETCH_SIZE_PADRAO = 500;
+
+    /**
+     * Sem valor, escolhe pelo banco da conexão: Integer.MIN_VALUE no MySQL, que faz o
+     * driver entregar as linhas uma a uma (streaming), e FETCH_SIZE_PADRAO nos demais
+     */
+    @Value("${forms.exportacao.fetch-size:#{null}}")
+    private Integer fetchSize;
+
+    @Value("${forms.exportacao.pseudonimo.segredo:${api.security.token.secret}}")
+    private String segredoPseudonimo;
+
+    /**
+     * Busca a avaliação antes de iniciar o download, para que erros ainda
+     * possam ser tratados como uma requisição comum
+     */
+    public Avaliacao buscarAvaliacao(Integer avaliacaoId) {
+        return avaliacaoRepository.findById(avaliacaoId)
+            .orElseThrow(() -> new IllegalArgumentException("Avaliação não encontrada"));
+    }
+
+    /**
+     * Escreve todas as respostas da avaliação no destino informado
+     */
+    @Transactional(readOnly = true)
+    public void exportar(Avaliacao avaliacao, Formato formato, OutputStream destino) throws IOException {
+        Integer avaliacaoId = avaliacao.getId();
+        boolean anonima = Boolean.TRUE.equals(avaliacao.getAnonima());
+        Mac hmac = anonima ? criarHmac(avaliacaoId) : null;
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(destino, StandardCharsets.UTF_8), 64 * 1024);
+        // As linhas já são separadas por '\n'; sem o espaço padrão entre valores raiz
+        JsonGenerator json = formato == Formato.NDJSON
+            ? objectMapper.getFactory().createGenerator(writer).setRootValueSeparator(null)
+            : null;
+
+        if (formato == Formato.CSV) {
+            writer.write(String.join(",", COLUNAS));
+            writer.write('\n');
+        }
+
+        try {
+            jdbcTemplate.query(
+                conexao -> {
+                    PreparedStatement ps = conexao.prepareStatement(CONSULTA,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(fetchSize != null ? fetchSize : fetchSizePara(conexao));
+                    ps.setInt(1, avaliacaoId);
+                    return ps;
+                },
+                rs -> {
+                    try {
+                        Object[] linha = lerLinha(rs, hmac);
+                        if (json != null) {
+                            escreverNdjson(json, linha);
+                        } else {
+                            escreverCsv(writer, linha);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        } catch (UncheckedIOException e) {
+            // Normalmente o cliente cancelou o download
+            throw e.getCause();
+        }
+
+        if (json != null) {
+            json.flush();
+        }
+        writer.flush();
+    }
+
+    private Object[] lerLinha(ResultSet rs, Mac hmac) throws SQLException {
+        int usuarioId = rs.getInt(5);
+        Object usuario = hmac != null ? pseudonimo(hmac, usuarioId) : usuarioId;
+
+        return new Object[] {
+            rs.getInt(1),
+            rs.getInt(2),
+            rs.getInt(3),
+            rs.getString(4),
+            usuario,
+            formatar(rs.getTimestamp(6)),
+            formatar(rs.getTimestamp(7)),
+            rs.getString(8),
+            rs.getObject(9) != null ? rs.getInt(9) : null,
+            rs.getString(10)
+        };
+    }
+
+    private void escreverCsv(Writer writer, Object[] linha) throws IOException {
+        for (int i = 0; i < linha.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object valor = linha[i];
+            if (valor == null) {
+                continue;
+            }
+            String texto = valor.toString();
+            if (texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0
+                    || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(texto.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(texto);
+            }
+        }
+        writer.write('\n');
+    }
+
+    private void escreverNdjson(JsonGenerator json, Object[] linha) throws IOException {
+        json.writeStartObject();
+        for (int i = 0; i < linha.length; i++) {
+            Object valor = linha[i];
+            if (valor == null) {
+                json.writeNullField(COLUNAS[i]);
+            } else if (valor instanceof Integer numero) {
+                json.writeNumberField(COLUNAS[i], numero);
+            } else {
+                json.writeStringField(COLUNAS[i], valor.toString());
+            }
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static String formatar(Timestamp data) {
+        return data != null ? data.toLocalDateTime().toString() : null;
+    }
+
+    /**
+     * A chave inclui o ID da avaliação: o mesmo aluno recebe pseudônimos
+     * diferentes em avaliações diferentes, impedindo cruzar exportações
+     */
+    private Mac criarHmac(Integer avaliacaoId) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            byte[] chave = (segredoPseudonimo + ":" + avaliacaoId).getBytes(StandardCharsets.UTF_8);
+            mac.init(new SecretKeySpec(chave, "HmacSHA256"));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 indisponível", e);
+        }
+    }
+
+    private static int fetchSizePara(Connection conexao) throws SQLException {
+        String banco = conexao.getMetaData().getDatabaseProductName();
+        return "MySQL".equalsIgnoreCase(banco) ? Integer.MIN_VALUE : FETCH_SIZE_PADRAO;
+    }
+
+    /**
+     * Mantém 128 bits do HMAC, o mínimo usual para um HMAC truncado; o pseudônimo
+     * não precisa ser curto, só estável
+     */
+    private static String pseudonimo(Mac hmac, int usuarioId) {
+        byte[] digest = hmac.doFinal(Integer.toString(usuarioId).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest, 0, 16);
+    }
+}
@@ -0,0 +1,159 @@
+package com.forms.service;
+
+import com.forms.dto.FormularioDTO;
+import com.forms.dto.FormularioDTO.OpcaoDTO;
+import com.forms.dto.FormularioDTO.QuestaoDTO;
+import com.forms.models.TipoQuestao;
+import com.forms.repository.AvaliacaoRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache de formulários "pré-compilados" para a página de resposta do aluno
+ *
+ * Cada formulário é montado uma vez por avaliação com uma única consulta e
+ * mantido como snapshot imutável em um cache limitado por tamanho. Alterações
+ * no formulário (avaliação, questões ou opções) invalidam o snapshot após o commit.
+ *
+ * Do snapshot também é compilado o validador das submissões (RF10), guardado à parte
+ * e recompilado sempre que a versão do snapshot muda.
+ */
+@Service
+public class FormularioService {
+
+    @Autowired
+    private AvaliacaoRepository avaliacaoRepository;
+
+    @Value("${forms.formulario.cache.tamanho-maximo:500}")
+    private long tamanhoMaximo;
+
+    private final AtomicLong versoes = new AtomicLong();
+
+    private Cache<Integer, FormularioDTO> cache;
+
+    private Cache<Integer, ValidadorFormulario> validadores;
+
+    @PostConstruct
+    public void iniciar() {
+        cache = Caffeine.newBuilder()
+            .maximumSize(tamanhoMaximo)
+            .recordStats()
+            .build();
+        validadores = Caffeine.newBuilder()
+            .maximumSize(tamanhoMaximo)
+            .build();
+    }
+
+    /**
+     * Busca o snapshot do formulário, montando-o na primeira vez
+     */
+    public FormularioDTO buscarFormulario(Integer avaliacaoId) {
+        return cache.get(avaliacaoId, this::montar);
+    }
+
+    /**
+     * Validador compilado do snapshot atual; se o snapshot foi remontado desde a
+     * compilação, compila de novo
+     */
+    public ValidadorFormulario buscarValidador(Integer avaliacaoId) {
+        FormularioDTO formulario = buscarFormulario(avaliacaoId);
+        ValidadorFormulario validador = validadores.getIfPresent(avaliacaoId);
+        if (validador == null || validador.getVersao() != formulario.getVersao()) {
+            validador = ValidadorFormulario.compilar(formulario);
+            validadores.put(avaliacaoId, validador);
+        }
+        return validador;
+    }
+
+    /**
+     * Descarta o snapshot de uma avaliação; dentro de uma transação, só após o commit
+     */
+    public void invalidar(Integer avaliacaoId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(avaliacaoId);
+                    validadores.invalidate(avaliacaoId);
+                }
+            });
+        } else {
+            cache.invalidate(avaliacaoId);
+            validadores.invalidate(avaliacaoId);
+        }
+    }
+
+    private FormularioDTO montar(Integer avaliacaoId) {
+        List<Object[]> linhas = avaliacaoRepository.findFormularioById(avaliacaoId);
+        if (linhas.isEmpty()) {
+            throw new IllegalArgumentException("Avaliação não encontrada");
+        }
+
+        Object[] cabecalho = linhas.get(0);
+        List<QuestaoDTO> questoes = new ArrayList<>();
+
+        // Linhas vêm ordenadas por questão e depois por opção
+        Integer questaoAtual = null;
+        Object[] linhaQuestao = null;
+        List<OpcaoDTO> opcoes = new ArrayList<>();
+
+        for (Object[] linha : linhas) {
+            Integer questaoId = (Integer) linha[5];
+            if (questaoId == null) {
+                continue;
+            }
+
+            if (!questaoId.equals(questaoAtual)) {
+                if (linhaQuestao != null) {
+                    questoes.add(novaQuestao(linhaQuestao, opcoes));
+                }
+                questaoAtual = questaoId;
+                linhaQuestao = linha;
+                opcoes = new ArrayList<>();
+            }
+
+            if (linha[10] != null) {
+                opcoes.add(new OpcaoDTO((Integer) linha[10], (String) linha[11], (Integer) linha[12]));
+            }
+        }
+        if (linhaQuestao != null) {
+            questoes.add(novaQuestao(linhaQuestao, opcoes));
+        }
+
+        return new FormularioDTO((Integer) cabecalho[0], (Integer) cabecalho[13], versoes.incrementAndGet(),
+            (String) cabecalho[1], (String) cabecalho[2], (Boolean) cabecalho[3], (Boolean) cabecalho[4], questoes);
+    }
+
+    private QuestaoDTO novaQuestao(Object[] linha, List<OpcaoDTO> opcoes) {
+        return new QuestaoDTO((Integer) linha[5], (String) linha[6], (TipoQuestao) linha[7],
+            (Integer) linha[8], (Boolean) linha[9], opcoes);
+    }
+
+    // Métricas
+
+    public long getAcertos() {
+        return cache.stats().hitCount();
+    }
+
+    public long getFaltas() {
+        return cache.stats().missCount();
+    }
+
+    public long getRemocoesPorTamanho() {
+        return cache.stats().evictionCount();
+    }
+
+    public long getTamanho() {
+        return cache.estimatedSize();
+    }
+}
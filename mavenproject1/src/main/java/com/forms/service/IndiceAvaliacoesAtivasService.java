@@ -0,0 +1,350 @@
+package com.forms.service;
+
+import com.forms.dto.AvaliacaoResumoDTO;
+import com.forms.repository.AvaliacaoRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Índice em memória das avaliações ativas por turma
+ *
+ * Montado na inicialização a partir das avaliações ainda não encerradas, atualizado
+ * quando uma avaliação é salva ou removida e avançado por uma roda temporal nos
+ * instantes de dataInicio/dataFim. Consultas do dashboard viram leituras de mapa.
+ *
+ * Uma reconstrução periódica corrige alterações feitas fora de AvaliacaoService
+ * e alimenta a métrica de divergências (staleness).
+ */
+@Service
+public class IndiceAvaliacoesAtivasService {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceAvaliacoesAtivasService.class);
+
+    private static final Comparator<AvaliacaoResumoDTO> POR_DATA_FIM =
+        Comparator.comparing(AvaliacaoResumoDTO::getDataFim).thenComparing(AvaliacaoResumoDTO::getId);
+
+    @Autowired
+    private AvaliacaoRepository avaliacaoRepository;
+
+    @Value("${forms.indice-avaliacoes.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${forms.indice-avaliacoes.posicoes-roda:3600}")
+    private int posicoesRoda;
+
+    @Value("${forms.indice-avaliacoes.reconstrucao-minutos:10}")
+    private long intervaloReconstrucaoMinutos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Avaliações não encerradas (ativas ou por abrir), protegido por lock
+     */
+    private final Map<Integer, AvaliacaoResumoDTO> conhecidas = new HashMap<>();
+
+    /**
+     * Listas imutáveis publicadas para leitura sem lock
+     */
+    private volatile Map<Integer, List<AvaliacaoResumoDTO>> ativasPorTurma = Map.of();
+    private volatile List<AvaliacaoResumoDTO> ativas = List.of();
+
+    private RodaTemporal roda;
+    private ScheduledExecutorService agendador;
+    private volatile boolean pronto;
+
+    // Métricas
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong faltas = new AtomicLong();
+    private final AtomicLong divergenciasReconstrucao = new AtomicLong();
+    private volatile long ultimaReconstrucaoMillis;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        roda = new RodaTemporal(tickMillis, posicoesRoda, System.currentTimeMillis());
+        reconstruir();
+
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "indice-avaliacoes");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleAtFixedRate(this::avancarRoda, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        agendador.scheduleWithFixedDelay(this::reconstruirComSeguranca,
+            intervaloReconstrucaoMinutos, intervaloReconstrucaoMinutos, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void parar() {
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+    }
+
+    /**
+     * Avaliações ativas das turmas informadas; vazio se o índice ainda não foi montado,
+     * caso em que o chamador deve consultar o banco
+     */
+    public Optional<List<AvaliacaoResumoDTO>> buscarAtivasPorTurmas(Collection<Integer> turmaIds) {
+        if (!pronto) {
+            faltas.incrementAndGet();
+            return Optional.empty();
+        }
+        acertos.incrementAndGet();
+
+        Map<Integer, List<AvaliacaoResumoDTO>> indice = ativasPorTurma;
+        List<AvaliacaoResumoDTO> resultado = new ArrayList<>();
+        for (Integer turmaId : turmaIds) {
+            resultado.addAll(indice.getOrDefault(turmaId, List.of()));
+        }
+        resultado.sort(POR_DATA_FIM);
+        return Optional.of(resultado);
+    }
+
+    /**
+     * Todas as avaliações ativas no momento (substitui findAvaliacoesAtivas)
+     */
+    public List<AvaliacaoResumoDTO> listarAtivas() {
+        if (!pronto) {
+            faltas.incrementAndGet();
+            LocalDateTime agora = LocalDateTime.now();
+            List<AvaliacaoResumoDTO> resultado = new ArrayList<>();
+            for (AvaliacaoResumoDTO resumo : avaliacaoRepository.findResumosNaoEncerrados(agora)) {
+                if (resumo.isAtivaEm(agora)) {
+                    resultado.add(resumo);
+                }
+            }
+            resultado.sort(POR_DATA_FIM);
+            return resultado;
+        }
+        acertos.incrementAndGet();
+        return ativas;
+    }
+
+    /**
+     * Atualiza o índice para a avaliação informada depois do commit da transação corrente
+     */
+    public void atualizarAposCommit(Integer avaliacaoId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    atualizar(avaliacaoId);
+                }
+            });
+        } else {
+            atualizar(avaliacaoId);
+        }
+    }
+
+    /**
+     * Recarrega uma avaliação do banco (salva, alterada ou removida) e reagenda seus eventos
+     */
+    public void atualizar(Integer avaliacaoId) {
+        if (!pronto) {
+            return;
+        }
+
+        Optional<AvaliacaoResumoDTO> resumo = avaliacaoRepository.findResumoById(avaliacaoId);
+
+        lock.lock();
+        try {
+            if (resumo.isPresent() && !resumo.get().getDataFim().isBefore(LocalDateTime.now())) {
+                conhecidas.put(avaliacaoId, resumo.get());
+                agendar(resumo.get());
+            } else {
+                conhecidas.remove(avaliacaoId);
+            }
+            publicar();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Recarrega o índice inteiro a partir do banco
+     */
+    public void reconstruir() {
+        LocalDateTime agora = LocalDateTime.now();
+        List<AvaliacaoResumoDTO> naoEncerradas = avaliacaoRepository.findResumosNaoEncerrados(agora);
+
+        lock.lock();
+        try {
+            Map<Integer, AvaliacaoResumoDTO> novas = new HashMap<>();
+            for (AvaliacaoResumoDTO resumo : naoEncerradas) {
+                novas.put(resumo.getId(), resumo);
+            }
+
+            if (pronto) {
+                long divergentes = contarDivergencias(novas);
+                if (divergentes > 0) {
+                    divergenciasReconstrucao.addAndGet(divergentes);
+                    log.info("Índice de avaliações ativas corrigido em {} avaliações na reconstrução", divergentes);
+                }
+            }
+
+            conhecidas.clear();
+            conhecidas.putAll(novas);
+            roda.limpar();
+            for (AvaliacaoResumoDTO resumo : conhecidas.values()) {
+                agendar(resumo);
+            }
+            publicar();
+
+            ultimaReconstrucaoMillis = System.currentTimeMillis();
+            pronto = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reconstruirComSeguranca() {
+        try {
+            reconstruir();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao reconstruir o índice de avaliações ativas", e);
+        }
+    }
+
+    private void avancarRoda() {
+        lock.lock();
+        try {
+            List<Integer> vencidos = roda.avancar(System.currentTimeMillis());
+            if (vencidos.isEmpty()) {
+                return;
+            }
+
+            LocalDateTime agora = LocalDateTime.now();
+            for (Integer avaliacaoId : vencidos) {
+                AvaliacaoResumoDTO resumo = conhecidas.get(avaliacaoId);
+                if (resumo != null && resumo.getDataFim().isBefore(agora)) {
+                    conhecidas.remove(avaliacaoId);
+                }
+            }
+            publicar();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao avançar a roda do índice de avaliações ativas", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Agenda abertura e fechamento; eventos de versões antigas da avaliação
+     * apenas disparam uma republicação, que sempre reflete o estado atual
+     */
+    private void agendar(AvaliacaoResumoDTO resumo) {
+        roda.agendar(paraMillis(resumo.getDataInicio()), resumo.getId());
+        // dataFim é inclusiva: a avaliação fecha logo depois desse instante
+        roda.agendar(paraMillis(resumo.getDataFim()) + 1, resumo.getId());
+    }
+
+    /**
+     * Recalcula as listas publicadas a partir das avaliações conhecidas (chamado com lock)
+     */
+    private void publicar() {
+        LocalDateTime agora = LocalDateTime.now();
+        Map<Integer, List<AvaliacaoResumoDTO>> porTurma = new HashMap<>();
+        List<AvaliacaoResumoDTO> todas = new ArrayList<>();
+
+        for (AvaliacaoResumoDTO resumo : conhecidas.values()) {
+            if (!resumo.isAtivaEm(agora)) {
+                continue;
+            }
+            todas.add(resumo);
+            if (resumo.getTurmaId() != null) {
+                porTurma.computeIfAbsent(resumo.getTurmaId(), k -> new ArrayList<>()).add(resumo);
+            }
+        }
+
+        Map<Integer, List<AvaliacaoResumoDTO>> imutavel = new HashMap<>();
+        for (Map.Entry<Integer, List<AvaliacaoResumoDTO>> entrada : porTurma.entrySet()) {
+            entrada.getValue().sort(POR_DATA_FIM);
+            imutavel.put(entrada.getKey(), List.copyOf(entrada.getValue()));
+        }
+        todas.sort(POR_DATA_FIM);
+
+        ativasPorTurma = Map.copyOf(imutavel);
+        ativas = List.copyOf(todas);
+    }
+
+    private long contarDivergencias(Map<Integer, AvaliacaoResumoDTO> novas) {
+        long divergentes = 0;
+        for (Map.Entry<Integer, AvaliacaoResumoDTO> entrada : novas.entrySet()) {
+            AvaliacaoResumoDTO atual = conhecidas.get(entrada.getKey());
+            if (atual == null
+                    || !Objects.equals(atual.getDataInicio(), entrada.getValue().getDataInicio())
+                    || !Objects.equals(atual.getDataFim(), entrada.getValue().getDataFim())
+                    || !Objects.equals(atual.getTurmaId(), entrada.getValue().getTurmaId())) {
+                divergentes++;
+            }
+        }
+        for (Integer id : conhecidas.keySet()) {
+            if (!novas.containsKey(id)) {
+                divergentes++;
+            }
+        }
+        return divergentes;
+    }
+
+    private static long paraMillis(LocalDateTime data) {
+        return data.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // Métricas
+
+    public long getAcertos() {
+        return acertos.get();
+    }
+
+    public long getFaltas() {
+        return faltas.get();
+    }
+
+    /**
+     * Avaliações que estavam desatualizadas no índice e foram corrigidas pela reconstrução periódica
+     */
+    public long getDivergenciasReconstrucao() {
+        return divergenciasReconstrucao.get();
+    }
+
+    public long getSegundosDesdeUltimaReconstrucao() {
+        return pronto ? (System.currentTimeMillis() - ultimaReconstrucaoMillis) / 1000 : -1;
+    }
+
+    public int getAvaliacoesAtivas() {
+        return ativas.size();
+    }
+
+    public int getEventosAgendados() {
+        lock.lock();
+        try {
+            return roda == null ? 0 : roda.getEventosAgendados();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
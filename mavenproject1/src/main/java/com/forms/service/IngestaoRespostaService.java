@@ -0,0 +1,332 @@
+package com.forms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forms.dto.RespostaSubmetida;
+import com.forms.dto.SubmissaoResposta;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ingestão das submissões de respostas dos alunos
+ *
+ * No modo síncrono (padrão) apenas delega para AvaliacaoRespostaService.submeterAvaliacao.
+ * No modo assíncrono (forms.ingestao.assincrona=true) a submissão é validada, gravada
+ * no journal em disco e confirmada ao aluno; escritores em segundo plano drenam as filas
+ * em lotes para o banco. Com a fila cheia a requisição espera até forms.ingestao.espera-fila
+ * por espaço e, se não houver, a submissão é recusada para o aluno tentar de novo.
+ *
+ * Cada aluno é sempre atendido pelo mesmo escritor, preservando a ordem das suas submissões.
+ * Por isso a fila cheia não grava pela thread da requisição: a submissão mais nova chegaria
+ * ao banco antes das que já estão na fila e seria sobrescrita por elas.
+ */
+@Service
+public class IngestaoRespostaService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestaoRespostaService.class);
+
+    @Autowired
+    private AvaliacaoRespostaService avaliacaoRespostaService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${forms.ingestao.assincrona:false}")
+    private boolean assincrona;
+
+    @Value("${forms.ingestao.capacidade-fila:10000}")
+    private int capacidadeFila;
+
+    @Value("${forms.ingestao.escritores:4}")
+    private int escritores;
+
+    @Value("${forms.ingestao.tamanho-lote:50}")
+    private int tamanhoLote;
+
+    @Value("${forms.ingestao.espera-fila:2s}")
+    private Duration esperaFila;
+
+    @Value("${forms.ingestao.journal:data/ingestao-respostas.journal}")
+    private String caminhoJournal;
+
+    @Value("${forms.ingestao.journal-compactacao-bytes:67108864}")
+    private long tamanhoCompactacao;
+
+    private final List<BlockingQueue<SubmissaoResposta>> filas = new ArrayList<>();
+
+    private final AtomicLong sequencia = new AtomicLong();
+
+    private JournalIngestao journal;
+    private ExecutorService pool;
+    private TransactionTemplate transactionTemplate;
+    private volatile boolean ativo;
+
+    // Métricas
+    private final AtomicLong submissoesEnfileiradas = new AtomicLong();
+    private final AtomicLong submissoesGravadas = new AtomicLong();
+    private final AtomicLong submissoesRecusadasPorFilaCheia = new AtomicLong();
+    private final AtomicLong submissoesComFalha = new AtomicLong();
+    private final AtomicLong lotesDrenados = new AtomicLong();
+    private final AtomicLong tempoTotalDrenagemNanos = new AtomicLong();
+    private final AtomicLong ultimaDrenagemNanos = new AtomicLong();
+
+    @PostConstruct
+    public void iniciar() throws IOException {
+        if (!assincrona) {
+            return;
+        }
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        journal = new JournalIngestao(Paths.get(caminhoJournal), objectMapper, tamanhoCompactacao);
+
+        int capacidadePorEscritor = Math.max(1, capacidadeFila / escritores);
+        for (int i = 0; i < escritores; i++) {
+            filas.add(new ArrayBlockingQueue<>(capacidadePorEscritor));
+        }
+
+        List<SubmissaoResposta> recuperadas = journal.abrir();
+        for (SubmissaoResposta submissao : recuperadas) {
+            sequencia.accumulateAndGet(submissao.getSequencia(), Math::max);
+        }
+
+        ativo = true;
+        pool = Executors.newFixedThreadPool(escritores, tarefa -> {
+            Thread thread = new Thread(tarefa);
+            thread.setName("ingestao-respostas-" + thread.getId());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (BlockingQueue<SubmissaoResposta> fila : filas) {
+            pool.submit(() -> drenar(fila));
+        }
+
+        if (!recuperadas.isEmpty()) {
+            log.info("Regravando {} submissões pendentes do journal de ingestão", recuperadas.size());
+            try {
+                // Já confirmadas ao aluno: esperam o espaço na fila que for preciso
+                for (SubmissaoResposta submissao : recuperadas) {
+                    fila(submissao).put(submissao);
+                    submissoesEnfileiradas.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Regravação interrompida; as pendentes continuam no journal");
+            }
+        }
+    }
+
+    /**
+     * Recebe a submissão do formulário completo de um aluno
+     * No modo assíncrono retorna assim que a submissão estiver persistida no journal
+     */
+    public void submeter(Integer avaliacaoId, Integer usuarioId,
+            Map<Integer, RespostaSubmetida> respostas, String ipAddress, String chaveSubmissao) {
+
+        if (!assincrona) {
+            avaliacaoRespostaService.submeterAvaliacao(avaliacaoId, usuarioId, respostas, ipAddress, chaveSubmissao);
+            return;
+        }
+
+        // Erros de validação continuam chegando ao aluno antes da confirmação
+        avaliacaoRespostaService.validarSubmissao(avaliacaoId, usuarioId, respostas, chaveSubmissao);
+
+        SubmissaoResposta submissao = new SubmissaoResposta(
+            sequencia.incrementAndGet(), avaliacaoId, usuarioId, respostas, ipAddress, chaveSubmissao);
+
+        try {
+            journal.registrar(submissao);
+        } catch (IOException e) {
+            // Sem journal não há garantia de durabilidade, e gravar direto no banco passaria
+            // à frente das submissões do aluno que ainda estão na fila
+            log.warn("Falha ao gravar journal de ingestão, submissão recusada", e);
+            throw new IllegalStateException("Não foi possível registrar a submissão, tente enviar novamente");
+        }
+
+        enfileirar(submissao);
+    }
+
+    private void enfileirar(SubmissaoResposta submissao) {
+        boolean aceita;
+        try {
+            aceita = fila(submissao).offer(submissao, esperaFila.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            aceita = false;
+        }
+
+        if (aceita) {
+            submissoesEnfileiradas.incrementAndGet();
+            return;
+        }
+
+        // Backpressure: a submissão sai do journal para não ser regravada na recuperação
+        submissoesRecusadasPorFilaCheia.incrementAndGet();
+        try {
+            journal.confirmar(List.of(submissao.getSequencia()));
+        } catch (IOException e) {
+            log.warn("Falha ao retirar submissão recusada do journal de ingestão", e);
+        }
+        throw new IllegalStateException("Muitas submissões em andamento, tente enviar novamente em instantes");
+    }
+
+    private BlockingQueue<SubmissaoResposta> fila(SubmissaoResposta submissao) {
+        return filas.get(Math.floorMod(submissao.getUsuarioId(), filas.size()));
+    }
+
+    private void drenar(BlockingQueue<SubmissaoResposta> fila) {
+        List<SubmissaoResposta> lote = new ArrayList<>(tamanhoLote);
+
+        while (ativo || !fila.isEmpty()) {
+            try {
+                SubmissaoResposta primeira = fila.poll(500, TimeUnit.MILLISECONDS);
+                if (primeira == null) {
+                    continue;
+                }
+
+                lote.add(primeira);
+                fila.drainTo(lote, tamanhoLote - 1);
+                gravar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Erro inesperado no escritor de ingestão", e);
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    /**
+     * Grava o lote em uma única transação; se alguma submissão falhar,
+     * regrava uma a uma para isolar a submissão problemática
+     */
+    private void gravar(List<SubmissaoResposta> lote) {
+        long inicio = System.nanoTime();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> lote.forEach(this::gravarSubmissao));
+            submissoesGravadas.addAndGet(lote.size());
+        } catch (RuntimeException falhaLote) {
+            for (SubmissaoResposta submissao : lote) {
+                try {
+                    gravarSubmissao(submissao);
+                    submissoesGravadas.incrementAndGet();
+                } catch (RuntimeException e) {
+                    submissoesComFalha.incrementAndGet();
+                    log.error("Submissão {} do usuário {} na avaliação {} descartada: {}",
+                        submissao.getSequencia(), submissao.getUsuarioId(), submissao.getAvaliacaoId(), e.getMessage());
+                }
+            }
+        }
+
+        List<Long> sequencias = new ArrayList<>(lote.size());
+        for (SubmissaoResposta submissao : lote) {
+            sequencias.add(submissao.getSequencia());
+        }
+
+        try {
+            journal.confirmar(sequencias);
+        } catch (IOException e) {
+            log.warn("Falha ao confirmar submissões no journal de ingestão", e);
+        }
+
+        long duracao = System.nanoTime() - inicio;
+        lotesDrenados.incrementAndGet();
+        tempoTotalDrenagemNanos.addAndGet(duracao);
+        ultimaDrenagemNanos.set(duracao);
+    }
+
+    private void gravarSubmissao(SubmissaoResposta submissao) {
+        avaliacaoRespostaService.submeterAvaliacao(submissao.getAvaliacaoId(), submissao.getUsuarioId(),
+            submissao.getRespostas(), submissao.getIpAddress(), submissao.getChaveSubmissao());
+    }
+
+    @PreDestroy
+    public void parar() throws IOException, InterruptedException {
+        if (!assincrona || pool == null) {
+            return;
+        }
+
+        // Escritores terminam de drenar o que já foi aceito antes de encerrar
+        ativo = false;
+        pool.shutdown();
+        if (!pool.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Ingestão encerrada com {} submissões na fila; serão regravadas pelo journal", getProfundidadeFila());
+            pool.shutdownNow();
+        }
+        journal.close();
+    }
+
+    // Métricas
+
+    public boolean isAssincrona() {
+        return assincrona;
+    }
+
+    public int getProfundidadeFila() {
+        int total = 0;
+        for (BlockingQueue<SubmissaoResposta> fila : filas) {
+            total += fila.size();
+        }
+        return total;
+    }
+
+    public int getCapacidadeFila() {
+        int total = 0;
+        for (BlockingQueue<SubmissaoResposta> fila : filas) {
+            total += fila.size() + fila.remainingCapacity();
+        }
+        return total;
+    }
+
+    public long getSubmissoesEnfileiradas() {
+        return submissoesEnfileiradas.get();
+    }
+
+    public long getSubmissoesGravadas() {
+        return submissoesGravadas.get();
+    }
+
+    /**
+     * Submissões recusadas porque a fila continuou cheia durante a espera (backpressure)
+     */
+    public long getSubmissoesRecusadasPorFilaCheia() {
+        return submissoesRecusadasPorFilaCheia.get();
+    }
+
+    public long getSubmissoesComFalha() {
+        return submissoesComFalha.get();
+    }
+
+    public double getLatenciaMediaDrenagemMs() {
+        long lotes = lotesDrenados.get();
+        return lotes == 0 ? 0 : tempoTotalDrenagemNanos.get() / (lotes * 1_000_000.0);
+    }
+
+    public double getLatenciaUltimaDrenagemMs() {
+        return ultimaDrenagemNanos.get() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,182 @@
+package com.forms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forms.dto.SubmissaoResposta;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Journal append-only da ingestão assíncrona de respostas
+ *
+ * Cada submissão é anexada e sincronizada em disco (fsync) antes de ser
+ * confirmada ao aluno; depois de gravada no banco recebe uma linha de confirmação.
+ * Na inicialização, submissões sem confirmação são devolvidas para nova gravação.
+ *
+ * Formato de cada linha: "S\t{sequencia}\t{json}" ou "C\t{sequencia}"
+ *
+ * Usa ReentrantLock em vez de synchronized: o fsync roda na thread da requisição
+ * e, com virtual threads, um bloco synchronized prenderia a thread portadora.
+ */
+class JournalIngestao implements Closeable {
+
+    private static final String SUBMISSAO = "S";
+    private static final String CONFIRMACAO = "C";
+
+    private final Path arquivo;
+    private final ObjectMapper objectMapper;
+    private final long tamanhoCompactacao;
+
+    private FileChannel canal;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Submissões registradas e ainda não confirmadas (protegido por lock)
+     */
+    private long pendentes;
+
+    JournalIngestao(Path arquivo, ObjectMapper objectMapper, long tamanhoCompactacao) {
+        this.arquivo = arquivo;
+        this.objectMapper = objectMapper;
+        this.tamanhoCompactacao = tamanhoCompactacao;
+    }
+
+    /**
+     * Lê o journal existente, reescreve-o apenas com as submissões pendentes
+     * e o deixa aberto para novas gravações
+     */
+    List<SubmissaoResposta> abrir() throws IOException {
+        lock.lock();
+        try {
+            Map<Long, String> naoConfirmadas = new LinkedHashMap<>();
+
+            if (arquivo.getParent() != null) {
+                Files.createDirectories(arquivo.getParent());
+            }
+
+            if (Files.exists(arquivo)) {
+                try (BufferedReader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+                    String linha;
+                    while ((linha = leitor.readLine()) != null) {
+                        String[] partes = linha.split("\t", 3);
+                        try {
+                            if (SUBMISSAO.equals(partes[0]) && partes.length == 3) {
+                                naoConfirmadas.put(Long.valueOf(partes[1]), partes[2]);
+                            } else if (CONFIRMACAO.equals(partes[0]) && partes.length >= 2) {
+                                naoConfirmadas.remove(Long.valueOf(partes[1]));
+                            }
+                        } catch (NumberFormatException e) {
+                            // Linha truncada por queda durante a escrita: ignorada
+                        }
+                    }
+                }
+            }
+
+            List<SubmissaoResposta> recuperadas = new ArrayList<>();
+            StringBuilder conteudo = new StringBuilder();
+            for (Map.Entry<Long, String> entrada : naoConfirmadas.entrySet()) {
+                try {
+                    recuperadas.add(objectMapper.readValue(entrada.getValue(), SubmissaoResposta.class));
+                    conteudo.append(SUBMISSAO).append('\t').append(entrada.getKey())
+                            .append('\t').append(entrada.getValue()).append('\n');
+                } catch (IOException e) {
+                    // JSON incompleto (escrita interrompida antes do fsync): nunca foi confirmado ao aluno
+                }
+            }
+
+            Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+            Files.writeString(temporario, conteudo, StandardCharsets.UTF_8);
+            try (FileChannel tmp = FileChannel.open(temporario, StandardOpenOption.WRITE)) {
+                tmp.force(true);
+            }
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+
+            canal = FileChannel.open(arquivo, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            pendentes = recuperadas.size();
+            return recuperadas;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Anexa a submissão e só retorna depois do fsync
+     */
+    void registrar(SubmissaoResposta submissao) throws IOException {
+        lock.lock();
+        try {
+            String json = objectMapper.writeValueAsString(submissao);
+            escrever(SUBMISSAO + "\t" + submissao.getSequencia() + "\t" + json + "\n");
+            canal.force(false);
+            pendentes++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marca submissões como gravadas no banco. Não exige fsync: se a confirmação
+     * se perder, a submissão é regravada na recuperação, o que é idempotente
+     * porque a submissão substitui as respostas anteriores do aluno.
+     */
+    void confirmar(Collection<Long> sequencias) throws IOException {
+        lock.lock();
+        try {
+            if (sequencias.isEmpty()) {
+                return;
+            }
+
+            StringBuilder linhas = new StringBuilder();
+            for (Long sequencia : sequencias) {
+                linhas.append(CONFIRMACAO).append('\t').append(sequencia).append('\n');
+            }
+            escrever(linhas.toString());
+            pendentes -= sequencias.size();
+
+            // Sem nada pendente o histórico não tem mais utilidade
+            if (pendentes <= 0 && canal.size() > tamanhoCompactacao) {
+                canal.truncate(0);
+                canal.force(true);
+                pendentes = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (canal != null) {
+                canal.force(true);
+                canal.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void escrever(String texto) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(texto.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.forms.service;
+
+import com.forms.dto.ResultadoMatriculaDTO;
+import com.forms.repository.TurmaRepository;
+import com.forms.repository.UsuarioRepository;
+import com.forms.security.UsuarioAutenticadoCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Matrícula em lote de alunos nas turmas (RF05)
+ *
+ * Os alunos são resolvidos com uma única consulta IN e comparados com a matrícula
+ * atual; só as linhas de turma_alunos incluídas ou removidas são gravadas, em batch.
+ * A linha da turma fica travada (FOR UPDATE) do diff ao commit: duas importações da
+ * mesma turma são aplicadas uma depois da outra, e a segunda compara com a matrícula
+ * já gravada pela primeira.
+ */
+@Service
+public class MatriculaTurmaService {
+
+    private static final String INSERIR = "INSERT INTO turma_alunos (alunos_id, turma_id) VALUES (?, ?)";
+    private static final String REMOVER = "DELETE FROM turma_alunos WHERE alunos_id = ? AND turma_id = ?";
+    private static final String TRAVAR_TURMA = "SELECT id FROM turma WHERE id = ? FOR UPDATE";
+
+    @Autowired
+    private TurmaRepository turmaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UsuarioAutenticadoCache usuarioAutenticadoCache;
+
+    /**
+     * Deixa a turma exatamente com os alunos informados (formulário de turma)
+     */
+    @Transactional
+    public ResultadoMatriculaDTO sincronizar(Integer turmaId, Collection<Integer> alunoIds) {
+        long inicio = System.nanoTime();
+
+        Set<Integer> desejados = new HashSet<>();
+        List<String> naoEncontrados = new ArrayList<>();
+        if (alunoIds != null && !alunoIds.isEmpty()) {
+            Set<Integer> informados = new LinkedHashSet<>(alunoIds);
+            desejados.addAll(usuarioRepository.findAlunoIdsByIdIn(informados));
+            for (Integer id : informados) {
+                if (!desejados.contains(id)) {
+                    naoEncontrados.add(String.valueOf(id));
+                }
+            }
+        }
+
+        return aplicar(turmaId, desejados, true, naoEncontrados, inicio);
+    }
+
+    /**
+     * Matricula alunos pela matrícula/SIAPE (formulário ou CSV)
+     *
+     * @param substituir se verdadeiro, alunos ausentes da lista são desmatriculados
+     */
+    @Transactional
+    public ResultadoMatriculaDTO importar(Integer turmaId, Collection<String> matriculas, boolean substituir) {
+        long inicio = System.nanoTime();
+
+        Set<String> informadas = new LinkedHashSet<>(matriculas);
+        Set<Integer> desejados = new HashSet<>();
+        Set<String> encontradas = new HashSet<>();
+        if (!informadas.isEmpty()) {
+            for (Object[] linha : usuarioRepository.findAlunoIdsByMatriculaSiapeIn(informadas)) {
+                desejados.add((Integer) linha[0]);
+                encontradas.add((String) linha[1]);
+            }
+        }
+
+        List<String> naoEncontrados = new ArrayList<>();
+        for (String matricula : informadas) {
+            if (!encontradas.contains(matricula)) {
+                naoEncontrados.add(matricula);
+            }
+        }
+
+        return aplicar(turmaId, desejados, substituir, naoEncontrados, inicio);
+    }
+
+    /**
+     * Lê as matrículas de um CSV: primeira coluna de cada linha, ignorando linhas
+     * vazias e um cabeçalho opcional
+     */
+    public List<String> lerMatriculas(Reader reader) throws IOException {
+        List<String> matriculas = new ArrayList<>();
+        BufferedReader linhas = new BufferedReader(reader);
+        String linha;
+        boolean primeira = true;
+
+        while ((linha = linhas.readLine()) != null) {
+            int separador = indiceSeparador(linha);
+            String matricula = (separador >= 0 ? linha.substring(0, separador) : linha)
+                .replace("\"", "")
+                .strip();
+
+            if (primeira) {
+                primeira = false;
+                // Remove o BOM que o Excel grava no início do arquivo
+                if (matricula.startsWith("\uFEFF")) {
+                    matricula = matricula.substring(1);
+                }
+                if (matricula.toLowerCase().startsWith("matr") || matricula.equalsIgnoreCase("siape")) {
+                    continue;
+                }
+            }
+            if (!matricula.isEmpty()) {
+                matriculas.add(matricula);
+            }
+        }
+        return matriculas;
+    }
+
+    private ResultadoMatriculaDTO aplicar(Integer turmaId, Set<Integer> desejados, boolean substituir,
+            List<String> naoEncontrados, long inicio) {
+
+        if (jdbcTemplate.queryForList(TRAVAR_TURMA, Integer.class, turmaId).isEmpty()) {
+            throw new IllegalArgumentException("Turma não encontrada.");
+        }
+
+        Set<Integer> atuais = new HashSet<>(turmaRepository.findAlunoIdsByTurmaId(turmaId));
+
+        List<Object[]> inserir = new ArrayList<>();
+        for (Integer alunoId : desejados) {
+            if (!atuais.contains(alunoId)) {
+                inserir.add(new Object[] {alunoId, turmaId});
+            }
+        }
+
+        List<Object[]> remover = new ArrayList<>();
+        if (substituir) {
+            for (Integer alunoId : atuais) {
+                if (!desejados.contains(alunoId)) {
+                    remover.add(new Object[] {alunoId, turmaId});
+                }
+            }
+        }
+
+        if (!inserir.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERIR, inserir);
+        }
+        if (!remover.isEmpty()) {
+            jdbcTemplate.batchUpdate(REMOVER, remover);
+        }
+
+        // Só os alunos cuja matrícula mudou têm o principal em cache invalidado
+        Set<Integer> afetados = new HashSet<>();
+        inserir.forEach(linha -> afetados.add((Integer) linha[0]));
+        remover.forEach(linha -> afetados.add((Integer) linha[0]));
+        if (!afetados.isEmpty()) {
+            usuarioAutenticadoCache.invalidar(afetados);
+        }
+
+        int mantidos = atuais.size() - remover.size();
+        long duracaoMillis = (System.nanoTime() - inicio) / 1_000_000;
+        return new ResultadoMatriculaDTO(turmaId, inserir.size(), remover.size(), mantidos,
+            naoEncontrados, duracaoMillis);
+    }
+
+    private static int indiceSeparador(String linha) {
+        int virgula = linha.indexOf(',');
+        int pontoEVirgula = linha.indexOf(';');
+        if (virgula < 0) {
+            return pontoEVirgula;
+        }
+        return pontoEVirgula < 0 ? virgula : Math.min(virgula, pontoEVirgula);
+    }
+}
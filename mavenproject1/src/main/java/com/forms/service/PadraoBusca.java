@@ -0,0 +1,39 @@
+package com.forms.service;
+
+/**
+ * Monta padrões LIKE a partir do termo digitado pelo usuário
+ *
+ * Os curingas do termo são escapados com '!' (as consultas usam ESCAPE '!');
+ * termo vazio resulta em null, que as consultas tratam como "sem filtro".
+ */
+final class PadraoBusca {
+
+    private PadraoBusca() {
+    }
+
+    /**
+     * Começa com o termo (aproveita índices)
+     */
+    static String prefixo(String termo) {
+        String escapado = escapar(termo);
+        return escapado != null ? escapado + "%" : null;
+    }
+
+    /**
+     * Contém o termo, sem diferenciar maiúsculas
+     */
+    static String contem(String termo) {
+        String escapado = escapar(termo);
+        return escapado != null ? "%" + escapado.toLowerCase() + "%" : null;
+    }
+
+    private static String escapar(String termo) {
+        if (termo == null || termo.isBlank()) {
+            return null;
+        }
+        return termo.strip()
+            .replace("!", "!!")
+            .replace("%", "!%")
+            .replace("_", "!_");
+    }
+}
@@ -0,0 +1,368 @@
+package com.forms.service;
+
+import com.forms.repository.AvaliacaoRespostaTrackingRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progresso das respostas (iniciadas e completas) de uma avaliação, transmitido por
+ * Server-Sent Events para os professores que estão acompanhando
+ *
+ * Só as avaliações com alguém inscrito têm contador em memória: ele é carregado do banco
+ * com uma consulta na primeira inscrição e depois atualizado pelo AvaliacaoRespostaService
+ * após o commit de cada início ou finalização. Um agendador envia o estado aos inscritos
+ * no máximo uma vez por intervalo, e só se mudou; o número de navegadores acompanhando não
+ * gera consultas. Periodicamente os contadores observados são recarregados do banco, o que
+ * cobre submissões gravadas por outras instâncias.
+ *
+ * O agendador só despacha: cada envio roda em uma thread de envio, com no máximo um envio
+ * em andamento por inscrito. Um navegador que não lê a conexão prende apenas a própria
+ * thread, e é descartado quando um envio passa de forms.progresso.envio-timeout.
+ */
+@Service
+public class ProgressoRespostasService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgressoRespostasService.class);
+
+    @Autowired
+    private AvaliacaoRespostaTrackingRepository trackingRepository;
+
+    @Value("${forms.progresso.intervalo:500ms}")
+    private Duration intervalo;
+
+    @Value("${forms.progresso.heartbeat:15s}")
+    private Duration heartbeat;
+
+    @Value("${forms.progresso.recarga:5m}")
+    private Duration recarga;
+
+    @Value("${forms.progresso.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${forms.progresso.envio-timeout:5s}")
+    private Duration envioTimeout;
+
+    private final Map<Integer, Progresso> progressos = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService agendador;
+    private ExecutorService envios;
+
+    // Métricas
+    private final AtomicLong eventosEnviados = new AtomicLong();
+    private final AtomicLong recargas = new AtomicLong();
+    private final AtomicLong inscritosLentos = new AtomicLong();
+
+    @PostConstruct
+    public void iniciar() {
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "progresso-respostas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Sem limite de threads: cada uma atende no máximo um inscrito por vez
+        envios = Executors.newCachedThreadPool(tarefa -> {
+            Thread thread = new Thread(tarefa, "progresso-respostas-envio");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleWithFixedDelay(this::enviarAlteracoes,
+            intervalo.toMillis(), intervalo.toMillis(), TimeUnit.MILLISECONDS);
+        agendador.scheduleWithFixedDelay(this::enviarHeartbeat,
+            heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+        agendador.scheduleWithFixedDelay(this::recarregarComSeguranca,
+            recarga.toMillis(), recarga.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void parar() {
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+        if (envios != null) {
+            envios.shutdownNow();
+        }
+        for (Progresso progresso : progressos.values()) {
+            for (Inscrito inscrito : progresso.inscritos) {
+                inscrito.emitter.complete();
+            }
+        }
+    }
+
+    /**
+     * Inscreve um navegador no progresso da avaliação; o estado atual é enviado na hora
+     */
+    public SseEmitter inscrever(Integer avaliacaoId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Inscrito inscrito = new Inscrito(emitter);
+        // Inscrição e remoção passam pelo compute do mapa: um contador nunca sai do mapa
+        // enquanto alguém está entrando nele
+        Progresso progresso = progressos.compute(avaliacaoId, (id, atual) -> {
+            Progresso destino = atual != null ? atual : new Progresso();
+            destino.inscritos.add(inscrito);
+            return destino;
+        });
+        progresso.carregar(() -> carregar(avaliacaoId, progresso));
+
+        Runnable remover = () -> remover(avaliacaoId, inscrito);
+        emitter.onCompletion(remover);
+        emitter.onTimeout(remover);
+        emitter.onError(erro -> remover.run());
+
+        enviarProgresso(avaliacaoId, progresso, inscrito);
+        return emitter;
+    }
+
+    /**
+     * Conta a mudança de um tracking depois do commit
+     *
+     * @param iniciada tracking criado
+     * @param concluida tracking finalizado pela primeira vez
+     */
+    void registrar(Integer avaliacaoId, boolean iniciada, boolean concluida) {
+        if (iniciada || concluida) {
+            aposCommit(avaliacaoId, iniciada, concluida);
+        }
+    }
+
+    private void aposCommit(Integer avaliacaoId, boolean iniciada, boolean concluida) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar(avaliacaoId, iniciada, concluida);
+                }
+            });
+        } else {
+            aplicar(avaliacaoId, iniciada, concluida);
+        }
+    }
+
+    /**
+     * Sem ninguém acompanhando a avaliação não há contador, e o evento é descartado
+     */
+    private void aplicar(Integer avaliacaoId, boolean iniciada, boolean concluida) {
+        Progresso progresso = progressos.get(avaliacaoId);
+        if (progresso == null) {
+            return;
+        }
+        if (iniciada) {
+            progresso.iniciadas.incrementAndGet();
+        }
+        if (concluida) {
+            progresso.completas.incrementAndGet();
+        }
+        progresso.versao.incrementAndGet();
+    }
+
+    /**
+     * Uma mudança commitada enquanto a contagem roda pode ficar de fora ou ser contada
+     * duas vezes; a recarga periódica corrige
+     */
+    private void carregar(Integer avaliacaoId, Progresso progresso) {
+        List<Object[]> linhas = trackingRepository.contarProgressoByAvaliacaoId(avaliacaoId);
+        Object[] contagem = linhas.isEmpty() ? new Object[] {0L, 0L} : linhas.get(0);
+        progresso.iniciadas.set(contagem[0] != null ? ((Number) contagem[0]).longValue() : 0);
+        progresso.completas.set(contagem[1] != null ? ((Number) contagem[1]).longValue() : 0);
+        progresso.versao.incrementAndGet();
+        recargas.incrementAndGet();
+    }
+
+    /**
+     * Envia o estado aos inscritos que ainda não receberam a versão atual (coalescência)
+     * Um inscrito com envio em andamento recebe a versão mais nova na rodada seguinte.
+     */
+    private void enviarAlteracoes() {
+        try {
+            for (Map.Entry<Integer, Progresso> entrada : progressos.entrySet()) {
+                Progresso progresso = entrada.getValue();
+                for (Inscrito inscrito : progresso.inscritos) {
+                    if (inscrito.versaoEnviada != progresso.versao.get()) {
+                        enviarProgresso(entrada.getKey(), progresso, inscrito);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao enviar o progresso das respostas", e);
+        }
+    }
+
+    /**
+     * Comentário SSE periódico: mantém proxies com a conexão aberta e revela navegadores
+     * que já foram embora
+     */
+    private void enviarHeartbeat() {
+        for (Map.Entry<Integer, Progresso> entrada : progressos.entrySet()) {
+            for (Inscrito inscrito : entrada.getValue().inscritos) {
+                despachar(entrada.getKey(), inscrito, () -> inscrito.emitter.send(SseEmitter.event().comment("heartbeat")));
+            }
+        }
+    }
+
+    private void recarregarComSeguranca() {
+        for (Map.Entry<Integer, Progresso> entrada : progressos.entrySet()) {
+            try {
+                carregar(entrada.getKey(), entrada.getValue());
+            } catch (RuntimeException e) {
+                log.warn("Falha ao recarregar o progresso da avaliação {}", entrada.getKey(), e);
+            }
+        }
+    }
+
+    private void enviarProgresso(Integer avaliacaoId, Progresso progresso, Inscrito inscrito) {
+        despachar(avaliacaoId, inscrito, () -> {
+            // Versão lida antes dos contadores: uma mudança no meio é reenviada na próxima rodada
+            long versao = progresso.versao.get();
+            inscrito.emitter.send(SseEmitter.event()
+                .name("progresso")
+                .data(Map.of("iniciadas", progresso.iniciadas.get(), "completas", progresso.completas.get())));
+            inscrito.versaoEnviada = versao;
+            eventosEnviados.incrementAndGet();
+        });
+    }
+
+    /**
+     * Entrega o envio a uma thread de envio, a menos que o inscrito ainda esteja recebendo
+     * o anterior; se esse já passou do envioTimeout, o inscrito é descartado
+     */
+    private void despachar(Integer avaliacaoId, Inscrito inscrito, Envio envio) {
+        long agora = System.nanoTime();
+        long inicio = inscrito.inicioEnvio.get();
+        if (inicio != 0) {
+            if (agora - inicio > envioTimeout.toNanos() && remover(avaliacaoId, inscrito)) {
+                inscritosLentos.incrementAndGet();
+                // Encerrar espera o envio em andamento liberar o emitter: fora do agendador
+                executar(() -> inscrito.emitter.completeWithError(
+                    new IOException("Inscrito não lê os eventos de progresso")));
+            }
+            return;
+        }
+        // 0 marca "sem envio em andamento"
+        if (!inscrito.inicioEnvio.compareAndSet(0, agora == 0 ? 1 : agora)) {
+            return;
+        }
+        boolean despachado = executar(() -> {
+            try {
+                envio.enviar();
+            } catch (IOException | IllegalStateException e) {
+                remover(avaliacaoId, inscrito);
+            } finally {
+                inscrito.inicioEnvio.set(0);
+            }
+        });
+        if (!despachado) {
+            inscrito.inicioEnvio.set(0);
+        }
+    }
+
+    /**
+     * Falso quando o serviço está encerrando
+     */
+    private boolean executar(Runnable tarefa) {
+        try {
+            envios.execute(tarefa);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Falso se o inscrito já tinha saído
+     */
+    private boolean remover(Integer avaliacaoId, Inscrito inscrito) {
+        boolean[] removido = new boolean[1];
+        // O último a sair leva o contador junto; a próxima inscrição recarrega do banco
+        progressos.computeIfPresent(avaliacaoId, (id, atual) -> {
+            removido[0] = atual.inscritos.remove(inscrito);
+            return atual.inscritos.isEmpty() ? null : atual;
+        });
+        return removido[0];
+    }
+
+    // Métricas
+
+    public long getInscritos() {
+        long total = 0;
+        for (Progresso progresso : progressos.values()) {
+            total += progresso.inscritos.size();
+        }
+        return total;
+    }
+
+    public long getAvaliacoesAcompanhadas() {
+        return progressos.size();
+    }
+
+    public long getEventosEnviados() {
+        return eventosEnviados.get();
+    }
+
+    /**
+     * Consultas de contagem feitas (primeira inscrição e recargas periódicas)
+     */
+    public long getRecargas() {
+        return recargas.get();
+    }
+
+    /**
+     * Inscritos descartados porque um envio passou do envioTimeout
+     */
+    public long getInscritosLentos() {
+        return inscritosLentos.get();
+    }
+
+    @FunctionalInterface
+    private interface Envio {
+        void enviar() throws IOException;
+    }
+
+    private static class Inscrito {
+        private final SseEmitter emitter;
+        // System.nanoTime() do envio em andamento, 0 sem envio
+        private final AtomicLong inicioEnvio = new AtomicLong();
+        private volatile long versaoEnviada = -1;
+
+        private Inscrito(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    private static class Progresso {
+        private final AtomicLong iniciadas = new AtomicLong();
+        private final AtomicLong completas = new AtomicLong();
+        private final AtomicLong versao = new AtomicLong();
+        private final List<Inscrito> inscritos = new CopyOnWriteArrayList<>();
+        private boolean carregado;
+
+        /**
+         * Só a primeira inscrição consulta o banco
+         */
+        private synchronized void carregar(Runnable carga) {
+            if (!carregado) {
+                carga.run();
+                carregado = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.forms.service;
+
+import com.forms.dto.OpcaoResumoDTO;
+import com.forms.dto.QuestaoResumoDTO;
+import com.forms.models.Avaliacao;
+import com.forms.models.OpcaoResposta;
+import com.forms.models.Questao;
+import com.forms.models.TipoQuestao;
+import com.forms.repository.AvaliacaoRepository;
+import com.forms.repository.OpcaoRespostaRepository;
+import com.forms.repository.QuestaoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class QuestaoService {
+
+    @Autowired
+    private AvaliacaoRepository avaliacaoRepository;
+
+    @Autowired
+    private QuestaoRepository questaoRepository;
+
+    @Autowired
+    private OpcaoRespostaRepository opcaoRepository;
+
+    @Autowired
+    private FormularioService formularioService;
+
+    /**
+     * Questão para a tela de edição de opções
+     */
+    public QuestaoResumoDTO buscarResumo(Integer questaoId) {
+        return questaoRepository.findResumoById(questaoId)
+            .orElseThrow(() -> new IllegalArgumentException("Questão não encontrada"));
+    }
+
+    /**
+     * Opções da questão em ordem, com o gabarito
+     */
+    public List<OpcaoResumoDTO> listarOpcoes(Integer questaoId) {
+        return opcaoRepository.findResumosByQuestaoId(questaoId);
+    }
+
+    /**
+     * Adiciona uma questão ao fim da avaliação
+     */
+    @Transactional
+    public Questao adicionarQuestao(Integer avaliacaoId, String texto, TipoQuestao tipo) {
+        Avaliacao avaliacao = avaliacaoRepository.findById(avaliacaoId)
+            .orElseThrow(() -> new IllegalArgumentException("Avaliação não encontrada"));
+
+        Questao questao = new Questao();
+        questao.setTexto(texto);
+        questao.setTipo(tipo);
+        questao.setAvaliacao(avaliacao);
+        questao.setOrdem((int) questaoRepository.countByAvaliacaoId(avaliacaoId) + 1);
+
+        Questao salva = questaoRepository.save(questao);
+        formularioService.invalidar(avaliacaoId);
+        return salva;
+    }
+
+    /**
+     * Adiciona uma opção ao fim da questão
+     */
+    @Transactional
+    public OpcaoResposta adicionarOpcao(Integer questaoId, String texto, boolean isCorreta) {
+        Questao questao = questaoRepository.findById(questaoId)
+            .orElseThrow(() -> new IllegalArgumentException("Questão não encontrada"));
+
+        OpcaoResposta opcao = new OpcaoResposta();
+        opcao.setTexto(texto);
+        opcao.setIsCorreta(isCorreta);
+        opcao.setQuestao(questao);
+        opcao.setOrdem((int) opcaoRepository.countByQuestaoId(questaoId) + 1);
+
+        OpcaoResposta salva = opcaoRepository.save(opcao);
+        formularioService.invalidar(questao.getAvaliacao().getId());
+        return salva;
+    }
+}
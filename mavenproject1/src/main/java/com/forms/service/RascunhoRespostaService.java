@@ -0,0 +1,472 @@
+package com.forms.service;
+
+import com.forms.dto.RespostaSubmetida;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rascunho das respostas de um aluno (autosave), mantido em memória por tracking
+ *
+ * O navegador envia só as questões alteradas desde o último salvamento; cada uma
+ * sobrescreve a anterior no rascunho em memória e fica marcada como pendente. Um agendador
+ * grava as pendentes de todos os rascunhos em um único lote por intervalo, então editar a
+ * mesma questão várias vezes entre duas descargas custa uma linha. Rascunhos ociosos e já
+ * gravados saem da memória e são recarregados da tabela no próximo salvamento.
+ *
+ * O rascunho é promovido a respostas na finalização do tracking e descartado quando o
+ * formulário inteiro é submetido (AvaliacaoRespostaService). Com mais de uma instância,
+ * os salvamentos do mesmo aluno precisam chegar à mesma instância (sessão fixa).
+ */
+@Service
+public class RascunhoRespostaService {
+
+    private static final Logger log = LoggerFactory.getLogger(RascunhoRespostaService.class);
+
+    private static final String GRAVAR_QUESTAO =
+        "INSERT INTO rascunho_resposta (tracking_id, questao_id, texto_resposta, opcao_ids, atualizado_em) "
+        + "VALUES (:trackingId, :questaoId, :textoResposta, :opcaoIds, :atualizadoEm) "
+        + "ON DUPLICATE KEY UPDATE texto_resposta = VALUES(texto_resposta), "
+        + "opcao_ids = VALUES(opcao_ids), atualizado_em = VALUES(atualizado_em)";
+
+    private static final String REMOVER_QUESTAO =
+        "DELETE FROM rascunho_resposta WHERE tracking_id = :trackingId AND questao_id = :questaoId";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${forms.rascunho.descarga:10s}")
+    private Duration intervaloDescarga;
+
+    @Value("${forms.rascunho.ociosidade:30m}")
+    private Duration ociosidade;
+
+    /**
+     * Rascunhos por (avaliação, usuário), o par que identifica o tracking
+     */
+    private final Map<Long, Rascunho> rascunhos = new ConcurrentHashMap<>();
+
+    /**
+     * Mantida durante toda a descarga: quem encerra um rascunho espera a descarga em
+     * andamento para não ter linhas regravadas depois de apagá-las
+     */
+    private final ReentrantLock descarga = new ReentrantLock();
+
+    private ScheduledExecutorService agendador;
+    private TransactionTemplate transactionTemplate;
+
+    // Métricas
+    private final AtomicLong salvamentos = new AtomicLong();
+    private final AtomicLong questoesRecebidas = new AtomicLong();
+    private final AtomicLong linhasGravadas = new AtomicLong();
+    private final AtomicLong linhasFormularioCompleto = new AtomicLong();
+    private final AtomicLong descargas = new AtomicLong();
+    private final AtomicLong falhasDescarga = new AtomicLong();
+
+    @PostConstruct
+    public void iniciar() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "rascunho-respostas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleWithFixedDelay(this::descarregarComSeguranca,
+            intervaloDescarga.toMillis(), intervaloDescarga.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Grava o que ainda estiver pendente antes de desligar
+     */
+    @PreDestroy
+    public void parar() {
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+        descarregarComSeguranca();
+    }
+
+    /**
+     * Aplica as questões alteradas ao rascunho que já está em memória
+     *
+     * @param questoesFormulario quantas questões o formulário tem, para medir quanto um
+     *        salvamento do formulário inteiro gravaria
+     * @return false se o rascunho não está em memória (nunca aberto, liberado por ociosidade
+     *         ou encerrado); nesse caso ele precisa ser aberto antes
+     */
+    boolean aplicar(Integer avaliacaoId, Integer usuarioId, Map<Integer, RespostaSubmetida> alteradas,
+            int questoesFormulario) {
+
+        boolean[] aplicado = {false};
+        // Pelo compute do mapa: a liberação por ociosidade não remove um rascunho sendo alterado
+        rascunhos.computeIfPresent(chave(avaliacaoId, usuarioId), (chave, rascunho) -> {
+            synchronized (rascunho) {
+                if (!rascunho.encerrado) {
+                    rascunho.alterar(alteradas);
+                    aplicado[0] = true;
+                }
+            }
+            return rascunho;
+        });
+
+        if (aplicado[0]) {
+            salvamentos.incrementAndGet();
+            questoesRecebidas.addAndGet(alteradas.size());
+            linhasFormularioCompleto.addAndGet(questoesFormulario);
+        }
+        return aplicado[0];
+    }
+
+    /**
+     * Coloca o rascunho do tracking em memória, com o que já estiver gravado na tabela
+     * Chamado com o tracking bloqueado; se o rascunho já estiver aberto, nada muda
+     */
+    void abrir(Integer trackingId, Integer avaliacaoId, Integer usuarioId) {
+        Long chave = chave(avaliacaoId, usuarioId);
+        boolean[] aberto = {false};
+
+        while (!aberto[0]) {
+            // Consulta fora do compute, que bloqueia o mapa enquanto roda; se o rascunho sair
+            // da memória entre as duas leituras, a volta seguinte consulta a tabela
+            Map<Integer, RespostaSubmetida> gravadas = rascunhos.containsKey(chave) ? null : carregar(trackingId);
+
+            rascunhos.compute(chave, (k, atual) -> {
+                if (atual == null) {
+                    if (gravadas == null) {
+                        return null;
+                    }
+                    Rascunho novo = new Rascunho(trackingId);
+                    novo.respostas.putAll(gravadas);
+                    aberto[0] = true;
+                    return novo;
+                }
+                aberto[0] = true;
+                synchronized (atual) {
+                    if (!atual.encerrado) {
+                        return atual;
+                    }
+                    // Encerrado por uma finalização que ainda não saiu do mapa: as respostas
+                    // continuam valendo e vão inteiras para a próxima descarga
+                    Rascunho novo = new Rascunho(trackingId);
+                    novo.respostas.putAll(atual.respostas);
+                    novo.alteradas.addAll(atual.respostas.keySet());
+                    return novo;
+                }
+            });
+        }
+    }
+
+    /**
+     * Cópia das respostas do rascunho em memória, ou null se ele não estiver aberto
+     */
+    Map<Integer, RespostaSubmetida> buscarEmMemoria(Integer avaliacaoId, Integer usuarioId) {
+        Rascunho rascunho = rascunhos.get(chave(avaliacaoId, usuarioId));
+        if (rascunho == null) {
+            return null;
+        }
+        synchronized (rascunho) {
+            return new HashMap<>(rascunho.respostas);
+        }
+    }
+
+    /**
+     * Encerra o rascunho para promovê-lo a respostas: as linhas são apagadas na transação
+     * corrente e o rascunho sai da memória depois do commit (volta a aceitar alterações
+     * em caso de rollback)
+     *
+     * @return respostas do rascunho no momento do encerramento
+     */
+    Map<Integer, RespostaSubmetida> encerrar(Integer trackingId, Integer avaliacaoId, Integer usuarioId) {
+        return fechar(trackingId, avaliacaoId, usuarioId, true);
+    }
+
+    /**
+     * Como encerrar, para quando o formulário inteiro foi submetido e o rascunho não vale mais
+     */
+    void descartar(Integer trackingId, Integer avaliacaoId, Integer usuarioId) {
+        fechar(trackingId, avaliacaoId, usuarioId, false);
+    }
+
+    private Map<Integer, RespostaSubmetida> fechar(Integer trackingId, Integer avaliacaoId, Integer usuarioId,
+            boolean ler) {
+
+        Long chave = chave(avaliacaoId, usuarioId);
+        Rascunho rascunho = rascunhos.get(chave);
+        Map<Integer, RespostaSubmetida> respostas;
+
+        if (rascunho != null) {
+            synchronized (rascunho) {
+                rascunho.encerrado = true;
+                respostas = new HashMap<>(rascunho.respostas);
+            }
+            // Uma descarga em andamento pode ter lido o rascunho antes do encerramento
+            descarga.lock();
+            descarga.unlock();
+            aposTransacao(chave, rascunho);
+        } else {
+            respostas = ler ? carregar(trackingId) : Map.of();
+        }
+
+        jdbcTemplate.update("DELETE FROM rascunho_resposta WHERE tracking_id = :trackingId",
+            new MapSqlParameterSource("trackingId", trackingId));
+        return respostas;
+    }
+
+    private void aposTransacao(Long chave, Rascunho rascunho) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rascunhos.remove(chave, rascunho);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    rascunhos.remove(chave, rascunho);
+                } else {
+                    synchronized (rascunho) {
+                        rascunho.encerrado = false;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Grava em um único lote as questões pendentes de todos os rascunhos
+     * Público para o benchmark; em produção quem chama é o agendador
+     */
+    public void descarregar() {
+        descarga.lock();
+        try {
+            List<SqlParameterSource> gravacoes = new ArrayList<>();
+            List<SqlParameterSource> remocoes = new ArrayList<>();
+            Map<Rascunho, Set<Integer>> pendentes = new HashMap<>();
+            Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+
+            for (Rascunho rascunho : rascunhos.values()) {
+                synchronized (rascunho) {
+                    if (rascunho.encerrado || rascunho.alteradas.isEmpty()) {
+                        continue;
+                    }
+                    for (Integer questaoId : rascunho.alteradas) {
+                        RespostaSubmetida resposta = rascunho.respostas.get(questaoId);
+                        MapSqlParameterSource params = new MapSqlParameterSource()
+                            .addValue("trackingId", rascunho.trackingId)
+                            .addValue("questaoId", questaoId);
+                        if (resposta == null) {
+                            remocoes.add(params);
+                        } else {
+                            gravacoes.add(params
+                                .addValue("textoResposta", resposta.getTextoResposta())
+                                .addValue("opcaoIds", juntar(resposta.getOpcaoIds()))
+                                .addValue("atualizadoEm", agora));
+                        }
+                    }
+                    pendentes.put(rascunho, new HashSet<>(rascunho.alteradas));
+                    rascunho.alteradas.clear();
+                }
+            }
+
+            if (pendentes.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (!gravacoes.isEmpty()) {
+                        jdbcTemplate.batchUpdate(GRAVAR_QUESTAO, gravacoes.toArray(new SqlParameterSource[0]));
+                    }
+                    if (!remocoes.isEmpty()) {
+                        jdbcTemplate.batchUpdate(REMOVER_QUESTAO, remocoes.toArray(new SqlParameterSource[0]));
+                    }
+                });
+            } catch (RuntimeException e) {
+                // As questões voltam a ficar pendentes; o valor gravado será o mais recente
+                for (Map.Entry<Rascunho, Set<Integer>> pendente : pendentes.entrySet()) {
+                    synchronized (pendente.getKey()) {
+                        pendente.getKey().alteradas.addAll(pendente.getValue());
+                    }
+                }
+                falhasDescarga.incrementAndGet();
+                throw e;
+            }
+
+            linhasGravadas.addAndGet(gravacoes.size() + remocoes.size());
+            descargas.incrementAndGet();
+        } finally {
+            descarga.unlock();
+        }
+    }
+
+    private void descarregarComSeguranca() {
+        try {
+            descarregar();
+            liberarOciosos();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar os rascunhos de respostas", e);
+        }
+    }
+
+    /**
+     * Tira da memória os rascunhos sem alteração pendente e parados há mais que a ociosidade
+     */
+    private void liberarOciosos() {
+        long limite = System.nanoTime() - ociosidade.toNanos();
+        for (Long chave : rascunhos.keySet()) {
+            rascunhos.computeIfPresent(chave, (k, rascunho) -> {
+                synchronized (rascunho) {
+                    boolean ocioso = !rascunho.encerrado && rascunho.alteradas.isEmpty()
+                        && rascunho.ultimaAlteracao - limite < 0;
+                    return ocioso ? null : rascunho;
+                }
+            });
+        }
+    }
+
+    /**
+     * Rascunho gravado na tabela
+     */
+    Map<Integer, RespostaSubmetida> carregar(Integer trackingId) {
+        Map<Integer, RespostaSubmetida> respostas = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT questao_id, texto_resposta, opcao_ids FROM rascunho_resposta WHERE tracking_id = :trackingId",
+            new MapSqlParameterSource("trackingId", trackingId),
+            rs -> {
+                respostas.put(rs.getInt("questao_id"),
+                    new RespostaSubmetida(separar(rs.getString("opcao_ids")), rs.getString("texto_resposta")));
+            });
+        return respostas;
+    }
+
+    private static Long chave(Integer avaliacaoId, Integer usuarioId) {
+        return ((long) avaliacaoId << 32) | (usuarioId & 0xFFFFFFFFL);
+    }
+
+    private static String juntar(List<Integer> opcaoIds) {
+        if (opcaoIds == null || opcaoIds.isEmpty()) {
+            return null;
+        }
+        StringBuilder texto = new StringBuilder();
+        for (Integer opcaoId : opcaoIds) {
+            if (texto.length() > 0) {
+                texto.append(',');
+            }
+            texto.append(opcaoId);
+        }
+        return texto.toString();
+    }
+
+    private static List<Integer> separar(String opcaoIds) {
+        List<Integer> ids = new ArrayList<>();
+        if (opcaoIds != null && !opcaoIds.isEmpty()) {
+            for (String id : opcaoIds.split(",")) {
+                ids.add(Integer.valueOf(id));
+            }
+        }
+        return ids;
+    }
+
+    // Métricas
+
+    public long getRascunhosEmMemoria() {
+        return rascunhos.size();
+    }
+
+    public long getSalvamentos() {
+        return salvamentos.get();
+    }
+
+    /**
+     * Questões recebidas nos salvamentos (só as alteradas)
+     */
+    public long getQuestoesRecebidas() {
+        return questoesRecebidas.get();
+    }
+
+    /**
+     * Linhas gravadas ou apagadas na tabela de rascunho pelas descargas
+     */
+    public long getLinhasGravadas() {
+        return linhasGravadas.get();
+    }
+
+    /**
+     * Linhas que os mesmos salvamentos gravariam mandando o formulário inteiro a cada vez;
+     * comparada com getLinhasGravadas dá a economia de escrita
+     */
+    public long getLinhasFormularioCompleto() {
+        return linhasFormularioCompleto.get();
+    }
+
+    public long getDescargas() {
+        return descargas.get();
+    }
+
+    public long getFalhasDescarga() {
+        return falhasDescarga.get();
+    }
+
+    private static class Rascunho {
+        private final Integer trackingId;
+        /**
+         * Questões em branco não ficam no mapa
+         */
+        private final Map<Integer, RespostaSubmetida> respostas = new HashMap<>();
+        /**
+         * Alteradas desde a última descarga
+         */
+        private final Set<Integer> alteradas = new HashSet<>();
+        private long ultimaAlteracao = System.nanoTime();
+        private boolean encerrado;
+
+        private Rascunho(Integer trackingId) {
+            this.trackingId = trackingId;
+        }
+
+        private void alterar(Map<Integer, RespostaSubmetida> novas) {
+            for (Map.Entry<Integer, RespostaSubmetida> entrada : novas.entrySet()) {
+                RespostaSubmetida resposta = entrada.getValue();
+                boolean vazia = resposta == null
+                    || (resposta.getOpcaoIds() == null || resposta.getOpcaoIds().isEmpty())
+                        && (resposta.getTextoResposta() == null || resposta.getTextoResposta().isEmpty());
+                if (vazia) {
+                    respostas.remove(entrada.getKey());
+                } else {
+                    respostas.put(entrada.getKey(), resposta);
+                }
+                alteradas.add(entrada.getKey());
+            }
+            ultimaAlteracao = System.nanoTime();
+        }
+    }
+}
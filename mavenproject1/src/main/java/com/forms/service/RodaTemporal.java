@@ -0,0 +1,87 @@
+package com.forms.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Roda temporal (hashed timing wheel) simples para agendar a abertura e o
+ * fechamento de avaliações. Cada posição da roda cobre um tick; eventos mais
+ * distantes que uma volta completa permanecem na posição até o seu instante chegar.
+ *
+ * Não é thread-safe: o chamador deve serializar o acesso.
+ */
+class RodaTemporal {
+
+    private static class Evento {
+        private final long instanteMillis;
+        private final Integer avaliacaoId;
+
+        Evento(long instanteMillis, Integer avaliacaoId) {
+            this.instanteMillis = instanteMillis;
+            this.avaliacaoId = avaliacaoId;
+        }
+    }
+
+    private final long tickMillis;
+    private final List<List<Evento>> posicoes;
+
+    /**
+     * Primeiro tick ainda não encerrado (o tick corrente é revisitado no próximo avanço)
+     */
+    private long proximoTick;
+    private int eventosAgendados;
+
+    RodaTemporal(long tickMillis, int numeroPosicoes, long agoraMillis) {
+        this.tickMillis = tickMillis;
+        this.posicoes = new ArrayList<>(numeroPosicoes);
+        for (int i = 0; i < numeroPosicoes; i++) {
+            posicoes.add(new ArrayList<>());
+        }
+        this.proximoTick = agoraMillis / tickMillis;
+    }
+
+    void agendar(long instanteMillis, Integer avaliacaoId) {
+        // Instantes já passados caem no tick corrente
+        long tick = Math.max(instanteMillis / tickMillis, proximoTick);
+        posicoes.get((int) (tick % posicoes.size())).add(new Evento(instanteMillis, avaliacaoId));
+        eventosAgendados++;
+    }
+
+    /**
+     * Avança a roda até o instante atual e devolve as avaliações cujos eventos venceram
+     */
+    List<Integer> avancar(long agoraMillis) {
+        List<Integer> vencidos = new ArrayList<>();
+        long tickAtual = agoraMillis / tickMillis;
+
+        // Atrasado mais de uma volta: basta percorrer cada posição uma vez
+        long inicio = Math.max(proximoTick, tickAtual - posicoes.size() + 1);
+
+        for (long tick = inicio; tick <= tickAtual; tick++) {
+            Iterator<Evento> eventos = posicoes.get((int) (tick % posicoes.size())).iterator();
+            while (eventos.hasNext()) {
+                Evento evento = eventos.next();
+                if (evento.instanteMillis <= agoraMillis) {
+                    vencidos.add(evento.avaliacaoId);
+                    eventos.remove();
+                    eventosAgendados--;
+                }
+            }
+        }
+
+        proximoTick = Math.max(proximoTick, tickAtual);
+        return vencidos;
+    }
+
+    void limpar() {
+        for (List<Evento> posicao : posicoes) {
+            posicao.clear();
+        }
+        eventosAgendados = 0;
+    }
+
+    int getEventosAgendados() {
+        return eventosAgendados;
+    }
+}
@@ -1,14 +1,23 @@
 package com.forms.service;
 
+import com.forms.dto.ResultadoMatriculaDTO;
+import com.forms.dto.TurmaResumoDTO;
+import com.forms.dto.UsuarioResumoDTO;
 import com.forms.models.Turma;
 import com.forms.models.Usuario;
 import com.forms.repository.TurmaRepository;
+import com.forms.security.UsuarioAutenticadoCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class TurmaService {
@@ -16,12 +25,54 @@ public class TurmaService {
     @Autowired
     private TurmaRepository turmaRepository;
 
+    @Autowired
+    private UsuarioAutenticadoCache usuarioAutenticadoCache;
+
+    @Autowired
+    private MatriculaTurmaService matriculaTurmaService;
+
     /**
      * Salva ou atualiza uma Turma (RF05, RF06).
+     * Membros antigos e novos têm o principal em cache invalidado (turmas do usuário mudaram).
      */
     @Transactional
     public Turma salvar(Turma turma) {
-        return turmaRepository.save(turma);
+        Set<Integer> afetados = new HashSet<>();
+        if (turma.getId() != null) {
+            afetados.addAll(membros(turma.getId()));
+        }
+
+        Turma salva = turmaRepository.save(turma);
+
+        if (salva.getProfessor() != null) {
+            afetados.add(salva.getProfessor().getId());
+        }
+        if (salva.getAlunos() != null) {
+            for (Usuario aluno : salva.getAlunos()) {
+                afetados.add(aluno.getId());
+            }
+        }
+        usuarioAutenticadoCache.invalidar(afetados);
+        return salva;
+    }
+
+    /**
+     * Salva a Turma e deixa matriculados exatamente os alunos informados (RF05).
+     * A matrícula é aplicada pelo diff com a atual, sem regravar turma_alunos.
+     */
+    @Transactional
+    public ResultadoMatriculaDTO salvar(Turma turma, Collection<Integer> alunoIds) {
+        // Professor anterior e novo: a turma sai das turmas de um e entra nas do outro
+        Set<Integer> professores = new HashSet<>();
+        if (turma.getId() != null) {
+            turmaRepository.findProfessorIdById(turma.getId()).ifPresent(professores::add);
+        }
+        Turma salva = turmaRepository.saveAndFlush(turma);
+        if (salva.getProfessor() != null) {
+            professores.add(salva.getProfessor().getId());
+        }
+        usuarioAutenticadoCache.invalidar(professores);
+        return matriculaTurmaService.sincronizar(salva.getId(), alunoIds);
     }
 
     /**
@@ -38,6 +89,27 @@ public class TurmaService {
         return turmaRepository.findAll();
     }
 
+    /**
+     * Página de turmas filtrada por período e UC, já com os nomes da UC e do professor (RF05).
+     */
+    public Page<TurmaResumoDTO> listar(Integer ano, Integer semestre, Integer ucId, Pageable pagina) {
+        return turmaRepository.findResumosByFiltro(ano, semestre, ucId, pagina);
+    }
+
+    /**
+     * Resumo de uma turma para a página da turma
+     */
+    public Optional<TurmaResumoDTO> buscarResumo(Integer id) {
+        return turmaRepository.findResumoById(id);
+    }
+
+    /**
+     * Alunos matriculados na turma, em ordem alfabética (RF05).
+     */
+    public List<UsuarioResumoDTO> listarAlunos(Integer turmaId) {
+        return turmaRepository.findAlunosByTurmaId(turmaId);
+    }
+
     /**
      * Busca turmas onde o usuário é professor (RF05).
      */
@@ -45,6 +117,13 @@ public class TurmaService {
         return turmaRepository.findByProfessor(professor);
     }
 
+    /**
+     * Resumo das turmas do professor, para o dashboard e o formulário de avaliação (RF05).
+     */
+    public List<TurmaResumoDTO> listarResumosPorProfessor(Integer professorId) {
+        return turmaRepository.findResumosByProfessorId(professorId);
+    }
+
     /**
      * Busca turmas onde o usuário é aluno (RF06).
      */
@@ -60,6 +139,16 @@ public class TurmaService {
         if (!turmaRepository.existsById(id)) {
             throw new IllegalArgumentException("Turma não encontrada.");
         }
+        usuarioAutenticadoCache.invalidar(membros(id));
         turmaRepository.deleteById(id);
     }
+
+    /**
+     * Professor e alunos atuais da turma
+     */
+    private Set<Integer> membros(Integer turmaId) {
+        Set<Integer> membros = new HashSet<>(turmaRepository.findAlunoIdsByTurmaId(turmaId));
+        turmaRepository.findProfessorIdById(turmaId).ifPresent(membros::add);
+        return membros;
+    }
 }
@@ -1,8 +1,12 @@
 package com.forms.service;
 
+import com.forms.dto.ItemSelecaoDTO;
+import com.forms.dto.UnidadeCurricularResumoDTO;
 import com.forms.models.UnidadeCurricular;
 import com.forms.repository.UnidadeCurricularRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,6 +41,20 @@ public class UnidadeCurricularService {
         return ucRepository.findAll();
     }
 
+    /**
+     * Página de UCs filtrada por nome e curso, já com o nome do curso (RF04).
+     */
+    public Page<UnidadeCurricularResumoDTO> listar(String busca, Integer cursoId, Pageable pagina) {
+        return ucRepository.findResumosByFiltro(PadraoBusca.contem(busca), cursoId, pagina);
+    }
+
+    /**
+     * UCs em ordem alfabética para selects, sem carregar as entidades.
+     */
+    public List<ItemSelecaoDTO> listarParaSelecao() {
+        return ucRepository.findItensSelecao();
+    }
+
     /**
      * Deleta uma UC por ID (RF04).
      */
@@ -1,10 +1,14 @@
 package com.forms.service;
 
+import com.forms.dto.UsuarioResumoDTO;
 import com.forms.models.Perfil;
 import com.forms.models.Usuario;
 import com.forms.repository.PerfilRepository;
 import com.forms.repository.UsuarioRepository;
+import com.forms.security.UsuarioAutenticadoCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +28,9 @@ public class UsuarioService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UsuarioAutenticadoCache usuarioAutenticadoCache;
+
     /**
      * Cadastra um novo usuário com senha hasheada
      */
@@ -74,12 +81,14 @@ public class UsuarioService {
 
     /**
      * Atualiza informações do usuário (exceto senha)
+     * O principal em cache é descartado e recarregado na próxima requisição do usuário
      */
     @Transactional
     public Usuario atualizar(Usuario usuario) {
         if (!usuarioRepository.existsById(usuario.getId())) {
             throw new IllegalArgumentException("Usuário não encontrado");
         }
+        usuarioAutenticadoCache.invalidar(usuario.getId());
         return usuarioRepository.save(usuario);
     }
 
@@ -95,6 +104,7 @@ public class UsuarioService {
         usuario.setSenhaHash(senhaHash);
 
         usuarioRepository.save(usuario);
+        usuarioAutenticadoCache.invalidar(usuarioId);
     }
 
     /**
@@ -105,7 +115,7 @@ public class UsuarioService {
     }
 
     /**
-     * Deleta usuário por ID
+     * Deleta usuário por ID; sessões abertas do usuário são encerradas na próxima requisição
      */
     @Transactional
     public void deletar(Integer id) {
@@ -113,6 +123,7 @@ public class UsuarioService {
             throw new IllegalArgumentException("Usuário não encontrado");
         }
         usuarioRepository.deleteById(id);
+        usuarioAutenticadoCache.invalidar(id);
     }
 
     // Busca um usuário com um perfil específico por nome
@@ -122,10 +133,19 @@ public class UsuarioService {
         });
     }
 
-    // Lista todos os usuários de um perfil (usado para popular selects)
-    public List<Usuario> listarPorPerfil(Perfil perfil) {
-        return usuarioRepository.findAll().stream()
-               .filter(u -> u.getPerfil().getId().equals(perfil.getId()))
-               .collect(java.util.stream.Collectors.toList());
+    // Uma página dos usuários de um perfil (usado para popular selects)
+    public Slice<UsuarioResumoDTO> listarPorPerfil(Perfil perfil, Pageable pagina) {
+        return usuarioRepository.findResumoByPerfilId(perfil.getId(), pagina);
+    }
+
+    /**
+     * Type-ahead: usuários do perfil cujo nome, email ou matrícula/SIAPE começa com o termo
+     */
+    public Slice<UsuarioResumoDTO> buscarPorPerfil(Perfil perfil, String termo, Pageable pagina) {
+        String prefixo = PadraoBusca.prefixo(termo);
+        if (prefixo == null) {
+            return listarPorPerfil(perfil, pagina);
+        }
+        return usuarioRepository.findResumoByPerfilIdAndPrefixo(perfil.getId(), prefixo, pagina);
     }
 }
@@ -0,0 +1,301 @@
+package com.forms.service;
+
+import com.forms.dto.FormularioDTO;
+import com.forms.dto.FormularioDTO.OpcaoDTO;
+import com.forms.dto.FormularioDTO.QuestaoDTO;
+import com.forms.dto.RespostaSubmetida;
+import com.forms.models.TipoQuestao;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RF10: Regras de resposta de um formulário, compiladas uma vez a partir do snapshot
+ *
+ * Cada questão vira uma posição em arrays paralelos (tipo, ordem) e um bit na máscara
+ * de obrigatórias; as opções válidas de cada questão ficam em um bitset relativo ao menor
+ * ID de opção da questão. Validar uma submissão não consulta o banco e só aloca o
+ * necessário para percorrer o mapa de respostas.
+ */
+public final class ValidadorFormulario {
+
+    private static final byte ABERTA = 0;
+    private static final byte ESCOLHA_UNICA = 1;
+    private static final byte ESCOLHA_MULTIPLA = 2;
+
+    /**
+     * Acima desta densidade (bits por opção) o bitset desperdiça memória e as opções
+     * ficam em um array ordenado
+     */
+    private static final int BITS_POR_OPCAO_MAXIMO = 256;
+
+    /**
+     * Capacidade da coluna resposta.texto_resposta (TEXT): 65535 bytes, não caracteres
+     */
+    static final int BYTES_TEXTO_MAXIMO = 65535;
+
+    private final long versao;
+
+    // Por posição, na ordem do formulário
+    private final int[] questaoIds;
+    private final int[] ordens;
+    private final byte[] tipos;
+    private final BitSet obrigatorias;
+    private final int[] baseOpcoes;
+    private final long[][] bitsOpcoes;
+    private final int[][] opcoesOrdenadas;
+
+    // IDs das questões ordenados, para busca binária, e a posição de cada um no formulário
+    private final int[] idsOrdenados;
+    private final int[] posicoesOrdenadas;
+
+    private ValidadorFormulario(FormularioDTO formulario) {
+        List<QuestaoDTO> questoes = formulario.getQuestoes();
+        int total = questoes.size();
+
+        this.versao = formulario.getVersao();
+        this.questaoIds = new int[total];
+        this.ordens = new int[total];
+        this.tipos = new byte[total];
+        this.obrigatorias = new BitSet(total);
+        this.baseOpcoes = new int[total];
+        this.bitsOpcoes = new long[total][];
+        this.opcoesOrdenadas = new int[total][];
+
+        for (int i = 0; i < total; i++) {
+            QuestaoDTO questao = questoes.get(i);
+            questaoIds[i] = questao.getId();
+            ordens[i] = questao.getOrdem();
+            tipos[i] = tipo(questao.getTipo());
+            if (Boolean.TRUE.equals(questao.getObrigatoria())) {
+                obrigatorias.set(i);
+            }
+            compilarOpcoes(i, questao.getOpcoes());
+        }
+
+        // ID na metade alta e posição na baixa: ordenar os longs ordena os dois juntos
+        long[] pares = new long[total];
+        for (int i = 0; i < total; i++) {
+            pares[i] = ((long) questaoIds[i] << 32) | i;
+        }
+        Arrays.sort(pares);
+        this.idsOrdenados = new int[total];
+        this.posicoesOrdenadas = new int[total];
+        for (int i = 0; i < total; i++) {
+            idsOrdenados[i] = (int) (pares[i] >> 32);
+            posicoesOrdenadas[i] = (int) pares[i];
+        }
+    }
+
+    public static ValidadorFormulario compilar(FormularioDTO formulario) {
+        return new ValidadorFormulario(formulario);
+    }
+
+    /**
+     * Versão do snapshot de onde o validador foi compilado
+     */
+    public long getVersao() {
+        return versao;
+    }
+
+    /**
+     * Valida obrigatoriedade, tipo da questão e se as opções pertencem à questão
+     *
+     * @param respostas respostas indexadas pelo ID da questão
+     * @throws IllegalArgumentException na primeira questão inválida, na ordem do formulário
+     */
+    public void validar(Map<Integer, RespostaSubmetida> respostas) {
+        int encontradas = 0;
+
+        for (int i = 0; i < questaoIds.length; i++) {
+            RespostaSubmetida resposta = respostas.get(questaoIds[i]);
+            if (resposta != null) {
+                encontradas++;
+            }
+
+            if (emBranco(tipos[i], resposta)) {
+                if (obrigatorias.get(i)) {
+                    throw new IllegalArgumentException("A questão " + ordens[i] + " é obrigatória");
+                }
+                continue;
+            }
+
+            validarPreenchida(i, resposta);
+        }
+
+        // Sobrou resposta para alguma questão que não é deste formulário
+        if (encontradas < respostas.size()) {
+            for (Integer questaoId : respostas.keySet()) {
+                if (questaoId == null || Arrays.binarySearch(idsOrdenados, questaoId) < 0) {
+                    throw new IllegalArgumentException("Questão " + questaoId + " não pertence a esta avaliação");
+                }
+            }
+        }
+    }
+
+    /**
+     * Valida só as questões presentes, sem exigir as obrigatórias (rascunhos parciais);
+     * respostas em branco são aceitas e significam "limpar a questão"
+     */
+    public void validarParcial(Map<Integer, RespostaSubmetida> respostas) {
+        for (Map.Entry<Integer, RespostaSubmetida> entrada : respostas.entrySet()) {
+            int indice = indice(entrada.getKey());
+            if (indice < 0) {
+                throw new IllegalArgumentException("Questão " + entrada.getKey() + " não pertence a esta avaliação");
+            }
+            if (!emBranco(tipos[indice], entrada.getValue())) {
+                validarPreenchida(indice, entrada.getValue());
+            }
+        }
+    }
+
+    /**
+     * Se a questão pertence a este formulário
+     */
+    public boolean contem(Integer questaoId) {
+        return indice(questaoId) >= 0;
+    }
+
+    /**
+     * Quantidade de questões do formulário
+     */
+    public int getQuestoes() {
+        return questaoIds.length;
+    }
+
+    /**
+     * Mesma regra de "em branco" usada na gravação: aberta sem texto, ou escolha sem opções
+     */
+    public static boolean emBranco(TipoQuestao tipo, RespostaSubmetida resposta) {
+        return emBranco(tipo(tipo), resposta);
+    }
+
+    /**
+     * Tipo e opções de uma questão respondida
+     */
+    private void validarPreenchida(int i, RespostaSubmetida resposta) {
+        List<Integer> opcaoIds = resposta.getOpcaoIds();
+
+        if (tipos[i] == ABERTA) {
+            if (opcaoIds != null && !opcaoIds.isEmpty()) {
+                throw new IllegalArgumentException("A questão " + ordens[i] + " não aceita opções");
+            }
+            if (excedeTamanhoMaximo(resposta.getTextoResposta())) {
+                throw new IllegalArgumentException("A resposta da questão " + ordens[i] + " é longa demais");
+            }
+            return;
+        }
+
+        if (tipos[i] == ESCOLHA_UNICA && opcaoIds.size() > 1) {
+            throw new IllegalArgumentException("A questão " + ordens[i] + " aceita apenas uma opção");
+        }
+
+        for (int j = 0; j < opcaoIds.size(); j++) {
+            Integer opcaoId = opcaoIds.get(j);
+            if (opcaoId == null || !opcaoValida(i, opcaoId)) {
+                throw new IllegalArgumentException("Opção inválida para a questão " + ordens[i]);
+            }
+        }
+    }
+
+    /**
+     * Posição da questão no formulário, ou -1 se não pertence a ele
+     */
+    private int indice(Integer questaoId) {
+        if (questaoId == null) {
+            return -1;
+        }
+        int encontrado = Arrays.binarySearch(idsOrdenados, questaoId);
+        return encontrado < 0 ? -1 : posicoesOrdenadas[encontrado];
+    }
+
+    private static boolean emBranco(byte tipo, RespostaSubmetida resposta) {
+        if (resposta == null) {
+            return true;
+        }
+        if (tipo == ABERTA) {
+            return resposta.getTextoResposta() == null || resposta.getTextoResposta().isBlank();
+        }
+        return resposta.getOpcaoIds() == null || resposta.getOpcaoIds().isEmpty();
+    }
+
+    /**
+     * Se o texto passa de BYTES_TEXTO_MAXIMO em UTF-8, contando sem codificá-lo
+     */
+    static boolean excedeTamanhoMaximo(String texto) {
+        // Até 3 bytes por char (um par substituto ocupa 4 bytes em 2 chars)
+        if (texto.length() <= BYTES_TEXTO_MAXIMO / 3) {
+            return false;
+        }
+        int bytes = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < texto.length()
+                    && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+            if (bytes > BYTES_TEXTO_MAXIMO) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean opcaoValida(int indice, int opcaoId) {
+        long[] bits = bitsOpcoes[indice];
+        if (bits != null) {
+            int deslocamento = opcaoId - baseOpcoes[indice];
+            return deslocamento >= 0 && deslocamento < bits.length * 64
+                && (bits[deslocamento >>> 6] & (1L << deslocamento)) != 0;
+        }
+        return Arrays.binarySearch(opcoesOrdenadas[indice], opcaoId) >= 0;
+    }
+
+    private void compilarOpcoes(int indice, List<OpcaoDTO> opcoes) {
+        int[] ids = new int[opcoes.size()];
+        for (int j = 0; j < ids.length; j++) {
+            ids[j] = opcoes.get(j).getId();
+        }
+        Arrays.sort(ids);
+
+        if (ids.length == 0) {
+            bitsOpcoes[indice] = new long[0];
+            return;
+        }
+
+        // IDs vêm da mesma sequência e costumam ser vizinhos: o bitset cabe em poucas palavras
+        long amplitude = (long) ids[ids.length - 1] - ids[0] + 1;
+        if (amplitude > (long) ids.length * BITS_POR_OPCAO_MAXIMO) {
+            opcoesOrdenadas[indice] = ids;
+            return;
+        }
+
+        long[] bits = new long[(int) ((amplitude + 63) >>> 6)];
+        for (int id : ids) {
+            int deslocamento = id - ids[0];
+            bits[deslocamento >>> 6] |= 1L << deslocamento;
+        }
+        baseOpcoes[indice] = ids[0];
+        bitsOpcoes[indice] = bits;
+    }
+
+    private static byte tipo(TipoQuestao tipo) {
+        switch (tipo) {
+            case MULTIPLA_ESCOLHA_UNICA:
+                return ESCOLHA_UNICA;
+            case MULTIPLA_ESCOLHA_MULTIPLA:
+                return ESCOLHA_MULTIPLA;
+            default:
+                return ABERTA;
+        }
+    }
+}
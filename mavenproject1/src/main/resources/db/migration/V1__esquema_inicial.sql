@@ -0,0 +1,204 @@
+-- Esquema inicial, equivalente ao que o Hibernate gerava com ddl-auto=update.
+-- Bancos já existentes são marcados com esta versão (baseline) e recebem só as migrações seguintes.
+
+CREATE TABLE avaliacao (
+    anonima bit not null,
+    criador_id integer not null,
+    id integer not null,
+    permite_edicao bit not null,
+    turma_id integer,
+    created_at datetime(6) not null,
+    data_fim datetime(6) not null,
+    data_inicio datetime(6) not null,
+    updated_at datetime(6),
+    titulo varchar(200) not null,
+    descricao TEXT,
+    primary key (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE avaliacao_resposta_tracking_seq (
+    next_val bigint
+) ENGINE=InnoDB;
+INSERT INTO avaliacao_resposta_tracking_seq VALUES (1);
+
+CREATE TABLE avaliacao_seq (
+    next_val bigint
+) ENGINE=InnoDB;
+INSERT INTO avaliacao_seq VALUES (1);
+
+CREATE TABLE avaliacao_resposta_tracking (
+    avaliacao_id integer not null,
+    completa bit not null,
+    id integer not null,
+    usuario_id integer not null,
+    data_finalizacao datetime(6),
+    data_inicio datetime(6) not null,
+    ip_address varchar(45),
+    primary key (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE curso (
+    id integer not null,
+    nome varchar(255),
+    primary key (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE curso_seq (
+    next_val bigint
+) ENGINE=InnoDB;
+INSERT INTO curso_seq VALUES (1);
+
+CREATE TABLE estatistica_opcao (
+    avaliacao_id integer not null,
+    opcao_id integer not null,
+    questao_id integer not null,
+    total_selecoes bigint not null,
+    primary key (opcao_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE estatistica_questao (
+    avaliacao_id integer not null,
+    questao_id integer not null,
+    total_respostas bigint not null,
+    primary key (questao_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE opcao_resposta_seq (
+    next_val bigint
+) ENGINE=InnoDB;
+INSERT INTO opcao_resposta_seq VALUES (1);
+
+CREATE TABLE opcao_resposta (
+    id integer not null,
+    is_correta bit not null,
+    ordem integer not null,
+    questao_id integer not null,
+    texto TEXT not null,
+    primary key (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE perfil (
+    id integer not null auto_increment,
+    nome varchar(50) not null,
+    primary key (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE questao (
+    avaliacao_id integer not null,
+    id integer not null,
+    obrigatoria bit not null,
+    ordem integer not null,
+    texto TEXT not null,
+    tipo enum ('ABERTA','MULTIPLA_ESCOLHA_MULTIPLA','MULTIPLA_ESCOLHA_UNICA') not null,
+    primary key (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE questao_seq (
+    next_val bigint
+) ENGINE=InnoDB;
+INSERT INTO questao_seq VALUES (1);
+
+CREATE TABLE resposta (
+    id integer not null,
+    questao_id integer not null,
+    usuario_id integer not null,
+    data_resposta datetime(6) not null,
+    data_ultima_edicao datetime(6),
+    ip_address varchar(45),
+    texto_resposta TEXT,
+    primary key (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE resposta_opcao (
+    opcao_id integer not null,
+    resposta_id integer not null,
+    primary key (opcao_id, resposta_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE resposta_seq (
+    next_val bigint
+) ENGINE=InnoDB;
+INSERT INTO resposta_seq VALUES (1);
+
+CREATE TABLE turma (
+    ano integer,
+    id integer not null,
+    professor integer,
+    semestre integer,
+    uc_id integer,
+    primary key (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE turma_alunos (
+    alunos_id integer not null,
+    turma_id integer not null,
+    primary key (alunos_id, turma_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE turma_seq (
+    next_val bigint
+) ENGINE=InnoDB;
+INSERT INTO turma_seq VALUES (1);
+
+CREATE TABLE unidade_curricular_seq (
+    next_val bigint
+) ENGINE=InnoDB;
+INSERT INTO unidade_curricular_seq VALUES (1);
+
+CREATE TABLE unidade_curricular (
+    id integer not null,
+    uc_id integer,
+    nome varchar(255),
+    tipo varchar(255),
+    primary key (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE usuario (
+    id integer not null,
+    id_perfil integer not null,
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    matricula_siape varchar(20) not null,
+    email varchar(100) not null,
+    nome varchar(100) not null,
+    senha_hash varchar(255) not null,
+    primary key (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE usuario_seq (
+    next_val bigint
+) ENGINE=InnoDB;
+INSERT INTO usuario_seq VALUES (1);
+
+CREATE TABLE usuario_turmas_como_aluno (
+    turmas_como_aluno_id integer not null,
+    usuario_id integer not null,
+    primary key (turmas_como_aluno_id, usuario_id)
+) ENGINE=InnoDB;
+
+
+ALTER TABLE avaliacao_resposta_tracking ADD CONSTRAINT UKomm04r94bts567elpw7bdl432 UNIQUE (avaliacao_id, usuario_id);
+CREATE INDEX IDXbwcbn82wx828mhtrcqi76iv3e ON estatistica_opcao (avaliacao_id);
+CREATE INDEX IDXkeh5dt5hdw3l4il72jte69gve ON estatistica_questao (avaliacao_id);
+ALTER TABLE perfil ADD CONSTRAINT UK8m46w0jj2ksw0subwvu0i5kmd UNIQUE (nome);
+ALTER TABLE usuario ADD CONSTRAINT UK5171l57faosmj8myawaucatdw UNIQUE (email);
+ALTER TABLE avaliacao ADD CONSTRAINT FKboxopgacvk40w7t8k9xp0tah1 FOREIGN KEY (criador_id) REFERENCES usuario (id);
+ALTER TABLE avaliacao ADD CONSTRAINT FKocfuxny1ed0d65ytva0oqtnpt FOREIGN KEY (turma_id) REFERENCES turma (id);
+ALTER TABLE avaliacao_resposta_tracking ADD CONSTRAINT FKnwvj7ajgo4joa07du9mnlu9m3 FOREIGN KEY (avaliacao_id) REFERENCES avaliacao (id);
+ALTER TABLE avaliacao_resposta_tracking ADD CONSTRAINT FKkiwqjt5lm2vbqxcaxksacm1dl FOREIGN KEY (usuario_id) REFERENCES usuario (id);
+ALTER TABLE opcao_resposta ADD CONSTRAINT FKdytaqfhk79jpwvjnjcoa59lm9 FOREIGN KEY (questao_id) REFERENCES questao (id);
+ALTER TABLE questao ADD CONSTRAINT FK280r16bdbgfycf37s2tru4gf9 FOREIGN KEY (avaliacao_id) REFERENCES avaliacao (id);
+ALTER TABLE resposta ADD CONSTRAINT FK9bkra3cetqytlhxrs4unvc047 FOREIGN KEY (questao_id) REFERENCES questao (id);
+ALTER TABLE resposta ADD CONSTRAINT FKlkkd05fixonkwlu0lru3qitoq FOREIGN KEY (usuario_id) REFERENCES usuario (id);
+ALTER TABLE resposta_opcao ADD CONSTRAINT FK6mqacomfdshrctrv8741o2r1t FOREIGN KEY (opcao_id) REFERENCES opcao_resposta (id);
+ALTER TABLE resposta_opcao ADD CONSTRAINT FKqtalklw89caj12n4n6kuw528s FOREIGN KEY (resposta_id) REFERENCES resposta (id);
+ALTER TABLE turma ADD CONSTRAINT FK2rm2nkmo043scjn2soxfugqhr FOREIGN KEY (professor) REFERENCES usuario (id);
+ALTER TABLE turma ADD CONSTRAINT FKk9yh3ayyl2t3vhvnh76jhj4c5 FOREIGN KEY (uc_id) REFERENCES unidade_curricular (id);
+ALTER TABLE turma_alunos ADD CONSTRAINT FKg6osy2wgjiak8b4ib8aifxhus FOREIGN KEY (alunos_id) REFERENCES usuario (id);
+ALTER TABLE turma_alunos ADD CONSTRAINT FKn95nbs8utamw04eggpbwou0px FOREIGN KEY (turma_id) REFERENCES turma (id);
+ALTER TABLE unidade_curricular ADD CONSTRAINT FKh3psc22u0h3fcr99jqqavjenv FOREIGN KEY (uc_id) REFERENCES curso (id);
+ALTER TABLE usuario ADD CONSTRAINT FK131gkl0dt1966rsw6dmesnsxw FOREIGN KEY (id_perfil) REFERENCES perfil (id);
+ALTER TABLE usuario_turmas_como_aluno ADD CONSTRAINT FK54aolvtclgkds3ce7ipibs6ap FOREIGN KEY (turmas_como_aluno_id) REFERENCES turma (id);
+ALTER TABLE usuario_turmas_como_aluno ADD CONSTRAINT FK65rmurnvtl98iqrov5gruoea5 FOREIGN KEY (usuario_id) REFERENCES usuario (id);
+
+INSERT INTO perfil (nome) VALUES ('ALUNO'), ('PROFESSOR'), ('COORDENADOR'), ('ADMINISTRADOR');
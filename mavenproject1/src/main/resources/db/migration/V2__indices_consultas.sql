@@ -0,0 +1,19 @@
+-- Índices compostos para as consultas mais frequentes
+
+-- Avaliações ativas por turma (dashboard do aluno e índice em memória)
+CREATE INDEX idx_avaliacao_turma_periodo ON avaliacao (turma_id, data_inicio, data_fim);
+
+-- Respostas de um aluno por questão (submissão, edição e exportação)
+CREATE INDEX idx_resposta_questao_usuario ON resposta (questao_id, usuario_id);
+
+-- Contagem de respostas completas por avaliação
+CREATE INDEX idx_tracking_avaliacao_completa ON avaliacao_resposta_tracking (avaliacao_id, completa);
+
+-- Questões de uma avaliação em ordem (montagem do formulário)
+CREATE INDEX idx_questao_avaliacao_ordem ON questao (avaliacao_id, ordem);
+
+-- Opções de uma questão e busca da opção correta
+CREATE INDEX idx_opcao_resposta_questao_correta ON opcao_resposta (questao_id, is_correta);
+
+-- Alunos de uma turma; a chave primária (alunos_id, turma_id) já atende turmas de um aluno
+CREATE INDEX idx_turma_alunos_turma_aluno ON turma_alunos (turma_id, alunos_id);
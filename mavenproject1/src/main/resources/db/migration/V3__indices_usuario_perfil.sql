@@ -0,0 +1,10 @@
+-- Listagem e busca de usuários por perfil (selects e type-ahead da gestão de turmas)
+
+-- Página de usuários de um perfil em ordem alfabética
+CREATE INDEX idx_usuario_perfil_nome ON usuario (id_perfil, nome);
+
+-- Busca por prefixo de email
+CREATE INDEX idx_usuario_perfil_email ON usuario (id_perfil, email);
+
+-- Busca por prefixo de matrícula/SIAPE e resolução da matrícula em lote
+CREATE INDEX idx_usuario_perfil_matricula ON usuario (id_perfil, matricula_siape);
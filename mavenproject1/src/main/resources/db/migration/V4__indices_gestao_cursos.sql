@@ -0,0 +1,7 @@
+-- Paginação da gestão de cursos
+
+-- Turmas filtradas e ordenadas por período (ordem padrão: mais recentes primeiro)
+CREATE INDEX idx_turma_ano_semestre ON turma (ano, semestre);
+
+-- UCs em ordem alfabética (tabela e selects)
+CREATE INDEX idx_unidade_curricular_nome ON unidade_curricular (nome);
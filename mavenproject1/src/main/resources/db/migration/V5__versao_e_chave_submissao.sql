@@ -0,0 +1,9 @@
+-- Controle de concorrência nas respostas
+
+-- Versão para lock otimista (@Version); linhas existentes começam em 0
+ALTER TABLE avaliacao_resposta_tracking ADD COLUMN versao bigint not null default 0;
+ALTER TABLE resposta ADD COLUMN versao bigint not null default 0;
+
+-- Chave de idempotência da última submissão aplicada: reenvios com a mesma chave
+-- (duplo clique, retry do navegador) não regravam as respostas
+ALTER TABLE avaliacao_resposta_tracking ADD COLUMN chave_submissao varchar(36);
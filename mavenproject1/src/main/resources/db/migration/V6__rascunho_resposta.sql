@@ -0,0 +1,18 @@
+-- Rascunho das respostas (autosave): uma linha por questão alterada, gravada em lotes
+-- pelo RascunhoRespostaService e apagada quando o tracking é finalizado ou submetido
+
+-- opcao_ids: IDs das opções separados por vírgula
+-- Sem FK para o tracking: a verificação travaria a linha do tracking em modo compartilhado,
+-- e a descarga ficaria esperando a finalização que está esperando por ela
+CREATE TABLE rascunho_resposta (
+    tracking_id integer not null,
+    questao_id integer not null,
+    texto_resposta MEDIUMTEXT,
+    opcao_ids varchar(1000),
+    atualizado_em datetime(6) not null,
+    primary key (tracking_id, questao_id)
+) ENGINE=InnoDB;
+
+-- Excluir a questão leva os rascunhos dela junto
+ALTER TABLE rascunho_resposta ADD CONSTRAINT fk_rascunho_resposta_questao
+    FOREIGN KEY (questao_id) REFERENCES questao (id) ON DELETE CASCADE;
@@ -0,0 +1,43 @@
+-- Tabelas de sequência (*_seq) alinhadas com os IDs já gravados
+
+-- Bancos criados antes das *_seq (IDs por auto_increment) entram no Flyway pelo baseline
+-- na versão 1 e nunca executam o V1: as tabelas de sequência não existem, ou começariam
+-- em 1 e o AlocadorIds entregaria IDs já usados. Cada next_val passa a ser o maior ID da
+-- tabela + 50 (o tamanho do bloco), que é o valor que o AlocadorIds espera encontrar depois
+-- do último bloco reservado. GREATEST preserva uma sequência que já está à frente.
+
+CREATE TABLE IF NOT EXISTS avaliacao_seq (next_val bigint) ENGINE=InnoDB;
+INSERT INTO avaliacao_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM avaliacao_seq);
+UPDATE avaliacao_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM avaliacao));
+
+CREATE TABLE IF NOT EXISTS avaliacao_resposta_tracking_seq (next_val bigint) ENGINE=InnoDB;
+INSERT INTO avaliacao_resposta_tracking_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM avaliacao_resposta_tracking_seq);
+UPDATE avaliacao_resposta_tracking_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM avaliacao_resposta_tracking));
+
+CREATE TABLE IF NOT EXISTS curso_seq (next_val bigint) ENGINE=InnoDB;
+INSERT INTO curso_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM curso_seq);
+UPDATE curso_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM curso));
+
+CREATE TABLE IF NOT EXISTS opcao_resposta_seq (next_val bigint) ENGINE=InnoDB;
+INSERT INTO opcao_resposta_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM opcao_resposta_seq);
+UPDATE opcao_resposta_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM opcao_resposta));
+
+CREATE TABLE IF NOT EXISTS questao_seq (next_val bigint) ENGINE=InnoDB;
+INSERT INTO questao_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM questao_seq);
+UPDATE questao_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM questao));
+
+CREATE TABLE IF NOT EXISTS resposta_seq (next_val bigint) ENGINE=InnoDB;
+INSERT INTO resposta_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM resposta_seq);
+UPDATE resposta_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM resposta));
+
+CREATE TABLE IF NOT EXISTS turma_seq (next_val bigint) ENGINE=InnoDB;
+INSERT INTO turma_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM turma_seq);
+UPDATE turma_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM turma));
+
+CREATE TABLE IF NOT EXISTS unidade_curricular_seq (next_val bigint) ENGINE=InnoDB;
+INSERT INTO unidade_curricular_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM unidade_curricular_seq);
+UPDATE unidade_curricular_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM unidade_curricular));
+
+CREATE TABLE IF NOT EXISTS usuario_seq (next_val bigint) ENGINE=InnoDB;
+INSERT INTO usuario_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM usuario_seq);
+UPDATE usuario_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM usuario));
@@ -0,0 +1,6 @@
+-- Só para o perfil replica-local (H2 em memória, banco novo a cada execução)
+
+-- A "réplica" é o mesmo banco acessado por um usuário sem permissão de escrita:
+-- uma escrita roteada por engano para a réplica falha em vez de passar despercebida
+CREATE USER IF NOT EXISTS leitor PASSWORD 'leitor';
+GRANT SELECT ON SCHEMA PUBLIC TO leitor;
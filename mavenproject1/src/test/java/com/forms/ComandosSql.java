@@ -0,0 +1,145 @@
+package com.forms;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Registra os comandos que chegam ao JDBC pelo DataSource da aplicação na thread do teste
+ *
+ * Cada execução de PreparedStatement vira uma Execucao, com os parâmetros ligados; um
+ * executeBatch é uma execução só, com o número de linhas acumuladas por addBatch. É o que
+ * o banco recebe, não o que o Hibernate prepara: no batch ele reaproveita o mesmo
+ * PreparedStatement em todos os lotes.
+ */
+public class ComandosSql {
+
+    /**
+     * @param parametros valores ligados ao comando, em ordem; vazio nos lotes
+     */
+    public record Execucao(String sql, boolean lote, int linhas, List<Object> parametros) {
+    }
+
+    private static final ThreadLocal<List<Execucao>> GRAVACAO = new ThreadLocal<>();
+
+    /**
+     * Executa a ação e devolve, em ordem, os comandos executados durante ela
+     */
+    public static List<Execucao> gravar(Runnable acao) {
+        List<Execucao> execucoes = new ArrayList<>();
+        GRAVACAO.set(execucoes);
+        try {
+            acao.run();
+        } finally {
+            GRAVACAO.remove();
+        }
+        return execucoes;
+    }
+
+    private static void registrar(String sql, boolean lote, int linhas, List<Object> parametros) {
+        List<Execucao> execucoes = GRAVACAO.get();
+        if (execucoes != null) {
+            execucoes.add(new Execucao(sql, lote, linhas, parametros));
+        }
+    }
+
+    /**
+     * Envolve o DataSource principal (JPA, JdbcTemplate, Flyway) no contexto dos testes
+     */
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class Configuracao {
+
+        @Bean
+        static BeanPostProcessor gravacaoComandosSql() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String nome) {
+                    return "dataSource".equals(nome) ? interceptar(DataSource.class, bean, new DataSourceGravado(bean)) : bean;
+                }
+            };
+        }
+    }
+
+    private static <T> T interceptar(Class<T> tipo, Object alvo, InvocationHandler handler) {
+        return tipo.cast(Proxy.newProxyInstance(ComandosSql.class.getClassLoader(), new Class<?>[] {tipo}, handler));
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private record DataSourceGravado(Object alvo) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            Object resultado = invocar(alvo, metodo, args);
+            return resultado instanceof Connection conexao
+                ? interceptar(Connection.class, conexao, new ConexaoGravada(conexao))
+                : resultado;
+        }
+    }
+
+    private record ConexaoGravada(Connection alvo) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            Object resultado = invocar(alvo, metodo, args);
+            if (resultado instanceof PreparedStatement comando && metodo.getName().equals("prepareStatement")) {
+                return interceptar(PreparedStatement.class, comando, new ComandoGravado(comando, (String) args[0]));
+            }
+            return resultado;
+        }
+    }
+
+    private static class ComandoGravado implements InvocationHandler {
+        private final PreparedStatement alvo;
+        private final String sql;
+        private final Map<Integer, Object> parametros = new TreeMap<>();
+        private int linhasNoLote;
+
+        ComandoGravado(PreparedStatement alvo, String sql) {
+            this.alvo = alvo;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nome = metodo.getName();
+            switch (nome) {
+                case "addBatch" -> linhasNoLote++;
+                case "clearBatch" -> linhasNoLote = 0;
+                case "clearParameters" -> parametros.clear();
+                case "executeBatch", "executeLargeBatch" -> {
+                    registrar(sql, true, linhasNoLote, List.of());
+                    linhasNoLote = 0;
+                }
+                case "execute", "executeQuery", "executeUpdate", "executeLargeUpdate" -> {
+                    if (args == null) {
+                        registrar(sql, false, 1, new ArrayList<>(parametros.values()));
+                    }
+                }
+                default -> {
+                    // setInt(1, valor), setNull(2, tipo)...
+                    if (nome.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer indice) {
+                        parametros.put(indice, nome.equals("setNull") ? null : args[1]);
+                    }
+                }
+            }
+            return invocar(alvo, metodo, args);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.forms;
+
+import com.forms.dto.FormularioDTO.OpcaoDTO;
+import com.forms.dto.FormularioDTO.QuestaoDTO;
+import com.forms.dto.RespostaSubmetida;
+import com.forms.models.Avaliacao;
+import com.forms.models.Curso;
+import com.forms.models.OpcaoResposta;
+import com.forms.models.Perfil;
+import com.forms.models.Questao;
+import com.forms.models.TipoQuestao;
+import com.forms.models.Turma;
+import com.forms.models.UnidadeCurricular;
+import com.forms.models.Usuario;
+import com.forms.repository.AvaliacaoRepository;
+import com.forms.repository.CursoRepository;
+import com.forms.repository.OpcaoRespostaRepository;
+import com.forms.repository.PerfilRepository;
+import com.forms.repository.QuestaoRepository;
+import com.forms.repository.TurmaRepository;
+import com.forms.repository.UnidadeCurricularRepository;
+import com.forms.repository.UsuarioRepository;
+import com.forms.service.AvaliacaoService;
+import com.forms.service.FormularioService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Aplicação completa no perfil test (H2 em modo MySQL, com réplica de leitura) e os dados
+ * mínimos de uma turma com uma avaliação ativa
+ *
+ * O contexto é compartilhado entre as classes de teste e o banco não é limpo entre elas:
+ * cada cenário cria os próprios usuários, turmas e avaliações, com e-mails e matrículas únicos.
+ */
+@SpringBootTest
+@Import(ComandosSql.Configuracao.class)
+@ActiveProfiles("test")
+public abstract class TesteIntegracao {
+
+    protected static final String IP = "127.0.0.1";
+
+    private static final AtomicInteger SEQUENCIA = new AtomicInteger();
+
+    @Autowired
+    protected TransactionTemplate transactionTemplate;
+
+    @Autowired
+    protected UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PerfilRepository perfilRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private UnidadeCurricularRepository unidadeCurricularRepository;
+
+    @Autowired
+    protected TurmaRepository turmaRepository;
+
+    @Autowired
+    protected AvaliacaoRepository avaliacaoRepository;
+
+    @Autowired
+    private QuestaoRepository questaoRepository;
+
+    @Autowired
+    private OpcaoRespostaRepository opcaoRespostaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    protected FormularioService formularioService;
+
+    @Autowired
+    protected AvaliacaoService avaliacaoService;
+
+    /**
+     * Estatísticas do Hibernate (hibernate.generate_statistics), zeradas no início da medição
+     */
+    protected Statistics estatisticas() {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        return estatisticas;
+    }
+
+    protected Usuario criarUsuario(String perfil) {
+        int n = SEQUENCIA.incrementAndGet();
+        Perfil encontrado = perfilRepository.findByNome(perfil).orElseThrow();
+
+        Usuario usuario = new Usuario();
+        usuario.setNome(perfil + " Teste " + n);
+        usuario.setEmail(perfil.toLowerCase() + n + "@teste.local");
+        usuario.setMatriculaSiape(String.format("T%06d", n));
+        usuario.setSenhaHash("{noop}senha");
+        usuario.setPerfil(encontrado);
+        return usuarioRepository.save(usuario);
+    }
+
+    protected List<Usuario> criarAlunos(int quantidade) {
+        List<Usuario> alunos = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            alunos.add(criarUsuario("ALUNO"));
+        }
+        return alunos;
+    }
+
+    protected Turma criarTurma(Usuario professor, List<Usuario> alunos) {
+        return transactionTemplate.execute(status -> {
+            Curso curso = new Curso();
+            curso.setNome("Curso Teste " + SEQUENCIA.incrementAndGet());
+            cursoRepository.save(curso);
+
+            UnidadeCurricular uc = new UnidadeCurricular();
+            uc.setNome("UC Teste " + SEQUENCIA.incrementAndGet());
+            uc.setCurso(curso);
+            unidadeCurricularRepository.save(uc);
+
+            Turma turma = new Turma();
+            turma.setAno(2025);
+            turma.setSemestre(1);
+            turma.setProfessor(professor);
+            turma.setUc(uc);
+            turma.setAlunos(new HashSet<>(alunos));
+            return turmaRepository.save(turma);
+        });
+    }
+
+    /**
+     * Avaliação ativa com questões alternando entre aberta, escolha única e múltipla escolha
+     */
+    protected Avaliacao criarAvaliacao(Turma turma, Usuario criador, int questoes, boolean permiteEdicao) {
+        return transactionTemplate.execute(status -> {
+            Avaliacao avaliacao = new Avaliacao();
+            avaliacao.setTitulo("Avaliação Teste " + SEQUENCIA.incrementAndGet());
+            avaliacao.setDescricao("Avaliação com " + questoes + " questões");
+            avaliacao.setDataInicio(LocalDateTime.now().minusDays(1));
+            avaliacao.setDataFim(LocalDateTime.now().plusDays(30));
+            avaliacao.setPermiteEdicao(permiteEdicao);
+            avaliacao.setTurma(turma);
+            avaliacao.setCriador(criador);
+            // Pelo service, como a aplicação: entra no índice de avaliações ativas após o commit
+            avaliacaoService.salvar(avaliacao);
+
+            TipoQuestao[] tipos = {TipoQuestao.ABERTA, TipoQuestao.MULTIPLA_ESCOLHA_UNICA,
+                TipoQuestao.MULTIPLA_ESCOLHA_MULTIPLA};
+            for (int i = 1; i <= questoes; i++) {
+                Questao questao = new Questao();
+                questao.setTexto("Questão " + i);
+                questao.setTipo(tipos[i % tipos.length]);
+                questao.setOrdem(i);
+                questao.setAvaliacao(avaliacao);
+                questaoRepository.save(questao);
+
+                if (questao.getTipo() != TipoQuestao.ABERTA) {
+                    Set<OpcaoResposta> opcoes = new HashSet<>();
+                    for (int j = 1; j <= 4; j++) {
+                        OpcaoResposta opcao = new OpcaoResposta();
+                        opcao.setTexto("Opção " + j);
+                        opcao.setOrdem(j);
+                        opcao.setIsCorreta(j == 1);
+                        opcao.setQuestao(questao);
+                        opcoes.add(opcaoRespostaRepository.save(opcao));
+                    }
+                    questao.setOpcoes(opcoes);
+                }
+            }
+            return avaliacao;
+        });
+    }
+
+    /**
+     * Respostas válidas para todas as questões: texto nas abertas, a primeira opção nas de
+     * escolha única e as duas primeiras nas de múltipla escolha
+     */
+    protected Map<Integer, RespostaSubmetida> respostasValidas(Integer avaliacaoId) {
+        Map<Integer, RespostaSubmetida> respostas = new HashMap<>();
+        for (QuestaoDTO questao : formularioService.buscarFormulario(avaliacaoId).getQuestoes()) {
+            if (questao.getTipo() == TipoQuestao.ABERTA) {
+                respostas.put(questao.getId(), new RespostaSubmetida(null, "Resposta " + questao.getOrdem()));
+                continue;
+            }
+            int selecionadas = questao.getTipo() == TipoQuestao.MULTIPLA_ESCOLHA_MULTIPLA ? 2 : 1;
+            List<Integer> opcoes = new ArrayList<>();
+            for (OpcaoDTO opcao : questao.getOpcoes().subList(0, selecionadas)) {
+                opcoes.add(opcao.getId());
+            }
+            respostas.put(questao.getId(), new RespostaSubmetida(opcoes, null));
+        }
+        return respostas;
+    }
+}
@@ -0,0 +1,81 @@
+package com.forms.config;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.http.client.ClientHttpRequestFactorySettings.Redirects;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * /actuator/prometheus nunca fica aberto na porta pública da aplicação
+ *
+ * Sobe o servidor de verdade (porta aleatória), porque a separação é por porta, e com a
+ * exportação de métricas que o @SpringBootTest desliga por padrão.
+ */
+class ActuatorSegurancaTest {
+
+    private static final String PROMETHEUS = "/actuator/prometheus";
+
+    /**
+     * Configuração padrão: actuator em management.server.port, aqui uma porta aleatória
+     */
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.server.port=0")
+    @AutoConfigureObservability
+    @ActiveProfiles("test")
+    class PortaPropria {
+
+        @Autowired
+        private TestRestTemplate restTemplate;
+
+        @LocalManagementPort
+        private int portaGerenciamento;
+
+        @Test
+        void scrapeSoNaPortaDoActuator() {
+            ResponseEntity<String> scrape = restTemplate.getForEntity(
+                "http://localhost:" + portaGerenciamento + PROMETHEUS, String.class);
+            assertEquals(HttpStatus.OK, scrape.getStatusCode());
+            assertTrue(scrape.getBody().contains("forms_"), "métricas da aplicação no scrape");
+
+            // Na porta da aplicação o actuator não existe; sem login, vai para a página de login
+            ResponseEntity<String> aplicacao = restTemplate.withRedirects(Redirects.DONT_FOLLOW)
+                .getForEntity(PROMETHEUS, String.class);
+            assertEquals(HttpStatus.FOUND, aplicacao.getStatusCode());
+        }
+    }
+
+    /**
+     * Actuator devolvido à porta da aplicação: o scrape passa a exigir login
+     */
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.server.port=")
+    @AutoConfigureObservability
+    @ActiveProfiles("test")
+    class MesmaPorta {
+
+        @Autowired
+        private TestRestTemplate restTemplate;
+
+        @Test
+        void scrapeExigeLogin() {
+            ResponseEntity<String> scrape = restTemplate.withRedirects(Redirects.DONT_FOLLOW)
+                .getForEntity(PROMETHEUS, String.class);
+            assertEquals(HttpStatus.FOUND, scrape.getStatusCode());
+            assertTrue(scrape.getHeaders().getLocation().getPath().endsWith("/login"));
+
+            assertEquals(HttpStatus.OK, restTemplate.getForEntity("/actuator/health", String.class).getStatusCode());
+        }
+    }
+}
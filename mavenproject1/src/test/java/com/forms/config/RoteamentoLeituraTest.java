@@ -0,0 +1,105 @@
+package com.forms.config;
+
+import com.forms.TesteIntegracao;
+import com.forms.models.Avaliacao;
+import com.forms.models.Usuario;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Roteamento entre primário e réplica no perfil test: a réplica é o mesmo H2 acessado pelo
+ * usuário leitor, então o usuário da conexão mostra para onde cada transação foi
+ */
+class RoteamentoLeituraTest extends TesteIntegracao {
+
+    private static final String USUARIO_CONEXAO = "SELECT CURRENT_USER";
+
+    @Autowired
+    private RoteamentoLeitura roteamentoLeitura;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void limpar() {
+        RoteamentoLeitura.lerDoPrimario(false);
+    }
+
+    @Test
+    void transacaoSomenteLeituraVaiParaAReplica() {
+        long replicaAntes = roteamentoLeitura.getLeiturasReplica();
+
+        String usuario = somenteLeitura().execute(status -> jdbcTemplate.queryForObject(USUARIO_CONEXAO, String.class));
+
+        assertEquals("leitor", usuario.toLowerCase());
+        assertEquals(replicaAntes + 1, roteamentoLeitura.getLeiturasReplica());
+    }
+
+    @Test
+    void servicoReadOnlyVaiParaAReplica() {
+        Usuario professor = criarUsuario("PROFESSOR");
+        Avaliacao avaliacao = criarAvaliacao(criarTurma(professor, List.of()), professor, 1, false);
+        // Vinda do cache de segundo nível, a avaliação nem chegaria a pedir conexão
+        entityManagerFactory.getCache().evict(Avaliacao.class, avaliacao.getId());
+        long replicaAntes = roteamentoLeitura.getLeiturasReplica();
+
+        assertTrue(avaliacaoService.isResponsavel(avaliacao.getId(), professor.getId(), Set.of()));
+        assertEquals(replicaAntes + 1, roteamentoLeitura.getLeiturasReplica());
+    }
+
+    @Test
+    void transacaoDeEscritaVaiParaOPrimario() {
+        long replicaAntes = roteamentoLeitura.getLeiturasReplica();
+        long primarioAntes = roteamentoLeitura.getLeiturasPrimario();
+
+        String usuario = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(USUARIO_CONEXAO, String.class));
+
+        assertEquals("sa", usuario.toLowerCase());
+        assertEquals(replicaAntes, roteamentoLeitura.getLeiturasReplica());
+        assertEquals(primarioAntes, roteamentoLeitura.getLeiturasPrimario());
+    }
+
+    /**
+     * Uma escrita dentro de transação somente leitura chega à réplica e é recusada, em vez
+     * de passar despercebida
+     */
+    @Test
+    void escritaEmTransacaoSomenteLeituraFalha() {
+        assertThrows(DataAccessException.class, () -> somenteLeitura().execute(status ->
+            jdbcTemplate.update("UPDATE perfil SET nome = nome WHERE id = 1")));
+    }
+
+    @Test
+    void leituraAposEscritaVaiParaOPrimario() {
+        long replicaAntes = roteamentoLeitura.getLeiturasReplica();
+        long primarioAntes = roteamentoLeitura.getLeiturasPrimario();
+
+        RoteamentoLeitura.lerDoPrimario(true);
+        String usuario = somenteLeitura().execute(status -> jdbcTemplate.queryForObject(USUARIO_CONEXAO, String.class));
+
+        assertEquals("sa", usuario.toLowerCase());
+        assertEquals(primarioAntes + 1, roteamentoLeitura.getLeiturasPrimario());
+        assertEquals(replicaAntes, roteamentoLeitura.getLeiturasReplica());
+    }
+
+    private TransactionTemplate somenteLeitura() {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setReadOnly(true);
+        return template;
+    }
+}
@@ -0,0 +1,58 @@
+package com.forms.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Banco anterior às tabelas de sequência: o V7 tem que deixar cada *_seq depois dos IDs
+ * existentes, com ou sem a tabela de sequência criada
+ */
+class SequenciasMigracaoTest {
+
+    @Test
+    void alocadorContinuaDepoisDosIdsExistentes() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:legado;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+
+        try (AlocadorIds alocadorIds = new AlocadorIds(dataSource)) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            migrar(dataSource, "1");
+
+            // curso como nos bancos de auto_increment: sem curso_seq
+            jdbcTemplate.execute("DROP TABLE curso_seq");
+            for (int id = 1; id <= 137; id++) {
+                jdbcTemplate.update("INSERT INTO curso (id, nome) VALUES (?, ?)", id, "Curso " + id);
+            }
+            // usuario com a sequência parada em 1 e IDs já gravados
+            jdbcTemplate.update("INSERT INTO usuario (id, id_perfil, created_at, matricula_siape, email, nome, senha_hash) "
+                + "VALUES (20, 1, CURRENT_TIMESTAMP, '20', 'u20@teste', 'Usuário 20', 'x')");
+
+            migrar(dataSource, "latest");
+
+            assertEquals(137 + AlocadorIds.TAMANHO_BLOCO, proximoValor(jdbcTemplate, "curso_seq"));
+            assertEquals(20 + AlocadorIds.TAMANHO_BLOCO, proximoValor(jdbcTemplate, "usuario_seq"));
+            assertEquals(138, alocadorIds.proximo("curso_seq"));
+            assertEquals(21, alocadorIds.proximo("usuario_seq"));
+            assertEquals(1, alocadorIds.proximo("questao_seq"));
+        }
+    }
+
+    private void migrar(HikariDataSource dataSource, String versao) {
+        Flyway.configure()
+            .dataSource(dataSource)
+            .locations("classpath:db/migration")
+            .target(versao)
+            .load()
+            .migrate();
+    }
+
+    private long proximoValor(JdbcTemplate jdbcTemplate, String tabelaSequencia) {
+        return jdbcTemplate.queryForObject("SELECT next_val FROM " + tabelaSequencia, Long.class);
+    }
+}
@@ -0,0 +1,181 @@
+package com.forms.repository;
+
+import com.forms.ComandosSql;
+import com.forms.ComandosSql.Execucao;
+import com.forms.TesteIntegracao;
+import com.forms.models.Avaliacao;
+import com.forms.models.Questao;
+import com.forms.models.Turma;
+import com.forms.models.Usuario;
+import com.forms.service.AvaliacaoRespostaService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Nenhuma consulta dos caminhos quentes faz varredura completa de tabela
+ *
+ * O SQL é o que os métodos dos repositórios geram de fato, capturado no JDBC com os
+ * parâmetros ligados (ComandosSql), e o plano é o EXPLAIN do H2, que mostra o índice usado
+ * em cada tabela ou "tableScan" quando não há nenhum. Onde a migração V2 criou um índice
+ * composto para a consulta, o plano tem que usá-lo.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IndicesConsultasTest extends TesteIntegracao {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AvaliacaoRespostaTrackingRepository trackingRepository;
+
+    @Autowired
+    private RespostaRepository respostaRepository;
+
+    @Autowired
+    private QuestaoRepository questaoRepository;
+
+    @Autowired
+    private OpcaoRespostaRepository opcaoRespostaRepository;
+
+    @Autowired
+    private EstatisticaQuestaoRepository estatisticaQuestaoRepository;
+
+    @Autowired
+    private EstatisticaOpcaoRepository estatisticaOpcaoRepository;
+
+    @Autowired
+    private AvaliacaoRespostaService avaliacaoRespostaService;
+
+    private Usuario professor;
+    private Usuario aluno;
+    private Turma turma;
+    private Avaliacao avaliacao;
+    private Questao questao;
+
+    @BeforeAll
+    void criarDados() {
+        professor = criarUsuario("PROFESSOR");
+        aluno = criarUsuario("ALUNO");
+        turma = criarTurma(professor, List.of(aluno));
+        avaliacao = criarAvaliacao(turma, professor, 3, true);
+        avaliacaoRespostaService.submeterAvaliacao(avaliacao.getId(), aluno.getId(),
+            respostasValidas(avaliacao.getId()), IP, null);
+        questao = questaoRepository.findByAvaliacaoIdOrderByOrdemAsc(avaliacao.getId()).get(1);
+    }
+
+    Stream<Arguments> consultas() {
+        LocalDateTime agora = LocalDateTime.now();
+        return Stream.of(
+            consulta("avaliacao.findAvaliacoesAtivasPorTurma", "idx_avaliacao_turma_periodo",
+                () -> avaliacaoRepository.findAvaliacoesAtivasPorTurma(turma.getId(), agora)),
+            consulta("avaliacao.findAvaliacoesAtivasDoAluno", null,
+                () -> avaliacaoRepository.findAvaliacoesAtivasDoAluno(aluno.getId(), agora)),
+            consulta("avaliacao.findFormularioById", null,
+                () -> avaliacaoRepository.findFormularioById(avaliacao.getId())),
+            consulta("avaliacao.findResumosByCriadorId", null,
+                () -> avaliacaoRepository.findResumosByCriadorId(professor.getId())),
+            consulta("avaliacao.findResumoById", null,
+                () -> avaliacaoRepository.findResumoById(avaliacao.getId())),
+            consulta("tracking.findParaAtualizar", null,
+                () -> transactionTemplate.executeWithoutResult(status ->
+                    trackingRepository.findParaAtualizar(avaliacao.getId(), aluno.getId()))),
+            consulta("tracking.findIdByAvaliacaoIdAndUsuarioId", null,
+                () -> trackingRepository.findIdByAvaliacaoIdAndUsuarioId(avaliacao.getId(), aluno.getId())),
+            consulta("tracking.countRespostasCompletasByAvaliacaoId", "idx_tracking_avaliacao_completa",
+                () -> trackingRepository.countRespostasCompletasByAvaliacaoId(avaliacao.getId())),
+            consulta("tracking.contarProgressoByAvaliacaoId", null,
+                () -> trackingRepository.contarProgressoByAvaliacaoId(avaliacao.getId())),
+            consulta("tracking.findAvaliacaoIdsCompletas", null,
+                () -> trackingRepository.findAvaliacaoIdsCompletas(aluno.getId(), List.of(avaliacao.getId()))),
+            consulta("resposta.findByQuestaoAndUsuario", "idx_resposta_questao_usuario",
+                () -> respostaRepository.findByQuestaoAndUsuario(questao, aluno)),
+            consulta("resposta.findByAvaliacaoIdAndUsuarioId", null,
+                () -> respostaRepository.findByAvaliacaoIdAndUsuarioId(avaliacao.getId(), aluno.getId())),
+            consulta("resposta.countRespostasByAvaliacaoId", null,
+                () -> respostaRepository.countRespostasByAvaliacaoId(avaliacao.getId())),
+            consulta("questao.findComOpcoesByAvaliacaoId", null,
+                () -> questaoRepository.findComOpcoesByAvaliacaoId(avaliacao.getId())),
+            consulta("questao.findByAvaliacaoIdOrderByOrdemAsc", null,
+                () -> questaoRepository.findByAvaliacaoIdOrderByOrdemAsc(avaliacao.getId())),
+            consulta("questao.countByAvaliacaoId", null,
+                () -> questaoRepository.countByAvaliacaoId(avaliacao.getId())),
+            consulta("opcao.findByQuestaoAndIsCorreta", "idx_opcao_resposta_questao_correta",
+                () -> opcaoRespostaRepository.findByQuestaoAndIsCorreta(questao, true)),
+            consulta("opcao.findResumosByQuestaoId", null,
+                () -> opcaoRespostaRepository.findResumosByQuestaoId(questao.getId())),
+            consulta("opcao.countByQuestaoId", null,
+                () -> opcaoRespostaRepository.countByQuestaoId(questao.getId())),
+            consulta("estatisticaQuestao.findByAvaliacaoId", null,
+                () -> estatisticaQuestaoRepository.findByAvaliacaoId(avaliacao.getId())),
+            consulta("estatisticaOpcao.findByAvaliacaoId", null,
+                () -> estatisticaOpcaoRepository.findByAvaliacaoId(avaliacao.getId())),
+            consulta("turma.findIdsByAlunoId", null,
+                () -> turmaRepository.findIdsByAlunoId(aluno.getId())),
+            consulta("turma.findIdsByProfessorId", null,
+                () -> turmaRepository.findIdsByProfessorId(professor.getId())),
+            consulta("turma.findAlunoIdsByTurmaId", "idx_turma_alunos_turma_aluno",
+                () -> turmaRepository.findAlunoIdsByTurmaId(turma.getId())),
+            consulta("turma.findAlunosByTurmaId", "idx_turma_alunos_turma_aluno",
+                () -> turmaRepository.findAlunosByTurmaId(turma.getId())),
+            consulta("turma.findResumosByProfessorId", null,
+                () -> turmaRepository.findResumosByProfessorId(professor.getId())),
+            consulta("usuario.findByEmail", null,
+                () -> usuarioRepository.findByEmail(aluno.getEmail())),
+            consulta("usuario.findResumoByPerfilId", null,
+                () -> usuarioRepository.findResumoByPerfilId(aluno.getPerfil().getId(),
+                    PageRequest.of(0, 20, Sort.unsorted()))),
+            consulta("usuario.findAlunoIdsByIdIn", null,
+                () -> usuarioRepository.findAlunoIdsByIdIn(List.of(aluno.getId(), professor.getId()))),
+            consulta("usuario.findAlunoIdsByMatriculaSiapeIn", "idx_usuario_perfil_matricula",
+                () -> usuarioRepository.findAlunoIdsByMatriculaSiapeIn(List.of(aluno.getMatriculaSiape())))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("consultas")
+    void consultaNaoVarreTabela(Runnable consulta, String indice) {
+        // Vindo dos caches de segundo nível e de consultas, o método nem chegaria ao banco
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        List<Execucao> execucoes = ComandosSql.gravar(consulta);
+        List<Execucao> selects = execucoes.stream()
+            .filter(execucao -> execucao.sql().stripLeading().toLowerCase().startsWith("select"))
+            .toList();
+        assertFalse(selects.isEmpty(), "nenhuma consulta executada");
+
+        StringBuilder planos = new StringBuilder();
+        for (Execucao select : selects) {
+            String plano = jdbcTemplate.queryForObject("EXPLAIN " + select.sql(), String.class,
+                select.parametros().toArray());
+            assertFalse(plano.toLowerCase().contains("tablescan"), plano);
+            planos.append(plano).append('\n');
+        }
+        if (indice != null) {
+            assertTrue(planos.toString().toLowerCase().contains(indice), planos.toString());
+        }
+    }
+
+    private static Arguments consulta(String nome, String indice, Runnable consulta) {
+        return Arguments.of(Named.of(nome, consulta), indice);
+    }
+}
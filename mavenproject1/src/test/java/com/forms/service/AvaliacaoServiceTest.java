@@ -0,0 +1,73 @@
+package com.forms.service;
+
+import com.forms.TesteIntegracao;
+import com.forms.dto.AvaliacaoAlunoDTO;
+import com.forms.models.Avaliacao;
+import com.forms.models.Turma;
+import com.forms.models.Usuario;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RF12: dashboard do aluno com número de consultas constante, independente de quantas
+ * turmas e avaliações ele tem
+ */
+class AvaliacaoServiceTest extends TesteIntegracao {
+
+    @Autowired
+    private AvaliacaoRespostaService avaliacaoRespostaService;
+
+    @Test
+    void dashboardDoAlunoNaoFazConsultaPorAvaliacao() {
+        Usuario professor = criarUsuario("PROFESSOR");
+
+        // Uma turma com uma avaliação
+        Usuario alunoUmaAvaliacao = criarUsuario("ALUNO");
+        criarAvaliacao(criarTurma(professor, List.of(alunoUmaAvaliacao)), professor, 1, true);
+
+        // Três turmas com duas avaliações cada, uma delas já respondida
+        Usuario alunoSeisAvaliacoes = criarUsuario("ALUNO");
+        List<Avaliacao> avaliacoes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Turma turma = criarTurma(professor, List.of(alunoSeisAvaliacoes));
+            avaliacoes.add(criarAvaliacao(turma, professor, 1, true));
+            avaliacoes.add(criarAvaliacao(turma, professor, 1, true));
+        }
+        Avaliacao respondida = avaliacoes.get(3);
+        avaliacaoRespostaService.submeterAvaliacao(respondida.getId(), alunoSeisAvaliacoes.getId(),
+            respostasValidas(respondida.getId()), IP, null);
+
+        // Aquece o índice de avaliações ativas e os caches de consulta
+        avaliacaoService.listarAvaliacoesAtivasDoAluno(alunoUmaAvaliacao.getId());
+        avaliacaoService.listarAvaliacoesAtivasDoAluno(alunoSeisAvaliacoes.getId());
+
+        Statistics estatisticas = estatisticas();
+        List<AvaliacaoAlunoDTO> uma = avaliacaoService.listarAvaliacoesAtivasDoAluno(alunoUmaAvaliacao.getId());
+        long consultasUma = estatisticas.getPrepareStatementCount();
+
+        estatisticas = estatisticas();
+        List<AvaliacaoAlunoDTO> seis = avaliacaoService.listarAvaliacoesAtivasDoAluno(alunoSeisAvaliacoes.getId());
+        long consultasSeis = estatisticas.getPrepareStatementCount();
+
+        assertEquals(1, uma.size());
+        assertEquals(6, seis.size());
+        assertEquals(consultasUma, consultasSeis);
+        assertTrue(consultasSeis <= 2, "consultas: " + consultasSeis);
+
+        Map<Integer, Boolean> completas = seis.stream()
+            .collect(Collectors.toMap(AvaliacaoAlunoDTO::getId, AvaliacaoAlunoDTO::getCompleta));
+        assertTrue(completas.get(respondida.getId()));
+        assertFalse(completas.get(avaliacoes.get(0).getId()));
+        assertEquals(1, completas.values().stream().filter(Boolean::booleanValue).count());
+    }
+}
@@ -0,0 +1,122 @@
+package com.forms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forms.models.Avaliacao;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RF20: exportação de 1.000.000 de respostas com memória constante
+ *
+ * O banco é um H2 em arquivo, fora do contexto da aplicação: em memória o próprio H2 guardaria
+ * o resultado inteiro no heap e a medição não diria nada sobre a exportação. Durante a escrita,
+ * o heap ocupado depois de um GC é medido a cada MEDICAO_BYTES de saída; o que a exportação
+ * retém não pode crescer com o número de linhas.
+ */
+class ExportacaoDadosBrutosServiceTest {
+
+    private static final int RESPOSTAS = 1_000_000;
+    private static final int QUESTOES = 100;
+    private static final long MEDICAO_BYTES = 16L * 1024 * 1024;
+    private static final long CRESCIMENTO_MAXIMO_HEAP = 32L * 1024 * 1024;
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void exportaUmMilhaoDeLinhasComHeapConstante() throws Exception {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:file:" + diretorio.resolve("exportacao") + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+
+        try (dataSource) {
+            Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            gerarRespostas(jdbcTemplate);
+
+            ExportacaoDadosBrutosService exportacao = new ExportacaoDadosBrutosService();
+            ReflectionTestUtils.setField(exportacao, "jdbcTemplate", jdbcTemplate);
+            ReflectionTestUtils.setField(exportacao, "objectMapper", new ObjectMapper());
+            ReflectionTestUtils.setField(exportacao, "segredoPseudonimo", "segredo-teste");
+
+            Avaliacao avaliacao = new Avaliacao();
+            avaliacao.setId(1);
+            avaliacao.setAnonima(true);
+
+            SaidaMedida saida = new SaidaMedida(heapAposGc());
+            exportacao.exportar(avaliacao, ExportacaoDadosBrutosService.Formato.CSV, saida);
+
+            // Cabeçalho + uma linha por resposta aberta
+            assertEquals(RESPOSTAS + 1, saida.linhas);
+            assertTrue(saida.medicoes >= 4, "medições: " + saida.medicoes + " em " + saida.bytes + " bytes");
+            assertTrue(saida.maiorCrescimento < CRESCIMENTO_MAXIMO_HEAP,
+                "heap cresceu " + saida.maiorCrescimento / 1024 + " KiB exportando " + saida.bytes / 1024 + " KiB");
+        }
+    }
+
+    /**
+     * Uma avaliação com QUESTOES abertas respondidas por RESPOSTAS / QUESTOES alunos; sem
+     * integridade referencial, para não precisar dos usuários, turma e avaliação
+     */
+    private void gerarRespostas(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        jdbcTemplate.update("INSERT INTO questao (avaliacao_id, id, obrigatoria, ordem, texto, tipo) "
+            + "SELECT 1, n, true, n, CONCAT('Questão ', n), 'ABERTA' FROM SYSTEM_RANGE(1, ?) AS s(n)", QUESTOES);
+        jdbcTemplate.update("INSERT INTO resposta (id, questao_id, usuario_id, data_resposta, data_ultima_edicao, "
+            + "ip_address, texto_resposta, versao) "
+            + "SELECT n, MOD(n, ?) + 1, n / ? + 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, '127.0.0.1', "
+            + "CONCAT('Resposta, com vírgula, número ', n), 0 FROM SYSTEM_RANGE(1, ?) AS s(n)", QUESTOES, QUESTOES, RESPOSTAS);
+    }
+
+    private static long heapAposGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Descarta a saída, contando bytes e linhas e medindo o heap de tempos em tempos
+     */
+    private static class SaidaMedida extends OutputStream {
+        private final long heapInicial;
+        private long bytes;
+        private long linhas;
+        private long medicoes;
+        private long maiorCrescimento;
+
+        SaidaMedida(long heapInicial) {
+            this.heapInicial = heapInicial;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    linhas++;
+                }
+            }
+            long antes = bytes;
+            bytes += len;
+            if (bytes / MEDICAO_BYTES > antes / MEDICAO_BYTES) {
+                medicoes++;
+                maiorCrescimento = Math.max(maiorCrescimento, heapAposGc() - heapInicial);
+            }
+        }
+    }
+}
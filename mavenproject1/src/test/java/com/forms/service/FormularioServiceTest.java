@@ -0,0 +1,75 @@
+package com.forms.service;
+
+import com.forms.TesteIntegracao;
+import com.forms.dto.FormularioDTO;
+import com.forms.models.Avaliacao;
+import com.forms.models.Perfil;
+import com.forms.models.Usuario;
+import com.forms.repository.PerfilRepository;
+import com.forms.repository.QuestaoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Página de resposta com o cache de segundo nível aquecido: remontar o snapshot do formulário
+ * e as leituras da submissão não vão ao banco
+ */
+class FormularioServiceTest extends TesteIntegracao {
+
+    private static final int QUESTOES = 9;
+
+    @Autowired
+    private QuestaoRepository questaoRepository;
+
+    @Autowired
+    private PerfilRepository perfilRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void formularioRemontadoDoCacheSemConsultas() {
+        Usuario professor = criarUsuario("PROFESSOR");
+        Avaliacao avaliacao = criarAvaliacao(criarTurma(professor, List.of()), professor, QUESTOES, true);
+
+        // Aquece o cache de segundo nível e o de consultas
+        FormularioDTO aquecido = formularioService.buscarFormulario(avaliacao.getId());
+        questaoRepository.findComOpcoesByAvaliacaoId(avaliacao.getId());
+        perfilRepository.findByNome("ALUNO");
+
+        // Sem o snapshot em memória, a página é remontada a partir do Hibernate
+        formularioService.invalidar(avaliacao.getId());
+
+        Statistics estatisticas = estatisticas();
+        FormularioDTO formulario = formularioService.buscarFormulario(avaliacao.getId());
+        transactionTemplate.executeWithoutResult(status ->
+            questaoRepository.findComOpcoesByAvaliacaoId(avaliacao.getId()).forEach(questao -> questao.getOpcoes().size()));
+        Perfil aluno = perfilRepository.findByNome("ALUNO").orElseThrow();
+
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+        assertTrue(estatisticas.getQueryCacheHitCount() >= 3, "acertos no cache de consultas: " + estatisticas.getQueryCacheHitCount());
+        assertTrue(estatisticas.getSecondLevelCacheHitCount() > 0);
+        assertEquals(QUESTOES, formulario.getQuestoes().size());
+        assertEquals(aquecido.getQuestoes().size(), formulario.getQuestoes().size());
+        assertEquals("ALUNO", aluno.getNome());
+    }
+
+    /**
+     * Perfil é READ_ONLY no cache; sem @Immutable o Hibernate avisa (HHH90001003) e aceitaria
+     * um UPDATE que o cache não refletiria
+     */
+    @Test
+    void perfilEImutavel() {
+        assertFalse(entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getMappingMetamodel().getEntityDescriptor(Perfil.class).isMutable());
+    }
+}
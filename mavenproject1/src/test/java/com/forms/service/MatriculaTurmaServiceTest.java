@@ -0,0 +1,112 @@
+package com.forms.service;
+
+import com.forms.TesteIntegracao;
+import com.forms.dto.ResultadoMatriculaDTO;
+import com.forms.models.Turma;
+import com.forms.models.Usuario;
+import com.forms.security.UsuarioAutenticadoCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RF05: matrícula em lote pelo diff com a matrícula atual
+ */
+class MatriculaTurmaServiceTest extends TesteIntegracao {
+
+    @Autowired
+    private MatriculaTurmaService matriculaTurmaService;
+
+    @Autowired
+    private TurmaService turmaService;
+
+    @Autowired
+    private UsuarioAutenticadoCache usuarioAutenticadoCache;
+
+    @Test
+    void importacaoGravaSoODiff() {
+        List<Usuario> alunos = criarAlunos(3);
+        Turma turma = criarTurma(criarUsuario("PROFESSOR"), alunos.subList(0, 2));
+
+        ResultadoMatriculaDTO resultado = matriculaTurmaService.importar(turma.getId(),
+            List.of(alunos.get(1).getMatriculaSiape(), alunos.get(2).getMatriculaSiape(), "INEXISTENTE"), true);
+
+        assertEquals(1, resultado.getAdicionados());
+        assertEquals(1, resultado.getRemovidos());
+        assertEquals(1, resultado.getMantidos());
+        assertEquals(List.of("INEXISTENTE"), resultado.getNaoEncontrados());
+        assertEquals(Set.of(alunos.get(1).getId(), alunos.get(2).getId()),
+            new HashSet<>(turmaRepository.findAlunoIdsByTurmaId(turma.getId())));
+    }
+
+    /**
+     * Importações simultâneas da mesma lista na mesma turma: a turma travada faz a segunda
+     * comparar com o que a primeira gravou, sem chave duplicada em turma_alunos
+     */
+    @Test
+    void importacoesConcorrentesNaMesmaTurma() throws Exception {
+        int importacoes = 8;
+        List<Usuario> alunos = criarAlunos(200);
+        Turma turma = criarTurma(criarUsuario("PROFESSOR"), List.of());
+        List<String> matriculas = new ArrayList<>();
+        for (Usuario aluno : alunos) {
+            matriculas.add(aluno.getMatriculaSiape());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(importacoes);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<ResultadoMatriculaDTO>> resultados = new ArrayList<>();
+        try {
+            for (int i = 0; i < importacoes; i++) {
+                resultados.add(pool.submit(() -> {
+                    largada.await();
+                    return matriculaTurmaService.importar(turma.getId(), matriculas, false);
+                }));
+            }
+            largada.countDown();
+
+            int adicionados = 0;
+            for (Future<ResultadoMatriculaDTO> resultado : resultados) {
+                adicionados += resultado.get().getAdicionados();
+            }
+            assertEquals(alunos.size(), adicionados);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(alunos.size(), turmaRepository.findAlunoIdsByTurmaId(turma.getId()).size());
+    }
+
+    @Test
+    void trocaDeProfessorInvalidaOPrincipalDosDois() {
+        Usuario anterior = criarUsuario("PROFESSOR");
+        Usuario novo = criarUsuario("PROFESSOR");
+        Turma turma = criarTurma(anterior, List.of());
+
+        assertTrue(usuarioAutenticadoCache.buscar(anterior.getId()).orElseThrow()
+            .getTurmaIdsComoProfessor().contains(turma.getId()));
+        assertFalse(usuarioAutenticadoCache.buscar(novo.getId()).orElseThrow()
+            .getTurmaIdsComoProfessor().contains(turma.getId()));
+
+        // Como o formulário de turma do coordenador: turma carregada, professor trocado
+        Turma editada = turmaService.buscarPorId(turma.getId()).orElseThrow();
+        editada.setProfessor(novo);
+        turmaService.salvar(editada, List.of());
+
+        assertFalse(usuarioAutenticadoCache.buscar(anterior.getId()).orElseThrow()
+            .getTurmaIdsComoProfessor().contains(turma.getId()));
+        assertTrue(usuarioAutenticadoCache.buscar(novo.getId()).orElseThrow()
+            .getTurmaIdsComoProfessor().contains(turma.getId()));
+    }
+}
@@ -0,0 +1,85 @@
+package com.forms.service;
+
+import com.forms.TesteIntegracao;
+import com.forms.dto.RespostaSubmetida;
+import com.forms.models.Avaliacao;
+import com.forms.models.Usuario;
+import com.forms.repository.AvaliacaoRespostaTrackingRepository;
+import com.forms.repository.RespostaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Alunos diferentes submetendo ao mesmo tempo, com bem mais threads que conexões no pool:
+ * a cada 50 inserções uma thread reserva um bloco de IDs enquanto as outras esperam pela
+ * trava do bloco segurando as suas conexões, então a reserva não pode depender do pool da
+ * aplicação
+ */
+class SubmissaoAlunosDistintosTest extends TesteIntegracao {
+
+    private static final int ALUNOS = 200;
+    private static final int THREADS = 60;
+    private static final int QUESTOES = 6;
+
+    @Autowired
+    private IngestaoRespostaService ingestaoRespostaService;
+
+    @Autowired
+    private AvaliacaoRespostaTrackingRepository trackingRepository;
+
+    @Autowired
+    private RespostaRepository respostaRepository;
+
+    @Autowired
+    private EstatisticaAvaliacaoService estatisticaService;
+
+    @Test
+    void todosOsAlunosGravamSemEsgotarOPool() throws Exception {
+        Usuario professor = criarUsuario("PROFESSOR");
+        List<Usuario> alunos = criarAlunos(ALUNOS);
+        Avaliacao avaliacao = criarAvaliacao(criarTurma(professor, alunos), professor, QUESTOES, false);
+        Map<Integer, RespostaSubmetida> respostas = respostasValidas(avaliacao.getId());
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> submissoes = new ArrayList<>();
+        List<Throwable> falhas = new ArrayList<>();
+        try {
+            for (Usuario aluno : alunos) {
+                submissoes.add(pool.submit(() -> {
+                    largada.await();
+                    ingestaoRespostaService.submeter(avaliacao.getId(), aluno.getId(), respostas, IP,
+                        "chave-" + aluno.getId());
+                    return null;
+                }));
+            }
+            largada.countDown();
+
+            for (Future<?> submissao : submissoes) {
+                try {
+                    submissao.get();
+                } catch (ExecutionException e) {
+                    falhas.add(e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(List.of(), falhas);
+        assertEquals(ALUNOS, trackingRepository.countRespostasCompletasByAvaliacaoId(avaliacao.getId()));
+        assertEquals(ALUNOS * QUESTOES, respostaRepository.countRespostasByAvaliacaoId(avaliacao.getId()));
+        assertEquals(0, estatisticaService.verificarConsistencia(avaliacao.getId()));
+    }
+}
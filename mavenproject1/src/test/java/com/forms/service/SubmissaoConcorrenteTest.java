@@ -0,0 +1,120 @@
+package com.forms.service;
+
+import com.forms.TesteIntegracao;
+import com.forms.dto.RespostaSubmetida;
+import com.forms.models.Avaliacao;
+import com.forms.models.Usuario;
+import com.forms.repository.AvaliacaoRespostaTrackingRepository;
+import com.forms.repository.RespostaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Submissões simultâneas do mesmo aluno na mesma avaliação (duplo clique, duas abas), direto
+ * no AvaliacaoRespostaService e bem mais numerosas que as conexões do pool: só o lock da
+ * linha de tracking as ordena, sem esgotar o pool, sem chave duplicada nem respostas em dobro
+ */
+class SubmissaoConcorrenteTest extends TesteIntegracao {
+
+    private static final int SUBMISSOES = 100;
+    private static final int QUESTOES = 6;
+    private static final String CHAVE_REPETIDA = "chave-repetida";
+
+    @Autowired
+    private AvaliacaoRespostaService avaliacaoRespostaService;
+
+    @Autowired
+    private AvaliacaoRespostaTrackingRepository trackingRepository;
+
+    @Autowired
+    private RespostaRepository respostaRepository;
+
+    @Autowired
+    private EstatisticaAvaliacaoService estatisticaService;
+
+    @Test
+    void comEdicaoTodasPassamEFicaUmaRespostaPorQuestao() throws Exception {
+        Usuario professor = criarUsuario("PROFESSOR");
+        Usuario aluno = criarUsuario("ALUNO");
+        Avaliacao avaliacao = criarAvaliacao(criarTurma(professor, List.of(aluno)), professor, QUESTOES, true);
+
+        List<Throwable> falhas = submeterJuntas(avaliacao, aluno);
+
+        assertEquals(List.of(), falhas);
+        assertEquals(1L, trackingRepository.countRespostasCompletasByAvaliacaoId(avaliacao.getId()));
+        assertEquals(QUESTOES, respostaRepository.countRespostasByAvaliacaoId(avaliacao.getId()));
+        assertEquals(0, estatisticaService.verificarConsistencia(avaliacao.getId()));
+    }
+
+    /**
+     * Depois da primeira submissão, metade das simultâneas repete a chave dela (reenvio do
+     * mesmo formulário) e é aceita sem gravar de novo; as demais são edições, recusadas pela
+     * avaliação
+     */
+    @Test
+    void semEdicaoSoAChaveRepetidaEAceita() throws Exception {
+        Usuario professor = criarUsuario("PROFESSOR");
+        Usuario aluno = criarUsuario("ALUNO");
+        Avaliacao avaliacao = criarAvaliacao(criarTurma(professor, List.of(aluno)), professor, QUESTOES, false);
+        avaliacaoRespostaService.submeterAvaliacao(avaliacao.getId(), aluno.getId(), respostasValidas(avaliacao.getId()),
+            IP, CHAVE_REPETIDA);
+
+        List<Throwable> falhas = submeterJuntas(avaliacao, aluno);
+
+        assertEquals(SUBMISSOES / 2, falhas.size());
+        for (Throwable falha : falhas) {
+            assertInstanceOf(IllegalStateException.class, falha);
+            assertEquals("Esta avaliação não permite edição de respostas", falha.getMessage());
+        }
+        assertEquals(1L, trackingRepository.countRespostasCompletasByAvaliacaoId(avaliacao.getId()));
+        assertEquals(QUESTOES, respostaRepository.countRespostasByAvaliacaoId(avaliacao.getId()));
+        assertEquals(0, estatisticaService.verificarConsistencia(avaliacao.getId()));
+    }
+
+    /**
+     * As submissões de índice par usam a mesma chave; as ímpares, uma chave cada
+     *
+     * @return exceções das submissões recusadas
+     */
+    private List<Throwable> submeterJuntas(Avaliacao avaliacao, Usuario aluno) throws InterruptedException {
+        Map<Integer, RespostaSubmetida> respostas = respostasValidas(avaliacao.getId());
+        ExecutorService pool = Executors.newFixedThreadPool(SUBMISSOES);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> submissoes = new ArrayList<>();
+        try {
+            for (int i = 0; i < SUBMISSOES; i++) {
+                String chave = i % 2 == 0 ? CHAVE_REPETIDA : "chave-" + i;
+                submissoes.add(pool.submit(() -> {
+                    largada.await();
+                    avaliacaoRespostaService.submeterAvaliacao(avaliacao.getId(), aluno.getId(), respostas, IP, chave);
+                    return null;
+                }));
+            }
+            largada.countDown();
+
+            List<Throwable> falhas = new ArrayList<>();
+            for (Future<?> submissao : submissoes) {
+                try {
+                    submissao.get();
+                } catch (ExecutionException e) {
+                    falhas.add(e.getCause());
+                }
+            }
+            return falhas;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.forms.service;
+
+import com.forms.ComandosSql;
+import com.forms.ComandosSql.Execucao;
+import com.forms.TesteIntegracao;
+import com.forms.dto.RespostaSubmetida;
+import com.forms.models.Avaliacao;
+import com.forms.models.Turma;
+import com.forms.models.Usuario;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Submissão de um formulário de 1000 questões com IDs por sequência: os INSERTs de resposta
+ * e resposta_opcao saem em lotes de hibernate.jdbc.batch_size, não um comando por linha
+ */
+class SubmissaoEmLoteTest extends TesteIntegracao {
+
+    private static final int QUESTOES = 1000;
+
+    @Autowired
+    private AvaliacaoRespostaService avaliacaoRespostaService;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int tamanhoLote;
+
+    @Test
+    void respostasDoFormularioSaoInseridasEmBatch() {
+        Usuario professor = criarUsuario("PROFESSOR");
+        List<Usuario> alunos = criarAlunos(1);
+        Turma turma = criarTurma(professor, alunos);
+        Avaliacao avaliacao = criarAvaliacao(turma, professor, QUESTOES, true);
+        Map<Integer, RespostaSubmetida> respostas = respostasValidas(avaliacao.getId());
+
+        int opcoesSelecionadas = 0;
+        for (RespostaSubmetida resposta : respostas.values()) {
+            opcoesSelecionadas += resposta.getOpcaoIds() != null ? resposta.getOpcaoIds().size() : 0;
+        }
+
+        Statistics estatisticas = estatisticas();
+        List<Execucao> comandos = ComandosSql.gravar(() ->
+            avaliacaoRespostaService.submeterAvaliacao(avaliacao.getId(), alunos.get(0).getId(), respostas, IP, null));
+
+        // Uma resposta por questão
+        assertEquals(QUESTOES, estatisticas.getEntityInsertCount());
+        assertEquals(lotesEsperados(QUESTOES), insercoes(comandos, "resposta"), "lotes em resposta");
+        assertEquals(lotesEsperados(opcoesSelecionadas), insercoes(comandos, "resposta_opcao"), "lotes em resposta_opcao");
+    }
+
+    /**
+     * Tamanho de cada lote, em ordem: cheios com batch_size linhas e o último com o resto
+     */
+    private List<Integer> lotesEsperados(int linhas) {
+        List<Integer> lotes = new ArrayList<>();
+        for (int restantes = linhas; restantes > 0; restantes -= tamanhoLote) {
+            lotes.add(Math.min(restantes, tamanhoLote));
+        }
+        return lotes;
+    }
+
+    /**
+     * Linhas de cada execução de INSERT na tabela; um INSERT fora de batch aparece como 0
+     */
+    private List<Integer> insercoes(List<Execucao> comandos, String tabela) {
+        return comandos.stream()
+            .filter(execucao -> execucao.sql().toLowerCase().startsWith("insert into " + tabela + " "))
+            .map(execucao -> execucao.lote() ? execucao.linhas() : 0)
+            .toList();
+    }
+}